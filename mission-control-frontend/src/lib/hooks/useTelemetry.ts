@@ -81,7 +81,6 @@ function useTelemetry() {
   // Refs to prevent dependency cycles
   const satellitesRef = useRef<string[]>([]);
   const satelliteDataRef = useRef<Map<string, SatelliteData>>(new Map());
-  const lastDataHashRef = useRef<string>('');
   
   // Use our WebSocket hook
   const { 
@@ -107,28 +106,6 @@ function useTelemetry() {
     }
   );
   
-  // Calculate a simple hash of the telemetry data to detect real changes
-  const calculateDataHash = useCallback((data: TelemetryResponse): string => {
-    if (!data || !data.telemetry) return '';
-    
-    try {
-      // Get all satellite IDs
-      const satIds = Object.keys(data.telemetry).sort();
-      
-      // For each satellite, get the timestamp
-      const timestamps = satIds.map(satId => {
-        const satData = data.telemetry[satId];
-        if (!satData || !satData.telemetry) return `${satId}:0`;
-        return `${satId}:${satData.telemetry.timestamp}`;
-      });
-      
-      return timestamps.join(',');
-    } catch (e) {
-      console.error('Error calculating data hash:', e);
-      return '';
-    }
-  }, []);
-  
   // Convert new API format to legacy format for compatibility
   const convertToLegacyPosition = useCallback((telemetry: CurrentTelemetry): LegacyTelemetryPosition => {
     // Calculate azimuth and elevation if they don't exist
@@ -162,68 +139,53 @@ function useTelemetry() {
     };
   }, []);
   
-  // Process WebSocket data when it arrives
+  // Merge WebSocket data as it arrives: the server sends the full state on
+  // connect and then only the satellites and parts that changed
   useEffect(() => {
     if (!wsData || !wsData.telemetry) return;
     
-    // Check if there's actual new data
-    const dataHash = calculateDataHash(wsData);
-    if (dataHash === lastDataHashRef.current) {
-      console.log('[useTelemetry] No new telemetry data detected, skipping update');
-      return;
-    }
-    
-    console.log('[useTelemetry] Processing new telemetry data with hash', dataHash);
-    lastDataHashRef.current = dataHash;
-    
     // Update operator ID
     if (wsData.operatorId) {
       setOperatorId(wsData.operatorId);
     }
     
-    // Process satellite data
-    const newSatelliteData = new Map<string, SatelliteData>();
-    const satIds = new Set<string>();
+    // Start from the current data, so satellites and parts missing from the update are kept
+    const newSatelliteData = new Map(satelliteDataRef.current);
     
     Object.entries(wsData.telemetry).forEach(([satId, data]) => {
-      // Skip empty or invalid data
-      if (!data || !data.telemetry) {
-        console.warn(`[useTelemetry] No telemetry data for satellite ${satId}`);
-        return;
-      }
+      if (!data) return;
       
-      console.log(`[useTelemetry] Processing satellite ${satId} data`);
+      const previous = newSatelliteData.get(satId);
+      const telemetry = data.telemetry ?? previous?.telemetry;
       
       // Validate the telemetry data
       if (
-        !data.telemetry.geo ||
-        !data.telemetry.position ||
-        !data.telemetry.velocity ||
-        typeof data.telemetry.timestamp !== 'number'
+        !telemetry ||
+        !telemetry.geo ||
+        !telemetry.position ||
+        !telemetry.velocity ||
+        typeof telemetry.timestamp !== 'number'
       ) {
         console.warn(`[useTelemetry] Invalid telemetry data for satellite ${satId}`);
         return;
       }
       
-      // Store the satellite data
+      // Store the merged satellite data
       newSatelliteData.set(satId, {
-        telemetry: data.telemetry,
-        fullOrbitPredictions: Array.isArray(data.fullOrbitPredictions) ? data.fullOrbitPredictions : [],
-        shortPredictions: Array.isArray(data.shortPredictions) ? data.shortPredictions : []
-      });
-      
-      satIds.add(satId);
-      
-      console.log(`[useTelemetry] Updated satellite ${satId} data:`, {
-        fullOrbit: data.fullOrbitPredictions?.length || 0,
-        shortPredictions: data.shortPredictions?.length || 0
+        telemetry,
+        fullOrbitPredictions: Array.isArray(data.fullOrbitPredictions)
+          ? data.fullOrbitPredictions
+          : previous?.fullOrbitPredictions ?? [],
+        shortPredictions: Array.isArray(data.shortPredictions)
+          ? data.shortPredictions
+          : previous?.shortPredictions ?? []
       });
     });
     
     // Update state
-    const newSatellitesArray = Array.from(satIds);
+    const newSatellitesArray = Array.from(newSatelliteData.keys());
     
-    console.log(`[useTelemetry] Updating state with ${newSatellitesArray.length} satellites and ${newSatelliteData.size} data entries`);
+    console.log(`[useTelemetry] Merged update for ${Object.keys(wsData.telemetry).length} satellites, ${newSatellitesArray.length} known`);
     
     // Update refs first
     satelliteDataRef.current = newSatelliteData;
@@ -234,9 +196,7 @@ function useTelemetry() {
     setSatellites(newSatellitesArray);
     setLastUpdateTime(Date.now());
     setUpdateCounter(prev => prev + 1);
-    
-    console.log('[useTelemetry] State update complete');
-  }, [wsData, calculateDataHash, convertToLegacyPosition]); 
+  }, [wsData]); 
 
   // Sync state to refs to maintain consistent access to latest values
   useEffect(() => {
@@ -0,0 +1,161 @@
+// src/main/java/com/telemetry/client/AdaptiveConcurrencyLimiter.java
+package com.telemetry.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking AIMD concurrency limiter for one remote host.
+ *
+ * Tasks beyond the current limit wait in a FIFO queue rather than on a thread.
+ * Each success raises the limit by one (up to max); a throttle signal halves it
+ * and pauses the host until the given time. Queued tasks whose deadline passes
+ * while they wait complete exceptionally with a {@link TimeoutException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final ScheduledExecutorService TIMER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "n2yo-limiter-timer");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final Deque<Pending<?>> waiting = new ArrayDeque<>();
+    private int  limit;
+    private int  inFlight;
+    private long pausedUntilMs;
+    private long nextWakeMs = Long.MAX_VALUE;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit    = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+    }
+
+    /**
+     * Run {@code task} once a slot is free and the host is not paused.
+     * The slot is released when the task's future completes.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task, long deadlineMs) {
+        Pending<T> p = new Pending<>(task, deadlineMs);
+        synchronized (this) {
+            waiting.addLast(p);
+        }
+        drain();
+        return p.result;
+    }
+
+    /** Additive increase after a request that was not throttled. */
+    public synchronized void onSuccess() {
+        if (limit < maxLimit) limit++;
+    }
+
+    /** Multiplicative decrease and pause of the whole host until {@code untilMs}. */
+    public void onThrottled(long untilMs) {
+        synchronized (this) {
+            limit = Math.max(minLimit, limit / 2);
+            pausedUntilMs = Math.max(pausedUntilMs, untilMs);
+        }
+        drain();
+    }
+
+    /** Lower the ceiling for in-flight requests without pausing (quota running low). */
+    public synchronized void shrinkTo(int newLimit) {
+        limit = Math.max(minLimit, Math.min(limit, newLimit));
+    }
+
+    public synchronized int currentLimit() {
+        return limit;
+    }
+
+    public synchronized int queued() {
+        return waiting.size();
+    }
+
+    private void drain() {
+        while (true) {
+            Pending<?> next;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                expireOverdue(now);
+                if (waiting.isEmpty()) return;
+                if (now < pausedUntilMs) {
+                    // wake up at the end of the pause, or earlier to expire a queued task
+                    long wakeAt = pausedUntilMs;
+                    for (Pending<?> p : waiting) {
+                        wakeAt = Math.min(wakeAt, p.deadlineMs);
+                    }
+                    scheduleWake(wakeAt, now);
+                    return;
+                }
+                if (inFlight >= limit) return;
+                next = waiting.pollFirst();
+                inFlight++;
+            }
+            next.start(this::release);
+        }
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    /** Caller holds the monitor. */
+    private void expireOverdue(long now) {
+        waiting.removeIf(p -> {
+            if (now < p.deadlineMs) return false;
+            p.result.completeExceptionally(new TimeoutException("Throttled until deadline passed"));
+            return true;
+        });
+    }
+
+    /** Caller holds the monitor. Extra wake-ups are harmless: drain() re-checks everything. */
+    private void scheduleWake(long wakeAt, long now) {
+        if (wakeAt >= nextWakeMs && nextWakeMs > now) return;
+        nextWakeMs = wakeAt;
+        TIMER.schedule(() -> {
+            synchronized (this) {
+                if (nextWakeMs == wakeAt) nextWakeMs = Long.MAX_VALUE;
+            }
+            drain();
+        }, Math.max(1, wakeAt - now), TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Pending<T> {
+        final Supplier<CompletableFuture<T>> task;
+        final long deadlineMs;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Pending(Supplier<CompletableFuture<T>> task, long deadlineMs) {
+            this.task       = task;
+            this.deadlineMs = deadlineMs;
+        }
+
+        void start(Runnable onDone) {
+            CompletableFuture<T> f;
+            try {
+                f = task.get();
+            } catch (Throwable t) {
+                f = CompletableFuture.failedFuture(t);
+            }
+            f.whenComplete((value, error) -> {
+                onDone.run();
+                if (error != null) result.completeExceptionally(error);
+                else               result.complete(value);
+            });
+        }
+    }
+}
@@ -0,0 +1,236 @@
+// src/main/java/com/telemetry/client/N2yoClient.java
+package com.telemetry.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.dto.TelemetryResponse;
+import com.telemetry.propagation.Tle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Non-blocking N2YO REST client.
+ *
+ * Requests go through an {@link AdaptiveConcurrencyLimiter} per host, each with
+ * its own timeout. HTTP 429/503 and Retry-After / X-RateLimit-* headers pause the
+ * host; the transactionscount N2YO reports in every response is compared with the
+ * hourly quota to shrink concurrency before the quota is exhausted.
+ */
+@Component
+public class N2yoClient {
+
+    private static final Logger log = LoggerFactory.getLogger(N2yoClient.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Value("${n2yo.api.base-url}")
+    private String apiBaseUrl;
+
+    @Value("${n2yo.api.key}")
+    private String apiKey;
+
+    @Value("${telemetry.poll.request-timeout:10000}")
+    private long requestTimeoutMs;
+
+    @Value("${telemetry.poll.initial-concurrency:8}")
+    private int initialConcurrency;
+
+    @Value("${telemetry.poll.max-concurrency:32}")
+    private int maxConcurrency;
+
+    /** N2YO transactions allowed per rolling hour for the positions endpoint */
+    @Value("${telemetry.poll.hourly-quota:1000}")
+    private long hourlyQuota;
+
+    /** Pause used when the quota is spent and the server gives no Retry-After */
+    @Value("${telemetry.poll.quota-pause:300000}")
+    private long quotaPauseMs;
+
+    private volatile long lastTransactionsCount = -1;
+
+    public N2yoClient(@Value("${telemetry.poll.connect-timeout:5000}") long connectTimeoutMs) {
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    /**
+     * Fetch {@code seconds} of positions for one satellite, as seen from the given observer.
+     * Completes exceptionally on HTTP/API errors, timeouts, or when the host stays
+     * throttled past {@code deadlineMs}.
+     */
+    public CompletableFuture<TelemetryResponse> fetchPositions(long externalId,
+                                                               double obsLat, double obsLng, double obsAltKm,
+                                                               int seconds, long deadlineMs) {
+        String url = String.format(Locale.ROOT,
+                "%s/satellite/positions/%d/%.6f/%.6f/%.1f/%d?apiKey=%s",
+                apiBaseUrl, externalId, obsLat, obsLng, obsAltKm, seconds, apiKey);
+        URI uri = URI.create(url);
+        return send(uri, deadlineMs, N2yoPositionsParser::parse, N2yoClient::transactionsCount);
+    }
+
+    /**
+     * Fetch the current two-line element set of a satellite. Goes through the same
+     * per-host limiter and quota tracking as position requests.
+     */
+    public CompletableFuture<Tle> fetchTle(long externalId, long deadlineMs) {
+        URI uri = URI.create(String.format(Locale.ROOT,
+                "%s/tle/%d?apiKey=%s", apiBaseUrl, externalId, apiKey));
+        return send(uri, deadlineMs, N2yoClient::parseTle, r -> r.transactionsCount)
+                .thenApply(r -> r.tle);
+    }
+
+    private <T> CompletableFuture<T> send(URI uri, long deadlineMs,
+                                          BodyParser<T> parser, ToLongFunction<T> transactions) {
+        AdaptiveConcurrencyLimiter limiter = limiterFor(uri.getHost());
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .GET()
+                .build();
+
+        return limiter.submit(
+                () -> http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                        .thenApply(resp -> handle(limiter, resp, parser, transactions)),
+                deadlineMs);
+    }
+
+    /** Latest transactionscount reported by N2YO, or -1 before the first response. */
+    public long lastTransactionsCount() {
+        return lastTransactionsCount;
+    }
+
+    public long hourlyQuota() {
+        return hourlyQuota;
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(String host) {
+        return limiters.computeIfAbsent(host,
+                h -> new AdaptiveConcurrencyLimiter(initialConcurrency, 1, maxConcurrency));
+    }
+
+    private <T> T handle(AdaptiveConcurrencyLimiter limiter, HttpResponse<byte[]> resp,
+                         BodyParser<T> parser, ToLongFunction<T> transactions) {
+        int status = resp.statusCode();
+        HttpHeaders headers = resp.headers();
+
+        if (status == 429 || status == 503) {
+            long until = System.currentTimeMillis() + retryAfterMs(headers).orElse(quotaPauseMs);
+            limiter.onThrottled(until);
+            log.warn("N2YO throttled (HTTP {}), pausing until {}; concurrency now {}",
+                    status, Instant.ofEpochMilli(until), limiter.currentLimit());
+            throw new CompletionException(new IOException("N2YO throttled: HTTP " + status));
+        }
+        if (status != 200) {
+            throw new CompletionException(new IOException("N2YO HTTP " + status));
+        }
+
+        T parsed;
+        try {
+            parsed = parser.parse(resp.body());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+
+        adaptToQuota(limiter, headers, transactions.applyAsLong(parsed));
+        return parsed;
+    }
+
+    private void adaptToQuota(AdaptiveConcurrencyLimiter limiter, HttpHeaders headers, long used) {
+        OptionalLong remainingHeader = headerAsLong(headers, "X-RateLimit-Remaining");
+        if (used >= 0) {
+            lastTransactionsCount = used;
+        }
+
+        long remaining = remainingHeader.isPresent()
+                ? remainingHeader.getAsLong()
+                : used >= 0 ? hourlyQuota - used : Long.MAX_VALUE;
+
+        if (remaining <= 0) {
+            OptionalLong reset = headerAsLong(headers, "X-RateLimit-Reset");
+            long pause = reset.isPresent() && reset.getAsLong() * 1000L > System.currentTimeMillis()
+                    ? reset.getAsLong() * 1000L - System.currentTimeMillis()
+                    : quotaPauseMs;
+            limiter.onThrottled(System.currentTimeMillis() + pause);
+            log.warn("N2YO quota exhausted ({} used of {}), pausing for {} ms", used, hourlyQuota, pause);
+        } else if (remaining < hourlyQuota / 10) {
+            // last 10% of the hour's budget: trickle instead of burst
+            limiter.shrinkTo(1);
+        } else {
+            limiter.onSuccess();
+        }
+    }
+
+    private static long transactionsCount(TelemetryResponse parsed) {
+        return parsed.getTelemetryInfo() != null && parsed.getTelemetryInfo().getTransactionsCount() != null
+                ? parsed.getTelemetryInfo().getTransactionsCount()
+                : -1;
+    }
+
+    /** {"info":{...,"transactionscount":n},"tle":"line1\r\nline2"} */
+    private static TleResult parseTle(byte[] body) throws IOException {
+        JsonNode root = JSON.readTree(body);
+        if (root.hasNonNull("error")) {
+            throw new IOException("N2YO API error: " + root.get("error").asText());
+        }
+        String[] lines = root.path("tle").asText("").split("\\r?\\n");
+        if (lines.length < 2) {
+            throw new IOException("No TLE in response");
+        }
+        try {
+            return new TleResult(Tle.parse(lines[0].trim(), lines[1].trim()),
+                    root.path("info").path("transactionscount").asLong(-1));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static OptionalLong retryAfterMs(HttpHeaders headers) {
+        OptionalLong seconds = headerAsLong(headers, "Retry-After");
+        return seconds.isPresent() ? OptionalLong.of(seconds.getAsLong() * 1000L) : OptionalLong.empty();
+    }
+
+    /** Numeric header value; HTTP-date or malformed values are treated as absent. */
+    private static OptionalLong headerAsLong(HttpHeaders headers, String name) {
+        try {
+            return headers.firstValueAsLong(name);
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyParser<T> {
+        T parse(byte[] body) throws IOException;
+    }
+
+    private static final class TleResult {
+        final Tle  tle;
+        final long transactionsCount;
+
+        TleResult(Tle tle, long transactionsCount) {
+            this.tle               = tle;
+            this.transactionsCount = transactionsCount;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+// src/main/java/com/telemetry/client/N2yoPositionsParser.java
+package com.telemetry.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.telemetry.dto.TelemetryInfo;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TelemetryResponse;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming decoder for the N2YO /satellite/positions response.
+ *
+ * Fills TelemetryInfo and TelemetryPosition straight from the token stream,
+ * without building a JsonNode tree or going through databind per element.
+ *
+ * <pre>
+ * {"info":{"satname":"SPACE STATION","satid":25544,"transactionscount":5},
+ *  "positions":[{"satlatitude":-39.9,"satlongitude":158.2,"sataltitude":417.8,
+ *                "azimuth":254.3,"elevation":-69.0,"ra":44.7,"dec":-43.9,
+ *                "timestamp":1521354418,"eclipsed":true}, ...]}
+ * </pre>
+ */
+public final class N2yoPositionsParser {
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+
+    private N2yoPositionsParser() {
+    }
+
+    public static TelemetryResponse parse(byte[] body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected N2YO response: expected JSON object");
+            }
+
+            TelemetryInfo info = null;
+            List<TelemetryPosition> positions = null;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "error"     -> throw new IOException("API Error: " + p.getValueAsString());
+                    case "info"      -> info = readInfo(p, value);
+                    case "positions" -> positions = readPositions(p, value);
+                    default          -> p.skipChildren();
+                }
+            }
+
+            if (positions == null || positions.size() < 2) {
+                throw new IOException("Not enough positions in response");
+            }
+            return new TelemetryResponse(positions, info);
+        }
+    }
+
+    private static TelemetryInfo readInfo(JsonParser p, JsonToken start) throws IOException {
+        if (start != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        TelemetryInfo info = new TelemetryInfo();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "satname"           -> info.setSatName(p.getValueAsString());
+                case "satid"             -> info.setSatId(p.getValueAsString());
+                case "transactionscount" -> info.setTransactionsCount(p.getValueAsLong());
+                default                  -> p.skipChildren();
+            }
+        }
+        return info;
+    }
+
+    private static List<TelemetryPosition> readPositions(JsonParser p, JsonToken start) throws IOException {
+        if (start != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        List<TelemetryPosition> positions = new ArrayList<>();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            positions.add(readPosition(p));
+        }
+        return positions;
+    }
+
+    private static TelemetryPosition readPosition(JsonParser p) throws IOException {
+        TelemetryPosition pos = new TelemetryPosition();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "satlatitude"               -> pos.setSatlatitude(number(p));
+                case "satlongitude"              -> pos.setSatlongitude(number(p));
+                case "sataltitude"               -> pos.setSataltitude(number(p));
+                case "azimuth"                   -> pos.setAzimuth(number(p));
+                case "elevation"                 -> pos.setElevation(number(p));
+                case "ra", "rightAscension"      -> pos.setRightAscension(number(p));
+                case "dec", "declination"        -> pos.setDeclination(number(p));
+                case "timestamp"                 -> pos.setTimestamp(new Timestamp(p.getValueAsLong() * 1000L));
+                default                          -> p.skipChildren();
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * A number read as leniently as the databind path did: null reads as 0 and
+     * numeric strings are parsed, so one odd field does not fail the whole poll.
+     */
+    private static float number(JsonParser p) throws IOException {
+        return (float) p.getValueAsDouble();
+    }
+}
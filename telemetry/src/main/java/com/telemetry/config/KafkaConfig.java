@@ -1,20 +1,21 @@
 // src/main/java/com/telemetry/config/KafkaConfig.java
 package com.telemetry.config;
 
+import com.telemetry.kafka.WireFormatSerializer;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,17 +30,65 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    /** json | cbor: value encoding of telemetry and alert records (see WireFormat) */
+    @Value("${telemetry.kafka.encoding:json}")
+    private String encoding;
+
+    /** broadcast | group: how replicas share the topics the WebSocket tier forwards */
+    @Value("${telemetry.websocket.fan-out:broadcast}")
+    private String fanOut;
+
+    @Value("${telemetry.kafka.partitions.telemetry:6}")
+    private int telemetryPartitions;
+
+    @Value("${telemetry.kafka.partitions.predictions:6}")
+    private int predictionPartitions;
+
+    @Value("${telemetry.kafka.partitions.alerts:3}")
+    private int alertPartitions;
+
+    @Value("${telemetry.kafka.replication-factor:1}")
+    private short replicationFactor;
+
+    /** none | gzip | snappy | lz4 | zstd */
+    @Value("${telemetry.kafka.producer.compression:lz4}")
+    private String compression;
+
+    @Value("${telemetry.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${telemetry.kafka.producer.batch-size:131072}")
+    private int batchSize;
+
+    /** Listener threads per node; more than the partition count leaves threads idle */
+    @Value("${telemetry.kafka.listener.concurrency:3}")
+    private int concurrency;
+
+    private final NodeIdentity node;
+
+    public KafkaConfig(NodeIdentity node) {
+        this.node = node;
+    }
+
     public static final String TOPIC_TELEMETRY       = "spacecraft-telemetry";
     public static final String TOPIC_PREDICTIONS     = "trajectory-predictions";
     public static final String TOPIC_TELEMETRY_ALERT = "spacecraft-alerts";
 
     // ─── PRODUCER ─────────────────────────────────────────────────────────────
+    /**
+     * Records are keyed by operatorId, so one operator's messages stay ordered
+     * on one partition. Sends linger up to linger-ms to fill compressed batches.
+     */
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,   StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, WireFormatSerializer.class);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG,       compression);
+        props.put(ProducerConfig.LINGER_MS_CONFIG,              lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG,             batchSize);
+        props.put(WireFormatSerializer.FORMAT_CONFIG, encoding);
         return new DefaultKafkaProducerFactory<>(props);
     }
 
@@ -49,36 +98,53 @@ public class KafkaConfig {
     }
 
     // ─── CONSUMER ─────────────────────────────────────────────────────────────
-    @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
-        // 1) Create the Spring-Kafka JsonDeserializer and configure it via setters:
-        JsonDeserializer<Object> valueDeserializer = new JsonDeserializer<>(Object.class);
-        valueDeserializer.addTrustedPackages("*");
-        valueDeserializer.setUseTypeMapperForKey(true);
+    /**
+     * Consumer group of the WebSocket listeners. Every replica serves its own
+     * sessions, so with fan-out=broadcast each node joins a group of its own
+     * ({group-id}-{node id}) and receives all partitions; fan-out=group shares
+     * {group-id} and splits them, which only suits a single replica.
+     */
+    public String listenerGroupId() {
+        return "group".equalsIgnoreCase(fanOut) ? groupId : groupId + "-" + node.id();
+    }
 
+    /**
+     * Values stay raw bytes: the consumer hands them to WebSocket sessions that
+     * use the record's encoding without decoding them.
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG,            groupId);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG,            listenerGroupId());
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,   StringDeserializer.class);
 
         return new DefaultKafkaConsumerFactory<>(
                 props,
                 new StringDeserializer(),
-                valueDeserializer
+                new ByteArrayDeserializer()
         );
     }
 
 
+    /**
+     * One consumer thread per telemetry.kafka.listener.concurrency, each owning
+     * whole partitions, so an operator's records are still handled in order.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object>
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]>
     kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String,Object> factory =
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
         return factory;
     }
 
     // ─── TOPIC AUTO-CREATION ─────────────────────────────────────────────────
+    // KafkaAdmin creates missing topics and adds partitions to existing ones
+    // (never removes any); adding partitions moves some operators to another
+    // partition, so records around the change may be seen out of order once.
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -88,16 +154,19 @@ public class KafkaConfig {
 
     @Bean
     public NewTopic telemetryTopic() {
-        return new NewTopic(TOPIC_TELEMETRY, 1, (short) 1);
+        return TopicBuilder.name(TOPIC_TELEMETRY)
+                .partitions(telemetryPartitions).replicas(replicationFactor).build();
     }
 
     @Bean
     public NewTopic predictionsTopic() {
-        return new NewTopic(TOPIC_PREDICTIONS, 1, (short) 1);
+        return TopicBuilder.name(TOPIC_PREDICTIONS)
+                .partitions(predictionPartitions).replicas(replicationFactor).build();
     }
 
     @Bean
     public NewTopic alertsTopic() {
-        return new NewTopic(TOPIC_TELEMETRY_ALERT, 1, (short) 1);
+        return TopicBuilder.name(TOPIC_TELEMETRY_ALERT)
+                .partitions(alertPartitions).replicas(replicationFactor).build();
     }
 }
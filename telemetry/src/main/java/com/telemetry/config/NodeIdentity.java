@@ -0,0 +1,37 @@
+// src/main/java/com/telemetry/config/NodeIdentity.java
+package com.telemetry.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Name of this replica: telemetry.node-id, else the host name (the pod name on
+ * Kubernetes). Names the broadcast consumer group and tags per-node metrics, so
+ * replicas sharing a host need an explicit node-id.
+ */
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${telemetry.node-id:}") String configured) {
+        this.id = configured.isBlank() ? hostName() : configured;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    private static String hostName() {
+        String env = System.getenv("HOSTNAME");
+        if (env != null && !env.isBlank()) return env;
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "telemetry";
+        }
+    }
+}
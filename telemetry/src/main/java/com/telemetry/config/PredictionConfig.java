@@ -0,0 +1,21 @@
+// src/main/java/com/telemetry/config/PredictionConfig.java
+package com.telemetry.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class PredictionConfig {
+
+    /**
+     * Fork/join pool for CPU-bound propagation work (fleet predictions, conjunction
+     * screening). telemetry.prediction.parallelism = 0 means one thread per core.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool predictionPool(@Value("${telemetry.prediction.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,43 @@
+// src/main/java/com/telemetry/controller/ConjunctionController.java
+package com.telemetry.controller;
+
+import com.telemetry.dto.Conjunction;
+import com.telemetry.service.ConjunctionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/conjunctions")
+public class ConjunctionController {
+
+    @Autowired
+    private ConjunctionService conjunctionService;
+
+    /**
+     * Screen all tracked satellites now for approaches closer than thresholdKm
+     * (capped at telemetry.conjunction.max-threshold-km) within the next hours
+     * (capped at telemetry.conjunction.max-horizon-hours).
+     */
+    @GetMapping
+    public ResponseEntity<List<Conjunction>> screen(
+            @RequestParam(defaultValue = "5") double thresholdKm,
+            @RequestParam(defaultValue = "24") double hours
+    ) {
+        if (thresholdKm <= 0 || thresholdKm > conjunctionService.maxThresholdKm()
+                || hours <= 0 || hours > conjunctionService.maxHorizonHours()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(conjunctionService.screen(thresholdKm, hours));
+    }
+
+    /**
+     * Result of the last background screening.
+     */
+    @GetMapping("/latest")
+    public List<Conjunction> latest() {
+        return conjunctionService.latest();
+    }
+}
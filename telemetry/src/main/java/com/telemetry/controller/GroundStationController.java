@@ -0,0 +1,92 @@
+// src/main/java/com/telemetry/controller/GroundStationController.java
+package com.telemetry.controller;
+
+import com.telemetry.dto.SatellitePass;
+import com.telemetry.model.GroundStation;
+import com.telemetry.repository.GroundStationRepository;
+import com.telemetry.service.PassService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/ground-stations")
+public class GroundStationController {
+
+    private final GroundStationRepository repo;
+    private final PassService             passService;
+
+    @Autowired
+    public GroundStationController(GroundStationRepository repo, PassService passService) {
+        this.repo        = repo;
+        this.passService = passService;
+    }
+
+    @GetMapping
+    public List<GroundStation> list() {
+        return repo.findAll();
+    }
+
+    /**
+     * Register a station; its passes are predicted in the background.
+     *
+     * Example request body:
+     * {
+     *   "name":            "svalbard",
+     *   "latitude":        78.23,
+     *   "longitude":       15.39,
+     *   "altitudeKm":      0.5,
+     *   "minElevationDeg": 5
+     * }
+     */
+    @PostMapping
+    public ResponseEntity<GroundStation> add(@RequestBody GroundStation station) {
+        if (station.getName() == null || Math.abs(station.getLatitude()) > 90
+                || Math.abs(station.getLongitude()) > 180) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (repo.existsByName(station.getName())) {
+            return ResponseEntity.status(409).build();
+        }
+        station.setId(null);
+        GroundStation saved = repo.save(station);
+        CompletableFuture.runAsync(passService::recompute);
+        return ResponseEntity.status(201).body(saved);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable long id) {
+        if (!repo.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        repo.deleteById(id);                            // passes go with it (ON DELETE CASCADE)
+        passService.evict(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Satellites visible from the station between from and to (default: the next
+     * 24 h), as the precomputed passes overlapping that range, by AOS.
+     */
+    @GetMapping("/{id}/passes")
+    public ResponseEntity<List<SatellitePass>> passes(
+            @PathVariable long id,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to
+    ) {
+        long start = from != null ? from.getTime() : System.currentTimeMillis();
+        long end   = to   != null ? to.getTime()   : start + 86_400_000L;
+        if (end < start) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(passService.visible(id, new Timestamp(start), new Timestamp(end)));
+    }
+}
@@ -4,8 +4,11 @@ package com.telemetry.controller;
 import com.telemetry.service.TelemetryVisualizationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -39,6 +42,8 @@ public class TelemetryVisualizationController {
 
     /**
      * Single-parameter time series (default last 24h).
+     * maxPoints reduces the range in the database; mode is bucket (time_bucket
+     * averages) or lttb (largest-triangle-three-buckets).
      */
     @GetMapping("/{externalId}/timeseries")
     public ResponseEntity<List<Map<String, Object>>> getParameterTimeSeries(
@@ -47,40 +52,53 @@ public class TelemetryVisualizationController {
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date startTime,
             @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date endTime
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date endTime,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "bucket") String mode
     ) {
         Instant start = startTime  != null ? startTime.toInstant()  : null;
         Instant end   = endTime    != null ? endTime.toInstant()    : null;
 
         List<Map<String, Object>> ts =
-                visualizationService.getParameterTimeSeries(externalId, parameter, start, end);
+                visualizationService.getParameterTimeSeries(externalId, parameter, start, end, maxPoints, mode);
 
         return ResponseEntity.ok(ts);
     }
 
     /**
-     * Multi-parameter time series.
+     * Multi-parameter time series. format=columnar returns one timestamps array
+     * (epoch millis) and one value array per parameter instead of a list of points.
+     * With mode=lttb each parameter keeps its own peaks: rows give every series
+     * its own points, columnar the union of the per-parameter picks.
      */
     @GetMapping("/{externalId}/multi-timeseries")
-    public ResponseEntity<Map<String, List<Map<String, Object>>>> getMultiParameterTimeSeries(
+    public ResponseEntity<?> getMultiParameterTimeSeries(
             @PathVariable long externalId,
             @RequestParam List<String> parameters,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date startTime,
             @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date endTime
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date endTime,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "bucket") String mode,
+            @RequestParam(defaultValue = "rows") String format
     ) {
         Instant start = startTime  != null ? startTime.toInstant()  : null;
         Instant end   = endTime    != null ? endTime.toInstant()    : null;
 
+        if ("columnar".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok(visualizationService.getMultiParameterColumns(
+                    externalId, parameters, start, end, maxPoints, mode));
+        }
+
         var result = visualizationService.getMultiParameterTimeSeries(
-                externalId, parameters, start, end);
+                externalId, parameters, start, end, maxPoints, mode);
 
         return ResponseEntity.ok(result);
     }
 
     /**
-     * Raw trajectory for 3D viz (with optional downsampling).
+     * Trajectory for 3D viz (optionally reduced to maxPoints).
      */
     @GetMapping("/{externalId}/trajectory")
     public ResponseEntity<List<Map<String, Object>>> getTrajectoryData(
@@ -89,13 +107,14 @@ public class TelemetryVisualizationController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date startTime,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date endTime,
-            @RequestParam(required = false) Integer maxPoints
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "bucket") String mode
     ) {
         Instant start = startTime  != null ? startTime.toInstant()  : null;
         Instant end   = endTime    != null ? endTime.toInstant()    : null;
 
         var data = visualizationService.getTrajectoryVisualizationData(
-                externalId, start, end, maxPoints);
+                externalId, start, end, maxPoints, mode);
 
         return ResponseEntity.ok(data);
     }
@@ -106,10 +125,12 @@ public class TelemetryVisualizationController {
     @GetMapping("/{externalId}/trajectory-with-prediction")
     public ResponseEntity<Map<String, Object>> getTrajectoryWithPrediction(
             @PathVariable long externalId,
-            @RequestParam(required = false) Integer predictionPoints
+            @RequestParam(required = false) Integer predictionPoints,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "bucket") String mode
     ) {
         var result = visualizationService.getTrajectoryWithPrediction(
-                externalId, predictionPoints);
+                externalId, predictionPoints, maxPoints, mode);
 
         return ResponseEntity.ok(result);
     }
@@ -124,4 +145,36 @@ public class TelemetryVisualizationController {
         var stats = visualizationService.getSpacecraftStatistics(externalId);
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * Streaming export of the stored trajectory (default: whole history) as
+     * NDJSON (one object per line) or CSV. Rows are written as they are read
+     * from a database cursor.
+     */
+    @GetMapping("/{externalId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTrajectory(
+            @PathVariable long externalId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date startTime,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date endTime
+    ) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Instant start = startTime  != null ? startTime.toInstant()  : null;
+        Instant end   = endTime    != null ? endTime.toInstant()    : null;
+
+        StreamingResponseBody body = out ->
+                visualizationService.exportTrajectory(externalId, start, end, format, out);
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"trajectory-" + externalId + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
 }
@@ -0,0 +1,41 @@
+package com.telemetry.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Multi-parameter time series in columnar form: one array of epoch-millis
+ * timestamps and, per parameter, one array of values at the same indices.
+ * Jackson writes the primitive arrays as plain JSON number arrays.
+ */
+public class ColumnarTimeSeries {
+
+    private long[] timestamps;
+
+    /** parameter name → values, in request order */
+    private Map<String, float[]> values = new LinkedHashMap<>();
+
+    public ColumnarTimeSeries() {
+    }
+
+    public ColumnarTimeSeries(long[] timestamps, Map<String, float[]> values) {
+        this.timestamps = timestamps;
+        this.values = values;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public void setTimestamps(long[] timestamps) {
+        this.timestamps = timestamps;
+    }
+
+    public Map<String, float[]> getValues() {
+        return values;
+    }
+
+    public void setValues(Map<String, float[]> values) {
+        this.values = values;
+    }
+}
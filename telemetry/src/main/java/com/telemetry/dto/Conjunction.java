@@ -0,0 +1,50 @@
+// src/main/java/com/telemetry/dto/Conjunction.java
+package com.telemetry.dto;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * A predicted close approach between two tracked satellites.
+ */
+public class Conjunction {
+
+    private long      primaryId;
+    private long      secondaryId;
+    private UUID      primaryOperatorId;
+    private UUID      secondaryOperatorId;
+    /** Time of closest approach */
+    private Timestamp tca;
+    private double    missDistanceKm;
+    private double    thresholdKm;
+
+    public Conjunction() {
+    }
+
+    public Conjunction(long primaryId, long secondaryId, UUID primaryOperatorId, UUID secondaryOperatorId,
+                       Timestamp tca, double missDistanceKm, double thresholdKm) {
+        this.primaryId           = primaryId;
+        this.secondaryId         = secondaryId;
+        this.primaryOperatorId   = primaryOperatorId;
+        this.secondaryOperatorId = secondaryOperatorId;
+        this.tca                 = tca;
+        this.missDistanceKm      = missDistanceKm;
+        this.thresholdKm         = thresholdKm;
+    }
+
+    public long      getPrimaryId()           { return primaryId; }
+    public long      getSecondaryId()         { return secondaryId; }
+    public UUID      getPrimaryOperatorId()   { return primaryOperatorId; }
+    public UUID      getSecondaryOperatorId() { return secondaryOperatorId; }
+    public Timestamp getTca()                 { return tca; }
+    public double    getMissDistanceKm()      { return missDistanceKm; }
+    public double    getThresholdKm()         { return thresholdKm; }
+
+    public void setPrimaryId(long primaryId)                     { this.primaryId = primaryId; }
+    public void setSecondaryId(long secondaryId)                 { this.secondaryId = secondaryId; }
+    public void setPrimaryOperatorId(UUID primaryOperatorId)     { this.primaryOperatorId = primaryOperatorId; }
+    public void setSecondaryOperatorId(UUID secondaryOperatorId) { this.secondaryOperatorId = secondaryOperatorId; }
+    public void setTca(Timestamp tca)                            { this.tca = tca; }
+    public void setMissDistanceKm(double missDistanceKm)         { this.missDistanceKm = missDistanceKm; }
+    public void setThresholdKm(double thresholdKm)               { this.thresholdKm = thresholdKm; }
+}
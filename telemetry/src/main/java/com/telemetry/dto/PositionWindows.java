@@ -0,0 +1,12 @@
+// src/main/java/com/telemetry/dto/PositionWindows.java
+package com.telemetry.dto;
+
+import com.telemetry.propagation.GeodeticTrack;
+
+/**
+ * The newest positions of many satellites packed into one track: satellite
+ * {@code externalIds[i]} owns indices [offsets[i], offsets[i + 1]) of
+ * {@code positions}, oldest first. A satellite without positions has an empty range.
+ */
+public record PositionWindows(long[] externalIds, int[] offsets, GeodeticTrack positions) {
+}
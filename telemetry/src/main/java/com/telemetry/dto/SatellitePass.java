@@ -0,0 +1,46 @@
+// src/main/java/com/telemetry/dto/SatellitePass.java
+package com.telemetry.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * A predicted visibility pass of a satellite over a ground station.
+ */
+public class SatellitePass {
+
+    private long      stationId;
+    private long      externalId;
+    /** Acquisition of signal: elevation rises above the station's mask */
+    private Timestamp aos;
+    /** Loss of signal */
+    private Timestamp los;
+    private Timestamp maxElevationAt;
+    private double    maxElevationDeg;
+
+    public SatellitePass() {
+    }
+
+    public SatellitePass(long stationId, long externalId, Timestamp aos, Timestamp los,
+                         Timestamp maxElevationAt, double maxElevationDeg) {
+        this.stationId       = stationId;
+        this.externalId      = externalId;
+        this.aos             = aos;
+        this.los             = los;
+        this.maxElevationAt  = maxElevationAt;
+        this.maxElevationDeg = maxElevationDeg;
+    }
+
+    public long      getStationId()       { return stationId; }
+    public long      getExternalId()      { return externalId; }
+    public Timestamp getAos()             { return aos; }
+    public Timestamp getLos()             { return los; }
+    public Timestamp getMaxElevationAt()  { return maxElevationAt; }
+    public double    getMaxElevationDeg() { return maxElevationDeg; }
+
+    public void setStationId(long stationId)                { this.stationId = stationId; }
+    public void setExternalId(long externalId)              { this.externalId = externalId; }
+    public void setAos(Timestamp aos)                       { this.aos = aos; }
+    public void setLos(Timestamp los)                       { this.los = los; }
+    public void setMaxElevationAt(Timestamp maxElevationAt) { this.maxElevationAt = maxElevationAt; }
+    public void setMaxElevationDeg(double maxElevationDeg)  { this.maxElevationDeg = maxElevationDeg; }
+}
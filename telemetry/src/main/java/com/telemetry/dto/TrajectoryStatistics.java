@@ -0,0 +1,152 @@
+package com.telemetry.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * Min/max/avg and point counts of one satellite's trajectory, merged from the
+ * trajectory_stats_daily / trajectory_stats_hourly continuous aggregates.
+ */
+public class TrajectoryStatistics {
+
+    /** Rows merged from aggregate buckets and the open raw bucket */
+    private long      points;
+    private Timestamp first;
+    private Timestamp last;
+
+    private double velocityMin;
+    private double velocityMax;
+    private double velocityAvg;
+
+    private double accelerationMin;
+    private double accelerationMax;
+    private double accelerationAvg;
+
+    /** Rows that carried an altitude; the altitude fields are null when 0 */
+    private long   altitudePoints;
+    private Double altitudeMin;
+    private Double altitudeMax;
+    private Double altitudeAvg;
+
+    private long   pointsLast24h;
+    private Double avgVelocityLast24h;
+
+    public long getPoints() {
+        return points;
+    }
+
+    public void setPoints(long points) {
+        this.points = points;
+    }
+
+    public Timestamp getFirst() {
+        return first;
+    }
+
+    public void setFirst(Timestamp first) {
+        this.first = first;
+    }
+
+    public Timestamp getLast() {
+        return last;
+    }
+
+    public void setLast(Timestamp last) {
+        this.last = last;
+    }
+
+    public double getVelocityMin() {
+        return velocityMin;
+    }
+
+    public void setVelocityMin(double velocityMin) {
+        this.velocityMin = velocityMin;
+    }
+
+    public double getVelocityMax() {
+        return velocityMax;
+    }
+
+    public void setVelocityMax(double velocityMax) {
+        this.velocityMax = velocityMax;
+    }
+
+    public double getVelocityAvg() {
+        return velocityAvg;
+    }
+
+    public void setVelocityAvg(double velocityAvg) {
+        this.velocityAvg = velocityAvg;
+    }
+
+    public double getAccelerationMin() {
+        return accelerationMin;
+    }
+
+    public void setAccelerationMin(double accelerationMin) {
+        this.accelerationMin = accelerationMin;
+    }
+
+    public double getAccelerationMax() {
+        return accelerationMax;
+    }
+
+    public void setAccelerationMax(double accelerationMax) {
+        this.accelerationMax = accelerationMax;
+    }
+
+    public double getAccelerationAvg() {
+        return accelerationAvg;
+    }
+
+    public void setAccelerationAvg(double accelerationAvg) {
+        this.accelerationAvg = accelerationAvg;
+    }
+
+    public long getAltitudePoints() {
+        return altitudePoints;
+    }
+
+    public void setAltitudePoints(long altitudePoints) {
+        this.altitudePoints = altitudePoints;
+    }
+
+    public Double getAltitudeMin() {
+        return altitudeMin;
+    }
+
+    public void setAltitudeMin(Double altitudeMin) {
+        this.altitudeMin = altitudeMin;
+    }
+
+    public Double getAltitudeMax() {
+        return altitudeMax;
+    }
+
+    public void setAltitudeMax(Double altitudeMax) {
+        this.altitudeMax = altitudeMax;
+    }
+
+    public Double getAltitudeAvg() {
+        return altitudeAvg;
+    }
+
+    public void setAltitudeAvg(Double altitudeAvg) {
+        this.altitudeAvg = altitudeAvg;
+    }
+
+    public long getPointsLast24h() {
+        return pointsLast24h;
+    }
+
+    public void setPointsLast24h(long pointsLast24h) {
+        this.pointsLast24h = pointsLast24h;
+    }
+
+    public Double getAvgVelocityLast24h() {
+        return avgVelocityLast24h;
+    }
+
+    public void setAvgVelocityLast24h(Double avgVelocityLast24h) {
+        this.avgVelocityLast24h = avgVelocityLast24h;
+    }
+}
@@ -3,8 +3,6 @@ package com.telemetry.kafka;
 
 import com.telemetry.config.KafkaConfig;
 import com.telemetry.websocket.TelemetryWebSocketHandler;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.common.header.Headers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +11,17 @@ import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
-import org.springframework.web.socket.TextMessage;
 
-import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Forwards telemetry, prediction and alert records to the operator's WebSocket
+ * sessions. Values arrive as raw bytes in the encoding named by the record's
+ * WireFormat.HEADER; telemetry and prediction updates are merged into the
+ * operator's state, alerts are passed through. Each replica reads every record
+ * (see KafkaConfig.listenerGroupId) and only does work for operators with
+ * sessions on this node.
+ */
 @Service
 public class TelemetryKafkaConsumer {
 
@@ -26,41 +30,38 @@ public class TelemetryKafkaConsumer {
     @Autowired
     private TelemetryWebSocketHandler webSocketHandler;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
     @KafkaListener(
-            topics   = KafkaConfig.TOPIC_TELEMETRY,
-            groupId  = "${spring.kafka.consumer.group-id}",
+            topics   = {KafkaConfig.TOPIC_TELEMETRY, KafkaConfig.TOPIC_PREDICTIONS},
+            groupId  = "#{@kafkaConfig.listenerGroupId()}",
             containerFactory = "kafkaListenerContainerFactory"
     )
     public void consumeTelemetry(
-            @Payload Map<String,Object> payload,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key
+            @Payload byte[] payload,
+            @Header(KafkaHeaders.RECEIVED_KEY) String key,
+            @Header(name = WireFormat.HEADER, required = false) byte[] encoding
     ) {
-        forward(payload, key);
+        try {
+            webSocketHandler.publishUpdate(UUID.fromString(key), payload, WireFormat.parse(encoding));
+        } catch (Exception e) {
+            log.error("Forwarding error: {}", e.getMessage(), e);
+        }
     }
 
     @KafkaListener(
             topics   = KafkaConfig.TOPIC_TELEMETRY_ALERT,
-            groupId  = "${spring.kafka.consumer.group-id}",
+            groupId  = "#{@kafkaConfig.listenerGroupId()}",
             containerFactory = "kafkaListenerContainerFactory"
     )
     public void consumeAlerts(
-            @Payload Map<String,Object> payload,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key
+            @Payload byte[] payload,
+            @Header(KafkaHeaders.RECEIVED_KEY) String key,
+            @Header(name = WireFormat.HEADER, required = false) byte[] encoding
     ) {
-        forward(payload, key);
-    }
-
-    private void forward(Map<String,Object> msg, String key) {
         try {
             // The key is still the UUID, but we're interpreting it as operatorId now
-            UUID operatorId = UUID.fromString(key);
-            String json = objectMapper.writeValueAsString(msg);
-            webSocketHandler.sendMessageToOperator(operatorId, new TextMessage(json));
+            webSocketHandler.sendToOperator(UUID.fromString(key), payload, WireFormat.parse(encoding));
         } catch (Exception e) {
             log.error("Forwarding error: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
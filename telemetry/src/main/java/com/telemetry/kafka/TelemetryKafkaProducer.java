@@ -2,13 +2,12 @@
 package com.telemetry.kafka;
 
 import com.telemetry.config.KafkaConfig;
-import com.telemetry.model.SatelliteReference;
 import com.telemetry.dto.PredictiveOrbitPoint;
-import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.model.SatelliteReference;
 import com.telemetry.model.TrajectoryData;
 import com.telemetry.repository.SatelliteReferenceRepository;
-import com.telemetry.service.PredictionService;
-import com.telemetry.service.SatelliteTelemetryService;
+import com.telemetry.service.FleetPredictionService;
+import com.telemetry.service.FleetPredictionService.SatellitePrediction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,131 +15,146 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.sql.Timestamp;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Publishes the two halves of an operator's live state, keyed by operatorId:
+ * raw telemetry on TOPIC_TELEMETRY as soon as an ingest flush stored it, and
+ * predictions on TOPIC_PREDICTIONS only when a satellite's newest point moved
+ * and they were recomputed. Both carry {operatorId, telemetry: {externalId:
+ * {...}}}, with only the satellites and parts that are new; WebSocket nodes
+ * merge them into the full state.
+ */
 @Service
 public class TelemetryKafkaProducer {
 
     private static final Logger log = LoggerFactory.getLogger(TelemetryKafkaProducer.class);
-    private final ExecutorService predictionsExecutor = Executors.newFixedThreadPool(4);
+
+    private static final int SHORT_STEPS        = 60;
+    private static final int SHORT_STEP_SECONDS = 60;
+    private static final int ORBIT_POINTS       = 120;
 
     @Autowired private KafkaTemplate<String, Object> kafkaTemplate;
-    @Autowired private SatelliteTelemetryService satelliteTelemetryService;
     @Autowired private SatelliteReferenceRepository referenceRepo;
-    @Autowired private PredictionService predictionService;
-
-    /** Every 5 seconds: publish telemetry for each operator (previously enterprise) */
-    @Scheduled(fixedRate = 5000)
-    public void publishTelemetryForAllOperators() {
-        List<UUID> operatorIds = referenceRepo.findAll().stream()
-                .map(SatelliteReference::getEnterpriseId) // Keep method name but treat as operatorId
-                .distinct()
-                .collect(Collectors.toList());
-
-        log.debug("Publishing telemetry for {} operators", operatorIds.size());
-        operatorIds.forEach(this::publishTelemetryForOperator);
+    @Autowired private FleetPredictionService fleetPredictionService;
+
+    /** Satellites with newly stored points whose predictions have not been published since */
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    /** externalId → timestamp of the newest point its last published predictions start from */
+    private final Map<Long, Long> publishedFrom = new ConcurrentHashMap<>();
+
+    /**
+     * Publish the newest of {@code rows} per satellite as raw telemetry, one
+     * message per operator, and queue the satellites for new predictions.
+     */
+    public void publishIngested(Collection<TrajectoryData> rows) {
+        Map<Long, TrajectoryData> newest = new HashMap<>();
+        for (TrajectoryData row : rows) {
+            newest.merge(row.getExternalId(), row,
+                    (a, b) -> b.getTimestamp().after(a.getTimestamp()) ? b : a);
+        }
+        if (newest.isEmpty()) return;
+
+        Map<UUID, Map<String, Object>> byOperator = new LinkedHashMap<>();
+        for (SatelliteReference ref : referenceRepo.findByExternalIdIn(newest.keySet())) {
+            TrajectoryData row = newest.get(ref.getExternalId());
+            byOperator.computeIfAbsent(ref.getEnterpriseId(), k -> new HashMap<>())
+                    .put(Long.toString(ref.getExternalId()), Map.of("telemetry", formatTrajectoryData(row)));
+        }
+        byOperator.forEach((operatorId, sats) -> send(KafkaConfig.TOPIC_TELEMETRY, operatorId, sats));
+        stale.addAll(newest.keySet());
     }
 
     /**
-     * Publish telemetry data for a specific operator (previously enterprise).
+     * Recompute the predictions of satellites with new points and publish those
+     * that start from a newer point than the last published ones. A satellite
+     * counts as published once Kafka acknowledged the record; if the send
+     * fails it is queued again for the next run.
      */
-    public void publishTelemetryForOperator(UUID operatorId) {
-        try {
-            // Get latest telemetry data for all spacecraft belonging to this operator
-            Map<Long, TrajectoryData> telemetryMap =
-                    satelliteTelemetryService.getLatestForEnterprise(operatorId);
-
-            if (telemetryMap.isEmpty()) {
-                log.debug("No telemetry data for operator {}", operatorId);
-                return;
-            }
-
-            // Create the new message structure
-            Map<String, Object> message = new HashMap<>();
-            message.put("operatorId", operatorId.toString());
-
-            // Create telemetry object with nested structure for each spacecraft
-            Map<String, Object> telemetryData = new HashMap<>();
-
-            // Process each spacecraft's data with predictions in parallel
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-
-            for (Map.Entry<Long, TrajectoryData> entry : telemetryMap.entrySet()) {
-                Long spacecraftId = entry.getKey();
-                TrajectoryData trajectoryData = entry.getValue();
-
-                futures.add(CompletableFuture.runAsync(() -> {
-                    try {
-                        // Convert trajectory data to the format needed for predictions
-                        List<TelemetryPosition> positions = getRecentPositions(spacecraftId);
-
-                        // Generate predictions only if we have enough data
-                        if (positions.size() >= 2) {
-                            Map<String, Object> spacecraftData = new HashMap<>();
-
-                            // Add telemetry data
-                            spacecraftData.put("telemetry", formatTrajectoryData(trajectoryData));
-
-                            // Generate and add short-term predictions (60 steps, 60 seconds each)
-                            List<PredictiveOrbitPoint> shortPredictions =
-                                    predictionService.predictOrbit(positions, 60, 60);
-                            spacecraftData.put("shortPredictions", formatPredictions(shortPredictions));
-
-                            // Generate and add full orbit predictions (120 points)
-                            List<PredictiveOrbitPoint> fullOrbitPredictions =
-                                    predictionService.predictFullOrbit(positions, 120);
-                            spacecraftData.put("fullOrbitPredictions", formatPredictions(fullOrbitPredictions));
-
-                            // Add spacecraft data to telemetry map (synchronized to avoid concurrent modification)
-                            synchronized (telemetryData) {
-                                telemetryData.put(spacecraftId.toString(), spacecraftData);
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.error("Error generating predictions for spacecraft {}: {}",
-                                spacecraftId, e.getMessage(), e);
+    @Scheduled(fixedDelayString = "${telemetry.prediction.publish-interval:5000}")
+    public void publishPredictions() {
+        if (stale.isEmpty()) return;
+        Set<Long> batch = new HashSet<>(stale);
+        stale.removeAll(batch);
+
+        List<SatelliteReference> refs = referenceRepo.findByExternalIdIn(batch);
+        fleetPredictionService.predictAll(refs, SHORT_STEPS, SHORT_STEP_SECONDS, ORBIT_POINTS)
+                .forEach((operatorId, predictions) -> {
+                    Map<String, Object> sats = new HashMap<>();
+                    Map<Long, Long>     from = new HashMap<>();
+                    for (SatellitePrediction p : predictions) {
+                        // not enough data to predict yet
+                        if (p.shortTerm().isEmpty()) continue;
+                        long ts = p.latest().getTimestamp().getTime();
+                        Long previous = publishedFrom.get(p.externalId());
+                        if (previous != null && previous == ts) continue;
+                        sats.put(Long.toString(p.externalId()), formatPredictions(p));
+                        from.put(p.externalId(), ts);
                     }
-                }, predictionsExecutor));
-            }
+                    if (sats.isEmpty()) return;
+                    send(KafkaConfig.TOPIC_PREDICTIONS, operatorId, sats,
+                            () -> publishedFrom.putAll(from),
+                            () -> stale.addAll(from.keySet()));
+                });
+    }
 
-            // Wait for all prediction computations to complete
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    /**
+     * Publish everything known about an operator's satellites on both topics,
+     * for WebSocket nodes that have no state for it yet.
+     */
+    public void publishOperatorState(UUID operatorId) {
+        List<SatellitePrediction> predictions = fleetPredictionService
+                .predictAll(referenceRepo.findByEnterpriseId(operatorId), SHORT_STEPS, SHORT_STEP_SECONDS, ORBIT_POINTS)
+                .getOrDefault(operatorId, List.of());
+        if (predictions.isEmpty()) {
+            log.debug("No telemetry data for operator {}", operatorId);
+            return;
+        }
 
-            // Add telemetry data to message
-            message.put("telemetry", telemetryData);
+        Map<String, Object> telemetry = new HashMap<>();
+        Map<String, Object> predicted = new HashMap<>();
+        for (SatellitePrediction p : predictions) {
+            String id = Long.toString(p.externalId());
+            telemetry.put(id, Map.of("telemetry", formatTrajectoryData(p.latest())));
+            if (!p.shortTerm().isEmpty()) predicted.put(id, formatPredictions(p));
+        }
+        send(KafkaConfig.TOPIC_TELEMETRY, operatorId, telemetry);
+        if (!predicted.isEmpty()) send(KafkaConfig.TOPIC_PREDICTIONS, operatorId, predicted);
+    }
 
-            // Send message to Kafka
-            kafkaTemplate.send(
-                    KafkaConfig.TOPIC_TELEMETRY,
-                    operatorId.toString(),
-                    message
-            ).whenComplete((meta, ex) -> {
+    private void send(String topic, UUID operatorId, Map<String, Object> satellites) {
+        send(topic, operatorId, satellites, () -> {}, () -> {});
+    }
+
+    /** Send and run {@code onSent} once the broker acknowledged it, {@code onFailed} otherwise. */
+    private void send(String topic, UUID operatorId, Map<String, Object> satellites,
+                      Runnable onSent, Runnable onFailed) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("operatorId", operatorId.toString());
+        message.put("telemetry",  satellites);
+        try {
+            kafkaTemplate.send(topic, operatorId.toString(), message).whenComplete((meta, ex) -> {
                 if (ex != null) {
-                    log.error("Failed to send telemetry for operator {}: {}",
-                            operatorId, ex.getMessage(), ex);
+                    log.error("Failed to send {} for operator {}: {}", topic, operatorId, ex.getMessage(), ex);
+                    onFailed.run();
                 } else {
-                    log.debug("Published telemetry for operator {} to partition {}",
-                            operatorId, meta.getRecordMetadata().partition());
+                    log.debug("Published {} satellites to {} for operator {} on partition {}",
+                            satellites.size(), topic, operatorId, meta.getRecordMetadata().partition());
+                    onSent.run();
                 }
             });
-
         } catch (Exception e) {
-            log.error("Error publishing telemetry for operator {}: {}", operatorId, e.getMessage(), e);
+            log.error("Error publishing {} for operator {}: {}", topic, operatorId, e.getMessage(), e);
+            onFailed.run();
         }
     }
 
-    /**
-     * Retrieve recent positions for a spacecraft to use in predictions
-     */
-    private List<TelemetryPosition> getRecentPositions(Long spacecraftId) {
-        // This would typically come from your repository
-        // For simplicity, we'll use a minimal implementation
-        return satelliteTelemetryService.getRecentPositionsForSpacecraft(spacecraftId, 5);
+    private Map<String, Object> formatPredictions(SatellitePrediction p) {
+        return Map.of(
+                "shortPredictions",     formatPredictions(p.shortTerm()),
+                "fullOrbitPredictions", formatPredictions(p.fullOrbit()));
     }
 
     /**
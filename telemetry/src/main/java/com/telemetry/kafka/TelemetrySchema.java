@@ -0,0 +1,109 @@
+// src/main/java/com/telemetry/kafka/TelemetrySchema.java
+package com.telemetry.kafka;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The two layouts of telemetry messages (the producer's telemetry and prediction
+ * records, SNAPSHOT and DELTA).
+ *
+ * Both have telemetry → satellite id → {telemetry, shortPredictions,
+ * fullOrbitPredictions}. In the original layout a prediction list is a list
+ * of {timestamp, latitude, longitude, altitude, isFullOrbit} points; in the
+ * compact layout it is one object of columns {t: [epoch ms], lat, lon, alt:
+ * [double]}, with isFullOrbit implied by the list. Messages without a
+ * telemetry object (alerts, control messages) are the same in both.
+ */
+public final class TelemetrySchema {
+
+    private static final String TELEMETRY = "telemetry";
+    private static final String[] LISTS   = {"shortPredictions", "fullOrbitPredictions"};
+
+    private TelemetrySchema() {
+    }
+
+    /** {@code message} in the layout of {@code format}; returned as is when nothing needs converting. */
+    public static Map<String, Object> convert(Map<String, Object> message, WireFormat format) {
+        if (!(message.get(TELEMETRY) instanceof Map<?, ?> telemetry)) return message;
+
+        Map<String, Object> sats = new LinkedHashMap<>();
+        boolean changed = false;
+        for (Map.Entry<?, ?> e : telemetry.entrySet()) {
+            Object sat = e.getValue();
+            if (sat instanceof Map<?, ?> entry) {
+                Map<String, Object> converted = convertSatellite(entry, format);
+                changed |= converted != entry;
+                sat = converted;
+            }
+            sats.put(String.valueOf(e.getKey()), sat);
+        }
+        if (!changed) return message;
+
+        Map<String, Object> out = new LinkedHashMap<>(message);
+        out.put(TELEMETRY, sats);
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> convertSatellite(Map<?, ?> entry, WireFormat format) {
+        Map<String, Object> out = null;
+        for (String list : LISTS) {
+            Object value = entry.get(list);
+            Object converted = format.isBinary() ? toColumns(value) : toPoints(value, list.equals("fullOrbitPredictions"));
+            if (converted != value) {
+                if (out == null) out = new HashMap<>((Map<String, Object>) entry);
+                out.put(list, converted);
+            }
+        }
+        return out != null ? out : (Map<String, Object>) entry;
+    }
+
+    private static Object toColumns(Object value) {
+        if (!(value instanceof List<?> points)) return value;
+        int n = points.size();
+        long[]   t   = new long[n];
+        // doubles, not floats, so a CBOR record expanded again equals the JSON one
+        double[] lat = new double[n], lon = new double[n], alt = new double[n];
+        for (int i = 0; i < n; i++) {
+            Map<?, ?> p = (Map<?, ?>) points.get(i);
+            t[i]   = millis(p.get("timestamp"));
+            lat[i] = ((Number) p.get("latitude")).doubleValue();
+            lon[i] = ((Number) p.get("longitude")).doubleValue();
+            alt[i] = ((Number) p.get("altitude")).doubleValue();
+        }
+        Map<String, Object> cols = new LinkedHashMap<>();
+        cols.put("t",   t);
+        cols.put("lat", lat);
+        cols.put("lon", lon);
+        cols.put("alt", alt);
+        return cols;
+    }
+
+    private static Object toPoints(Object value, boolean fullOrbit) {
+        if (!(value instanceof Map<?, ?> cols)) return value;
+        List<?> t   = (List<?>) cols.get("t");
+        List<?> lat = (List<?>) cols.get("lat");
+        List<?> lon = (List<?>) cols.get("lon");
+        List<?> alt = (List<?>) cols.get("alt");
+        List<Map<String, Object>> points = new ArrayList<>(t.size());
+        for (int i = 0; i < t.size(); i++) {
+            Map<String, Object> p = new HashMap<>();
+            p.put("timestamp",   millis(t.get(i)));
+            p.put("latitude",    ((Number) lat.get(i)).doubleValue());
+            p.put("longitude",   ((Number) lon.get(i)).doubleValue());
+            p.put("altitude",    ((Number) alt.get(i)).doubleValue());
+            p.put("isFullOrbit", fullOrbit);
+            points.add(p);
+        }
+        return points;
+    }
+
+    private static long millis(Object ts) {
+        return ts instanceof Date d ? d.getTime() : ((Number) ts).longValue();
+    }
+}
@@ -0,0 +1,66 @@
+// src/main/java/com/telemetry/kafka/WireFormat.java
+package com.telemetry.kafka;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Encodings of telemetry and alert messages, on Kafka and on the WebSocket.
+ *
+ * JSON carries the original message layout. CBOR carries the compact layout of
+ * {@link TelemetrySchema}: the same maps, with prediction lists as columns.
+ * Kafka records name their encoding in the {@link #HEADER} header; records
+ * without it are JSON.
+ */
+public enum WireFormat {
+
+    JSON(new ObjectMapper()),
+    CBOR(new CBORMapper());
+
+    public static final String HEADER = "telemetry-encoding";
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+    private final ObjectMapper mapper;
+
+    WireFormat(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public boolean isBinary() {
+        return this == CBOR;
+    }
+
+    /** Encode a message, first converting it to this format's layout. */
+    public byte[] encode(Map<String, Object> message) throws IOException {
+        return mapper.writeValueAsBytes(TelemetrySchema.convert(message, this));
+    }
+
+    public Map<String, Object> decode(byte[] bytes) throws IOException {
+        return mapper.readValue(bytes, MAP);
+    }
+
+    /** Value of the {@link #HEADER} header or a {@code ?encoding=} parameter; JSON when absent or unknown. */
+    public static WireFormat parse(String name) {
+        if (name == null) return JSON;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return JSON;
+        }
+    }
+
+    public static WireFormat parse(byte[] header) {
+        return header == null ? JSON : parse(new String(header, StandardCharsets.US_ASCII));
+    }
+
+    public byte[] headerValue() {
+        return name().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+    }
+}
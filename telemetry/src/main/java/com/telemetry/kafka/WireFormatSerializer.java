@@ -0,0 +1,47 @@
+// src/main/java/com/telemetry/kafka/WireFormatSerializer.java
+package com.telemetry.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Kafka value serializer for the Map messages of TelemetryKafkaProducer and
+ * ConjunctionService, in the format named by the {@link #FORMAT_CONFIG} producer
+ * property. Each record gets the {@link WireFormat#HEADER} header.
+ */
+public class WireFormatSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "telemetry.encoding";
+
+    private WireFormat format = WireFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object name = configs.get(FORMAT_CONFIG);
+        if (name != null) format = WireFormat.parse(name.toString());
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) return null;
+        if (!(data instanceof Map)) {
+            throw new SerializationException("Expected a Map message on " + topic + ", got " + data.getClass());
+        }
+        try {
+            if (headers != null) headers.add(WireFormat.HEADER, format.headerValue());
+            return format.encode((Map<String, Object>) data);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode message for " + topic + " as " + format, e);
+        }
+    }
+}
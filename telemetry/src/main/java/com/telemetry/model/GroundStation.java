@@ -0,0 +1,60 @@
+// src/main/java/com/telemetry/model/GroundStation.java
+package com.telemetry.model;
+
+import jakarta.persistence.*;
+
+/**
+ * An observer for pass prediction.
+ */
+@Entity
+@Table(name = "ground_station")
+public class GroundStation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "name", nullable = false, unique = true, length = 100)
+    private String name;
+
+    /** Geodetic latitude (deg, WGS-84) */
+    @Column(name = "latitude", nullable = false)
+    private double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private double longitude;
+
+    @Column(name = "altitude_km", nullable = false)
+    private double altitudeKm;
+
+    /** Elevation mask: a satellite counts as visible above this (deg) */
+    @Column(name = "min_elevation_deg", nullable = false)
+    private double minElevationDeg = 10;
+
+    public GroundStation(Long id, String name, double latitude, double longitude,
+                         double altitudeKm, double minElevationDeg) {
+        this.id = id;
+        this.name = name;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.altitudeKm = altitudeKm;
+        this.minElevationDeg = minElevationDeg;
+    }
+
+    public GroundStation() {}                            // JPA
+
+    public Long   getId()              { return id; }
+    public String getName()            { return name; }
+    public double getLatitude()        { return latitude; }
+    public double getLongitude()       { return longitude; }
+    public double getAltitudeKm()      { return altitudeKm; }
+    public double getMinElevationDeg() { return minElevationDeg; }
+
+    public void setId(Long id)                             { this.id = id; }
+    public void setName(String name)                       { this.name = name; }
+    public void setLatitude(double latitude)               { this.latitude = latitude; }
+    public void setLongitude(double longitude)             { this.longitude = longitude; }
+    public void setAltitudeKm(double altitudeKm)           { this.altitudeKm = altitudeKm; }
+    public void setMinElevationDeg(double minElevationDeg) { this.minElevationDeg = minElevationDeg; }
+}
@@ -0,0 +1,52 @@
+// src/main/java/com/telemetry/model/SatelliteTle.java
+package com.telemetry.model;
+
+import jakarta.persistence.*;
+
+import java.sql.Timestamp;
+
+/**
+ * Latest two-line element set of a satellite, as fetched from N2YO.
+ */
+@Entity
+@Table(name = "satellite_tle")
+public class SatelliteTle {
+
+    @Id
+    @Column(name = "external_id", nullable = false)
+    private long externalId;
+
+    @Column(name = "line1", nullable = false, length = 80)
+    private String line1;
+
+    @Column(name = "line2", nullable = false, length = 80)
+    private String line2;
+
+    /** Epoch of the element set (UTC) */
+    @Column(name = "epoch", nullable = false)
+    private Timestamp epoch;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Timestamp fetchedAt;
+
+    public SatelliteTle(long externalId, String line1, String line2, Timestamp epoch, Timestamp fetchedAt) {
+        this.externalId = externalId;
+        this.line1 = line1;
+        this.line2 = line2;
+        this.epoch = epoch;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public SatelliteTle() {}                             // JPA
+
+    public long      getExternalId() { return externalId; }
+    public String    getLine1()      { return line1; }
+    public String    getLine2()      { return line2; }
+    public Timestamp getEpoch()      { return epoch; }
+    public Timestamp getFetchedAt()  { return fetchedAt; }
+
+    public void setLine1(String line1)           { this.line1 = line1; }
+    public void setLine2(String line2)           { this.line2 = line2; }
+    public void setEpoch(Timestamp epoch)        { this.epoch = epoch; }
+    public void setFetchedAt(Timestamp fetchedAt) { this.fetchedAt = fetchedAt; }
+}
@@ -0,0 +1,139 @@
+// src/main/java/com/telemetry/propagation/BatchPropagation.java
+package com.telemetry.propagation;
+
+/**
+ * Propagates many satellites over one shared time grid.
+ *
+ * Output is structure-of-arrays: satellite {@code i} at grid step {@code j} lives
+ * at index {@code i * grid.size() + j} of the lat/lon/alt arrays. Earth rotation
+ * (GMST sin/cos) is computed once per grid time in {@link Grid} and shared by
+ * every SGP4 model; nothing is allocated per point. {@link #ecefAt} gives the
+ * Earth-fixed positions of all models at one grid time, for sweeps that look at
+ * the whole fleet step by step (ConjunctionScreener).
+ */
+public final class BatchPropagation {
+
+    private BatchPropagation() {
+    }
+
+    /** Grid times with their precomputed Earth rotation. Immutable, shareable between threads. */
+    public static final class Grid {
+        private final long[]   timesMs;
+        private final double[] cosGmst;
+        private final double[] sinGmst;
+
+        public Grid(long[] timesMs) {
+            this.timesMs = timesMs.clone();
+            this.cosGmst = new double[timesMs.length];
+            this.sinGmst = new double[timesMs.length];
+            for (int j = 0; j < timesMs.length; j++) {
+                double g = EarthFrames.gmst(timesMs[j]);
+                cosGmst[j] = Math.cos(g);
+                sinGmst[j] = Math.sin(g);
+            }
+        }
+
+        /** {@code n} times starting at {@code startMs}, {@code stepMs} apart. */
+        public static Grid uniform(long startMs, long stepMs, int n) {
+            long[] t = new long[n];
+            for (int j = 0; j < n; j++) t[j] = startMs + j * stepMs;
+            return new Grid(t);
+        }
+
+        public int size() {
+            return timesMs.length;
+        }
+
+        public long timeMs(int j) {
+            return timesMs[j];
+        }
+    }
+
+    /**
+     * Earth-fixed positions (km) of every model at grid time {@code j}, into
+     * {@code x[i], y[i], z[i]}. Unreachable points (null model, decayed orbit)
+     * get x = NaN.
+     *
+     * @return number of unreachable points
+     */
+    public static int ecefAt(OrbitPropagator[] models, Grid grid, int j, double[] x, double[] y, double[] z) {
+        long t = grid.timesMs[j];
+        double cos = grid.cosGmst[j], sin = grid.sinGmst[j];
+        double[] buf = new double[3];
+        int failed = 0;
+
+        for (int i = 0; i < models.length; i++) {
+            OrbitPropagator m = models[i];
+            boolean ok;
+            if (m instanceof Sgp4Propagator sgp4) {
+                ok = sgp4.teme(t, buf, 0);
+                if (ok) {
+                    double bx = buf[0];
+                    buf[0] =  cos * bx + sin * buf[1];
+                    buf[1] = -sin * bx + cos * buf[1];
+                }
+            } else {
+                ok = m != null && m.ecefAt(t, buf, 0);
+            }
+
+            if (ok) {
+                x[i] = buf[0];
+                y[i] = buf[1];
+                z[i] = buf[2];
+            } else {
+                x[i] = Double.NaN;
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /** Propagate all models; see {@link #propagate(OrbitPropagator[], int, int, Grid, double[], double[], double[])}. */
+    public static int propagate(OrbitPropagator[] models, Grid grid,
+                                double[] lat, double[] lon, double[] alt) {
+        return propagate(models, 0, models.length, grid, lat, lon, alt);
+    }
+
+    /**
+     * Propagate models {@code [from, to)} over {@code grid}. Disjoint ranges may
+     * run concurrently on the same output arrays. Points a model cannot reach
+     * (null model, decayed orbit) are written as NaN.
+     *
+     * @return number of NaN points written
+     */
+    public static int propagate(OrbitPropagator[] models, int from, int to, Grid grid,
+                                double[] lat, double[] lon, double[] alt) {
+        int n = grid.size();
+        double[] buf = new double[3];
+        int failed = 0;
+
+        for (int i = from; i < to; i++) {
+            OrbitPropagator m = models[i];
+            int base = i * n;
+            Sgp4Propagator sgp4 = m instanceof Sgp4Propagator s ? s : null;
+
+            for (int j = 0; j < n; j++) {
+                boolean ok;
+                if (sgp4 != null) {
+                    ok = sgp4.teme(grid.timesMs[j], buf, 0);
+                    if (ok) {
+                        EarthFrames.inertialToGeodetic(buf[0], buf[1], buf[2],
+                                grid.cosGmst[j], grid.sinGmst[j], buf, 0);
+                    }
+                } else {
+                    ok = m != null && m.geodeticAt(grid.timesMs[j], buf, 0);
+                }
+
+                if (ok) {
+                    lat[base + j] = buf[0];
+                    lon[base + j] = buf[1];
+                    alt[base + j] = buf[2];
+                } else {
+                    lat[base + j] = lon[base + j] = alt[base + j] = Double.NaN;
+                    failed++;
+                }
+            }
+        }
+        return failed;
+    }
+}
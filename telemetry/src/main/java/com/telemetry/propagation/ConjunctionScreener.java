@@ -0,0 +1,163 @@
+// src/main/java/com/telemetry/propagation/ConjunctionScreener.java
+package com.telemetry.propagation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Close-approach screening of many orbit models over a time window.
+ *
+ * The window is cut into steps of {@code stepMs}. For each step every model is
+ * evaluated once at the step midpoint (through {@link BatchPropagation}, so the
+ * Earth rotation of a step is computed once for all models) and the positions go into a
+ * {@link SpatialHash} with a screening radius of threshold + the distance two
+ * objects can close in half a step at {@code maxRelativeSpeed}. Only the pairs the
+ * hash returns have their minimum distance within the step refined with a
+ * golden-section search. Step ranges are swept in parallel on the given pool.
+ */
+public final class ConjunctionScreener {
+
+    private static final double GOLDEN = (Math.sqrt(5) - 1) / 2;
+    private static final int    REFINE_ITERATIONS = 30;
+
+    /** Close approach of models {@code a < b}: time of closest approach and miss distance. */
+    public record Approach(int a, int b, long tcaMs, double missKm) {
+    }
+
+    private ConjunctionScreener() {
+    }
+
+    /**
+     * @param models              one model per object; null entries are skipped
+     * @param startMs             window start
+     * @param stepMs              sampling step
+     * @param steps               number of steps (window = steps × stepMs)
+     * @param thresholdKm         report approaches closer than this
+     * @param maxRelativeSpeedKmS upper bound on the closing speed of two objects
+     * @return approaches sorted by time of closest approach, one per pair and encounter
+     */
+    public static List<Approach> screen(OrbitPropagator[] models, long startMs, long stepMs, int steps,
+                                        double thresholdKm, double maxRelativeSpeedKmS, ForkJoinPool pool) {
+        double screenRadius = thresholdKm + maxRelativeSpeedKmS * stepMs / 2000.0;
+        int leaf = Math.max(1, steps / (pool.getParallelism() * 4));
+        Sweep sweep = new Sweep(models, startMs, stepMs, thresholdKm, screenRadius);
+
+        List<Approach> raw = pool.invoke(new StepRange(sweep, 0, steps, leaf));
+        return merge(raw, stepMs);
+    }
+
+    /** One encounter may be found from two adjacent steps; keep the closer hit. */
+    private static List<Approach> merge(List<Approach> raw, long stepMs) {
+        raw.sort(Comparator.comparingInt(Approach::a)
+                .thenComparingInt(Approach::b)
+                .thenComparingLong(Approach::tcaMs));
+
+        List<Approach> out = new ArrayList<>();
+        for (Approach ap : raw) {
+            int last = out.size() - 1;
+            if (last >= 0) {
+                Approach prev = out.get(last);
+                if (prev.a() == ap.a() && prev.b() == ap.b() && ap.tcaMs() - prev.tcaMs() <= stepMs) {
+                    if (ap.missKm() < prev.missKm()) out.set(last, ap);
+                    continue;
+                }
+            }
+            out.add(ap);
+        }
+        out.sort(Comparator.comparingLong(Approach::tcaMs));
+        return out;
+    }
+
+    /** Shared read-only inputs of one screening run. */
+    private record Sweep(OrbitPropagator[] models, long startMs, long stepMs,
+                         double thresholdKm, double screenRadius) {
+    }
+
+    @SuppressWarnings("serial")
+    private static final class StepRange extends RecursiveTask<List<Approach>> {
+        private final Sweep sweep;
+        private final int   from, to, leaf;
+
+        StepRange(Sweep sweep, int from, int to, int leaf) {
+            this.sweep = sweep;
+            this.from  = from;
+            this.to    = to;
+            this.leaf  = leaf;
+        }
+
+        @Override
+        protected List<Approach> compute() {
+            if (to - from > leaf) {
+                int mid = (from + to) >>> 1;
+                StepRange right = new StepRange(sweep, mid, to, leaf);
+                right.fork();
+                List<Approach> out = new StepRange(sweep, from, mid, leaf).compute();
+                out.addAll(right.join());
+                return out;
+            }
+            return sweepSteps();
+        }
+
+        private List<Approach> sweepSteps() {
+            OrbitPropagator[] models = sweep.models();
+            int n = models.length;
+            double[] x = new double[n], y = new double[n], z = new double[n];
+            SpatialHash hash = new SpatialHash(n);
+            List<Approach> found = new ArrayList<>();
+            long half = sweep.stepMs() / 2;
+            BatchPropagation.Grid midpoints = BatchPropagation.Grid.uniform(
+                    sweep.startMs() + from * sweep.stepMs() + half, sweep.stepMs(), to - from);
+
+            for (int s = from; s < to; s++) {
+                long t = midpoints.timeMs(s - from);
+                BatchPropagation.ecefAt(models, midpoints, s - from, x, y, z);
+
+                hash.build(x, y, z, n, sweep.screenRadius());
+                hash.forEachPair(sweep.screenRadius(), (i, j, d2) -> {
+                    Approach ap = refine(models[i], models[j], i, j, t - half, t + half);
+                    if (ap != null && ap.missKm() <= sweep.thresholdKm()) found.add(ap);
+                });
+            }
+            return found;
+        }
+    }
+
+    /** Minimum distance of two models on [t0, t1] by golden-section search. */
+    private static Approach refine(OrbitPropagator ma, OrbitPropagator mb, int a, int b, long t0, long t1) {
+        double[] pa = new double[3], pb = new double[3];
+        double lo = t0, hi = t1;
+        double c = hi - GOLDEN * (hi - lo), d = lo + GOLDEN * (hi - lo);
+        double fc = distanceSq(ma, mb, (long) c, pa, pb);
+        double fd = distanceSq(ma, mb, (long) d, pa, pb);
+
+        for (int k = 0; k < REFINE_ITERATIONS && hi - lo > 1; k++) {
+            if (fc < fd) {
+                hi = d;
+                d = c;
+                fd = fc;
+                c = hi - GOLDEN * (hi - lo);
+                fc = distanceSq(ma, mb, (long) c, pa, pb);
+            } else {
+                lo = c;
+                c = d;
+                fc = fd;
+                d = lo + GOLDEN * (hi - lo);
+                fd = distanceSq(ma, mb, (long) d, pa, pb);
+            }
+        }
+
+        double best = Math.min(fc, fd);
+        if (Double.isNaN(best)) return null;
+        long tca = (long) (fc < fd ? c : d);
+        return new Approach(a, b, tca, Math.sqrt(best));
+    }
+
+    private static double distanceSq(OrbitPropagator ma, OrbitPropagator mb, long t, double[] pa, double[] pb) {
+        if (!ma.ecefAt(t, pa, 0) || !mb.ecefAt(t, pb, 0)) return Double.NaN;
+        double dx = pa[0] - pb[0], dy = pa[1] - pb[1], dz = pa[2] - pb[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,67 @@
+// src/main/java/com/telemetry/propagation/EarthFrames.java
+package com.telemetry.propagation;
+
+/**
+ * Earth rotation and WGS-84 geodetic conversion for propagated positions.
+ * Polar motion and the equation of the equinoxes are ignored (sub-km effects).
+ */
+public final class EarthFrames {
+
+    private static final double WGS84_A  = 6378.137;               // km
+    private static final double WGS84_F  = 1 / 298.257223563;
+    private static final double WGS84_E2 = WGS84_F * (2 - WGS84_F);
+    private static final double TWO_PI   = 2 * Math.PI;
+
+    private EarthFrames() {
+    }
+
+    /** Greenwich mean sidereal time (rad) at {@code epochMs}, IAU-82 model. */
+    public static double gmst(long epochMs) {
+        double jd   = epochMs / 86_400_000.0 + 2440587.5;
+        double tut1 = (jd - 2451545.0) / 36525.0;
+        double sec  = -6.2e-6 * tut1 * tut1 * tut1
+                + 0.093104 * tut1 * tut1
+                + (876600.0 * 3600 + 8640184.812866) * tut1
+                + 67310.54841;
+        double g = (sec * Math.PI / 180.0 / 240.0) % TWO_PI;
+        return g < 0 ? g + TWO_PI : g;
+    }
+
+    /**
+     * Rotate an inertial (TEME) position by GMST into the Earth-fixed frame and
+     * convert it to geodetic lat (deg), lon (deg), alt (km) in {@code out[off..off+2]}.
+     */
+    public static void inertialToGeodetic(double x, double y, double z,
+                                          double cosGmst, double sinGmst,
+                                          double[] out, int off) {
+        double xe =  cosGmst * x + sinGmst * y;
+        double ye = -sinGmst * x + cosGmst * y;
+        ecefToGeodetic(xe, ye, z, out, off);
+    }
+
+    /** Geodetic lat (deg), lon (deg), alt (km) to Earth-fixed cartesian (km). */
+    public static void geodeticToEcef(double latDeg, double lonDeg, double altKm, double[] out, int off) {
+        double lat = Math.toRadians(latDeg), lon = Math.toRadians(lonDeg);
+        double sin = Math.sin(lat), cos = Math.cos(lat);
+        double n   = WGS84_A / Math.sqrt(1 - WGS84_E2 * sin * sin);
+        out[off]     = (n + altKm) * cos * Math.cos(lon);
+        out[off + 1] = (n + altKm) * cos * Math.sin(lon);
+        out[off + 2] = (n * (1 - WGS84_E2) + altKm) * sin;
+    }
+
+    /** Earth-fixed cartesian (km) to geodetic lat (deg), lon (deg), alt (km). */
+    public static void ecefToGeodetic(double x, double y, double z, double[] out, int off) {
+        double p   = Math.hypot(x, y);
+        double lat = Math.atan2(z, p * (1 - WGS84_E2));
+        double h   = 0;
+        for (int i = 0; i < 5; i++) {
+            double sin = Math.sin(lat);
+            double n   = WGS84_A / Math.sqrt(1 - WGS84_E2 * sin * sin);
+            h   = p > 1e-9 ? p / Math.cos(lat) - n : Math.abs(z) - n * (1 - WGS84_E2);
+            lat = Math.atan2(z, p * (1 - WGS84_E2 * n / (n + h)));
+        }
+        out[off]     = Math.toDegrees(lat);
+        out[off + 1] = Math.toDegrees(Math.atan2(y, x));
+        out[off + 2] = h;
+    }
+}
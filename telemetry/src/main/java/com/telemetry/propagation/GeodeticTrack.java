@@ -0,0 +1,26 @@
+// src/main/java/com/telemetry/propagation/GeodeticTrack.java
+package com.telemetry.propagation;
+
+/**
+ * A run of geodetic points in structure-of-arrays form: epoch-ms times, lat and
+ * lon in degrees, altitude in km, all at the same indices. Several satellites'
+ * tracks can share one instance at disjoint index ranges.
+ */
+public record GeodeticTrack(long[] timesMs, double[] lat, double[] lon, double[] alt) {
+
+    public static GeodeticTrack allocate(int capacity) {
+        return new GeodeticTrack(new long[capacity], new double[capacity], new double[capacity], new double[capacity]);
+    }
+
+    public int capacity() {
+        return timesMs.length;
+    }
+
+    /** Copy point {@code from} of {@code src} to index {@code to} of this track. */
+    public void set(int to, GeodeticTrack src, int from) {
+        timesMs[to] = src.timesMs[from];
+        lat[to]     = src.lat[from];
+        lon[to]     = src.lon[from];
+        alt[to]     = src.alt[from];
+    }
+}
@@ -0,0 +1,68 @@
+// src/main/java/com/telemetry/propagation/IntervalTree.java
+package com.telemetry.propagation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable interval tree over closed intervals [start, end] carrying an int
+ * value, for stabbing and overlap queries in O(log n + k).
+ *
+ * The intervals are sorted by start and the sorted array is used as an implicit
+ * balanced tree (the middle of each range is its root), augmented with the
+ * largest end in every subtree. Everything lives in primitive arrays; build once,
+ * query from any number of threads.
+ */
+public final class IntervalTree {
+
+    private final long[] start;
+    private final long[] end;
+    private final long[] maxEnd;
+    private final int[]  value;
+
+    /** Intervals {@code [starts[i], ends[i]]} with {@code values[i]} for i in [0, n). */
+    public IntervalTree(long[] starts, long[] ends, int[] values, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+
+        this.start  = new long[n];
+        this.end    = new long[n];
+        this.maxEnd = new long[n];
+        this.value  = new int[n];
+        for (int i = 0; i < n; i++) {
+            start[i] = starts[order[i]];
+            end[i]   = ends[order[i]];
+            value[i] = values[order[i]];
+        }
+        augment(0, n);
+    }
+
+    public int size() {
+        return start.length;
+    }
+
+    /** Values of all intervals overlapping [from, to], in order of interval start. */
+    public void query(long from, long to, IntConsumer sink) {
+        query(0, start.length, from, to, sink);
+    }
+
+    private void query(int lo, int hi, long from, long to, IntConsumer sink) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] < from) return;               // nothing in this subtree reaches from
+            query(lo, mid, from, to, sink);
+            if (start[mid] > to) return;                  // everything to the right starts later
+            if (end[mid] >= from) sink.accept(value[mid]);
+            lo = mid + 1;
+        }
+    }
+
+    private long augment(int lo, int hi) {
+        if (lo >= hi) return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long m = Math.max(end[mid], Math.max(augment(lo, mid), augment(mid + 1, hi)));
+        maxEnd[mid] = m;
+        return m;
+    }
+}
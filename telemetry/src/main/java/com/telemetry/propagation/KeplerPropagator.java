@@ -0,0 +1,165 @@
+// src/main/java/com/telemetry/propagation/KeplerPropagator.java
+package com.telemetry.propagation;
+
+/**
+ * Two-body Keplerian propagation from one state vector, as PredictionService has
+ * always done it: the position/velocity estimated from lat/lon/alt samples on a
+ * spherical Earth is turned into classical elements, and points are rotated back
+ * and converted to lat/lon/alt on the same sphere (no Earth rotation).
+ *
+ * Used for satellites without a usable TLE, including deep-space objects.
+ */
+public final class KeplerPropagator implements OrbitPropagator {
+
+    private static final double EARTH_MU     = 398600.4418; // km³/s²
+    private static final double EARTH_RADIUS = 6371.0;      // km
+
+    private final long   epochMs;
+    private final double a, e, m0;
+    private final double period;
+    private final double sqrt1pe, sqrt1me;
+    private final OrbitalMath.PerifocalRotation rotation;
+
+    /**
+     * @param r       position (km) at {@code epochMs}
+     * @param v       velocity (km/s) at {@code epochMs}
+     */
+    public KeplerPropagator(double[] r, double[] v, long epochMs) {
+        double[] el = calculateOrbitalElements(r, v);
+        this.epochMs = epochMs;
+        this.a    = el[0];
+        this.e    = el[1];
+        this.m0   = el[5];
+        this.period   = 2 * Math.PI * Math.sqrt(Math.pow(a, 3) / EARTH_MU);
+        this.sqrt1pe  = Math.sqrt(1 + e);
+        this.sqrt1me  = Math.sqrt(1 - e);
+        this.rotation = new OrbitalMath.PerifocalRotation(el[2], el[3], el[4]);
+    }
+
+    @Override
+    public String name() {
+        return "kepler";
+    }
+
+    @Override
+    public long epochMs() {
+        return epochMs;
+    }
+
+    @Override
+    public double periodSeconds() {
+        return period;
+    }
+
+    @Override
+    public boolean geodeticAt(long tMs, double[] out, int off) {
+        ecefAt(tMs, out, off);
+        OrbitalMath.cartesianToSpherical(out[off], out[off + 1], out[off + 2], EARTH_RADIUS, out, off);
+        return !Double.isNaN(out[off]);
+    }
+
+    /** The rotated orbit position, which this model treats as Earth-fixed. */
+    @Override
+    public boolean ecefAt(long tMs, double[] out, int off) {
+        double M  = normalizeAngle(m0 + 2 * Math.PI * ((tMs - epochMs) / 1000.0) / period);
+        double E  = solveKepler(M, e);
+        double nu = 2 * Math.atan2(
+                sqrt1pe * Math.sin(E / 2),
+                sqrt1me * Math.cos(E / 2)
+        );
+        double rMag = a * (1 - e * Math.cos(E));
+
+        rotation.apply(rMag * Math.cos(nu), rMag * Math.sin(nu), out, off);
+        return !Double.isNaN(out[off]);
+    }
+
+    /** Rotates all points into the output arrays first, then converts them in place in one batch. */
+    @Override
+    public int geodeticAt(long[] timesMs, int off, int n, double[] lat, double[] lon, double[] alt) {
+        double[] p = new double[3];
+        for (int j = off; j < off + n; j++) {
+            double M  = normalizeAngle(m0 + 2 * Math.PI * ((timesMs[j] - epochMs) / 1000.0) / period);
+            double E  = solveKepler(M, e);
+            double nu = 2 * Math.atan2(sqrt1pe * Math.sin(E / 2), sqrt1me * Math.cos(E / 2));
+            double rMag = a * (1 - e * Math.cos(E));
+            rotation.apply(rMag * Math.cos(nu), rMag * Math.sin(nu), p, 0);
+            lat[j] = p[0];
+            lon[j] = p[1];
+            alt[j] = p[2];
+        }
+        OrbitalMath.cartesianToSpherical(lat, lon, alt, off, n, EARTH_RADIUS, lat, lon, alt);
+        for (int j = 0; j < n; j++) {
+            if (Double.isNaN(lat[off + j])) return j;
+        }
+        return n;
+    }
+
+    private static double[] calculateOrbitalElements(double[] r, double[] v) {
+        double rMag = Math.hypot(r[0], Math.hypot(r[1], r[2]));
+        double vMag = Math.hypot(v[0], Math.hypot(v[1], v[2]));
+
+        // specific angular momentum
+        double[] h = {
+                r[1]*v[2] - r[2]*v[1],
+                r[2]*v[0] - r[0]*v[2],
+                r[0]*v[1] - r[1]*v[0]
+        };
+        double hMag = Math.hypot(h[0], Math.hypot(h[1], h[2]));
+
+        // node vector
+        double[] n = {-h[1], h[0], 0};
+        double nMag = Math.hypot(n[0], n[1]);
+
+        double rDotV = r[0]*v[0] + r[1]*v[1] + r[2]*v[2];
+
+        // eccentricity vector
+        double[] eVec = new double[3];
+        for (int i = 0; i < 3; i++) {
+            eVec[i] = ((vMag*vMag - EARTH_MU/rMag) * r[i] - rDotV*v[i]) / EARTH_MU;
+        }
+        double eMag = Math.hypot(eVec[0], Math.hypot(eVec[1], eVec[2]));
+
+        // semi-major axis
+        double energy = vMag*vMag/2 - EARTH_MU/rMag;
+        double a      = -EARTH_MU / (2*energy);
+
+        // inclination
+        double inc = Math.acos(h[2] / hMag);
+
+        // RA of ascending node
+        double Omega = Math.acos(n[0]/nMag);
+        if (n[1] < 0) Omega = 2*Math.PI - Omega;
+
+        // argument of periapsis
+        double omega = Math.acos((n[0]*eVec[0] + n[1]*eVec[1]) / (nMag*eMag));
+        if (eVec[2] < 0) omega = 2*Math.PI - omega;
+
+        // true anomaly
+        double nu = Math.acos((eVec[0]*r[0] + eVec[1]*r[1] + eVec[2]*r[2]) / (eMag * rMag));
+        if (rDotV < 0) nu = 2*Math.PI - nu;
+
+        // eccentric anomaly
+        double E = Math.atan2(Math.sqrt(1-eMag*eMag)*Math.sin(nu), eMag + Math.cos(nu));
+
+        // mean anomaly at epoch
+        double M = E - eMag * Math.sin(E);
+
+        return new double[]{a, eMag, inc, Omega, omega, M};
+    }
+
+    static double solveKepler(double M, double e) {
+        double E = M;
+        for (int i = 0; i < 10; i++) {
+            double f  = E - e*Math.sin(E) - M;
+            double fp = 1 - e*Math.cos(E);
+            E -= f/fp;
+            if (Math.abs(f/fp) < 1e-8) break;
+        }
+        return E;
+    }
+
+    private static double normalizeAngle(double θ) {
+        θ %= 2*Math.PI;
+        return θ < 0 ? θ + 2*Math.PI : θ;
+    }
+}
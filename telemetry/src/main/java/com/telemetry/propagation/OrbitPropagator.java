@@ -0,0 +1,54 @@
+// src/main/java/com/telemetry/propagation/OrbitPropagator.java
+package com.telemetry.propagation;
+
+/**
+ * An orbit model for one satellite that can be evaluated at arbitrary times.
+ *
+ * Implementations are immutable after construction and safe to share between
+ * threads; every evaluation writes into caller-provided arrays.
+ */
+public interface OrbitPropagator {
+
+    /** Short name for logs and metrics ("sgp4", "kepler") */
+    String name();
+
+    /** Epoch of the input the model was built from (epoch ms) */
+    long epochMs();
+
+    /** Orbital period in seconds, used to lay out one-orbit grids */
+    double periodSeconds();
+
+    /**
+     * Geodetic latitude (deg), longitude (deg) and altitude (km) at {@code tMs},
+     * written to {@code out[off..off+2]}.
+     *
+     * @return false when the model cannot reach {@code tMs} (e.g. the orbit decayed)
+     */
+    boolean geodeticAt(long tMs, double[] out, int off);
+
+    /**
+     * Earth-fixed cartesian position (km) at {@code tMs} in {@code out[off..off+2]},
+     * in the same frame the geodetic output is derived from. Distances between
+     * satellites are taken here.
+     *
+     * @return false when the model cannot reach {@code tMs}
+     */
+    boolean ecefAt(long tMs, double[] out, int off);
+
+    /**
+     * {@link #geodeticAt} for {@code timesMs[off..off+n)}, into the same indices
+     * of the lat/lon/alt arrays. Stops at the first unreachable time.
+     *
+     * @return number of points written
+     */
+    default int geodeticAt(long[] timesMs, int off, int n, double[] lat, double[] lon, double[] alt) {
+        double[] buf = new double[3];
+        for (int j = 0; j < n; j++) {
+            if (!geodeticAt(timesMs[off + j], buf, 0)) return j;
+            lat[off + j] = buf[0];
+            lon[off + j] = buf[1];
+            alt[off + j] = buf[2];
+        }
+        return n;
+    }
+}
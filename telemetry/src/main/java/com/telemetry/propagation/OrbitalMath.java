@@ -0,0 +1,87 @@
+// src/main/java/com/telemetry/propagation/OrbitalMath.java
+package com.telemetry.propagation;
+
+/**
+ * Allocation-free spherical-Earth coordinate transforms shared by the prediction
+ * and ingest paths. Every method writes into caller-provided arrays; the batch
+ * variant converts a whole series in one loop.
+ *
+ * Units follow the caller: the radius passed in (km or m) is the unit of the
+ * cartesian output and of the altitude.
+ */
+public final class OrbitalMath {
+
+    private OrbitalMath() {
+    }
+
+    /**
+     * lat/lon (deg) at distance {@code radius} from the centre → x, y, z in
+     * {@code out[off..off+2]}.
+     */
+    public static void sphericalToCartesian(double latDeg, double lonDeg, double radius,
+                                            double[] out, int off) {
+        double φ = Math.toRadians(latDeg), λ = Math.toRadians(lonDeg);
+        double cosφ = Math.cos(φ);
+        out[off]     = radius * cosφ * Math.cos(λ);
+        out[off + 1] = radius * cosφ * Math.sin(λ);
+        out[off + 2] = radius * Math.sin(φ);
+    }
+
+    /**
+     * x, y, z → lat (deg), lon (deg) and altitude above a sphere of
+     * {@code earthRadius} in {@code out[off..off+2]}.
+     */
+    public static void cartesianToSpherical(double x, double y, double z, double earthRadius,
+                                            double[] out, int off) {
+        double r = Math.sqrt(x * x + y * y + z * z);
+        out[off]     = Math.toDegrees(Math.asin(z / r));
+        out[off + 1] = Math.toDegrees(Math.atan2(y, x));
+        out[off + 2] = r - earthRadius;
+    }
+
+    /**
+     * Batch form of {@link #cartesianToSpherical} over indices [off, off + n) of
+     * structure-of-arrays input. The output arrays may be the input arrays
+     * (x → lat, y → lon, z → alt), so a series can be converted in place.
+     */
+    public static void cartesianToSpherical(double[] x, double[] y, double[] z, int off, int n,
+                                            double earthRadius,
+                                            double[] lat, double[] lon, double[] alt) {
+        for (int i = off; i < off + n; i++) {
+            double xi = x[i], yi = y[i], zi = z[i];
+            double r = Math.sqrt(xi * xi + yi * yi + zi * zi);
+            lat[i] = Math.toDegrees(Math.asin(zi / r));
+            lon[i] = Math.toDegrees(Math.atan2(yi, xi));
+            alt[i] = r - earthRadius;
+        }
+    }
+
+    /**
+     * The 3-1-3 (Ω → i → ω) rotation from the perifocal plane, with its trig
+     * evaluated once per orbit instead of once per point.
+     */
+    public static final class PerifocalRotation {
+        private final double xx, xy, yx, yy, zx, zy;
+
+        public PerifocalRotation(double inc, double raan, double argp) {
+            double cosO = Math.cos(raan), sinO = Math.sin(raan);
+            double cosw = Math.cos(argp), sinw = Math.sin(argp);
+            double cosI = Math.cos(inc),  sinI = Math.sin(inc);
+
+            // third column only multiplies z, which is 0 in the perifocal plane
+            this.xx =  cosO*cosw - sinO*sinw*cosI;
+            this.xy = -cosO*sinw - sinO*cosw*cosI;
+            this.yx =  sinO*cosw + cosO*sinw*cosI;
+            this.yy = -sinO*sinw + cosO*cosw*cosI;
+            this.zx =  sinw*sinI;
+            this.zy =  cosw*sinI;
+        }
+
+        /** Rotate the in-plane point (xOrb, yOrb, 0) into {@code out[off..off+2]}. */
+        public void apply(double xOrb, double yOrb, double[] out, int off) {
+            out[off]     = xx*xOrb + xy*yOrb;
+            out[off + 1] = yx*xOrb + yy*yOrb;
+            out[off + 2] = zx*xOrb + zy*yOrb;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// src/main/java/com/telemetry/propagation/PassPredictor.java
+package com.telemetry.propagation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Visibility passes of one orbit model over a set of ground sites: acquisition
+ * of signal (AOS), loss of signal (LOS) and the time and value of maximum
+ * elevation, each above the site's minimum elevation.
+ *
+ * The model is sampled every {@code stepMs}; each sample is one propagation
+ * shared by all sites. Horizon crossings are then bisected to one second and
+ * the culmination is refined with a golden-section search. Passes shorter than
+ * the step can be missed, so the step should stay well below the shortest pass
+ * of interest (30 s for LEO). Models must return true Earth-fixed positions
+ * from {@link OrbitPropagator#ecefAt}.
+ */
+public final class PassPredictor {
+
+    private static final double GOLDEN = (Math.sqrt(5) - 1) / 2;
+    private static final long   CROSSING_RESOLUTION_MS = 1000;
+
+    /** Observer on the WGS-84 ellipsoid. */
+    public record Site(double latDeg, double lonDeg, double altKm, double minElevationDeg) {
+    }
+
+    /** One pass over {@code site} (index into the predictor's sites). */
+    public record Pass(int site, long aosMs, long losMs, long maxElevationMs, double maxElevationDeg) {
+    }
+
+    private final int      sites;
+    private final double[] sx, sy, sz;      // site position, Earth-fixed km
+    private final double[] ux, uy, uz;      // local vertical
+    private final double[] sinMin;
+
+    public PassPredictor(List<Site> siteList) {
+        this.sites  = siteList.size();
+        this.sx     = new double[sites];
+        this.sy     = new double[sites];
+        this.sz     = new double[sites];
+        this.ux     = new double[sites];
+        this.uy     = new double[sites];
+        this.uz     = new double[sites];
+        this.sinMin = new double[sites];
+
+        double[] p = new double[3];
+        for (int s = 0; s < sites; s++) {
+            Site site = siteList.get(s);
+            EarthFrames.geodeticToEcef(site.latDeg(), site.lonDeg(), site.altKm(), p, 0);
+            double lat = Math.toRadians(site.latDeg()), lon = Math.toRadians(site.lonDeg());
+            sx[s] = p[0];
+            sy[s] = p[1];
+            sz[s] = p[2];
+            ux[s] = Math.cos(lat) * Math.cos(lon);
+            uy[s] = Math.cos(lat) * Math.sin(lon);
+            uz[s] = Math.sin(lat);
+            sinMin[s] = Math.sin(Math.toRadians(site.minElevationDeg()));
+        }
+    }
+
+    /**
+     * All passes over every site that overlap [startMs, endMs), ordered by site
+     * and AOS. A pass in progress at either end is clipped to the window.
+     */
+    public List<Pass> passes(OrbitPropagator model, long startMs, long endMs, long stepMs) {
+        List<Pass> out = new ArrayList<>();
+        double[] p = new double[3];
+        long[]   aos    = new long[sites];
+        long[]   best   = new long[sites];
+        double[] bestEl = new double[sites];
+        boolean[] up    = new boolean[sites];
+
+        long prev = startMs;
+        for (long t = startMs; ; t = Math.min(t + stepMs, endMs)) {
+            boolean valid = model.ecefAt(t, p, 0);
+            for (int s = 0; s < sites; s++) {
+                double el = valid ? sinElevation(s, p) : Double.NaN;
+                boolean visible = el >= sinMin[s];
+                if (visible && !up[s]) {
+                    up[s]     = true;
+                    aos[s]    = t == startMs ? t : crossing(model, s, prev, t, true);
+                    best[s]   = t;
+                    bestEl[s] = el;
+                } else if (visible && el > bestEl[s]) {
+                    best[s]   = t;
+                    bestEl[s] = el;
+                } else if (!visible && up[s]) {
+                    up[s] = false;
+                    out.add(pass(model, s, aos[s], crossing(model, s, prev, t, false), best[s], stepMs));
+                }
+            }
+            if (t >= endMs) break;
+            prev = t;
+        }
+        for (int s = 0; s < sites; s++) {
+            if (up[s]) out.add(pass(model, s, aos[s], endMs, best[s], stepMs));
+        }
+        out.sort((a, b) -> a.site() != b.site() ? Integer.compare(a.site(), b.site())
+                                                : Long.compare(a.aosMs(), b.aosMs()));
+        return out;
+    }
+
+    private Pass pass(OrbitPropagator model, int s, long aosMs, long losMs, long bestMs, long stepMs) {
+        double[] p = new double[3];
+        double lo = Math.max(aosMs, bestMs - stepMs), hi = Math.min(losMs, bestMs + stepMs);
+        double c = hi - GOLDEN * (hi - lo), d = lo + GOLDEN * (hi - lo);
+        double fc = sinElevationAt(model, s, (long) c, p);
+        double fd = sinElevationAt(model, s, (long) d, p);
+        while (hi - lo > CROSSING_RESOLUTION_MS) {
+            if (fc > fd) {
+                hi = d;
+                d = c;
+                fd = fc;
+                c = hi - GOLDEN * (hi - lo);
+                fc = sinElevationAt(model, s, (long) c, p);
+            } else {
+                lo = c;
+                c = d;
+                fc = fd;
+                d = lo + GOLDEN * (hi - lo);
+                fd = sinElevationAt(model, s, (long) d, p);
+            }
+        }
+        long   tMax  = (long) (fc > fd ? c : d);
+        double sinEl = Math.max(fc, fd);
+        return new Pass(s, aosMs, losMs, tMax, Math.toDegrees(Math.asin(Math.min(1, sinEl))));
+    }
+
+    /** Time in (t0, t1] where site {@code s} gains ({@code rising}) or loses visibility. */
+    private long crossing(OrbitPropagator model, int s, long t0, long t1, boolean rising) {
+        double[] p = new double[3];
+        while (t1 - t0 > CROSSING_RESOLUTION_MS) {
+            long mid = (t0 + t1) >>> 1;
+            boolean visible = sinElevationAt(model, s, mid, p) >= sinMin[s];
+            if (visible == rising) t1 = mid;
+            else                   t0 = mid;
+        }
+        return t1;
+    }
+
+    private double sinElevationAt(OrbitPropagator model, int s, long t, double[] p) {
+        return model.ecefAt(t, p, 0) ? sinElevation(s, p) : Double.NaN;
+    }
+
+    /** Sine of the elevation of Earth-fixed point p above site s's horizon. */
+    private double sinElevation(int s, double[] p) {
+        double dx = p[0] - sx[s], dy = p[1] - sy[s], dz = p[2] - sz[s];
+        return (dx * ux[s] + dy * uy[s] + dz * uz[s]) / Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
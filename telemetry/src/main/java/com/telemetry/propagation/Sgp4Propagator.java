@@ -0,0 +1,314 @@
+// src/main/java/com/telemetry/propagation/Sgp4Propagator.java
+package com.telemetry.propagation;
+
+/**
+ * Near-Earth SGP4 (Hoots &amp; Roehrich, Spacetrack Report #3, as revised by
+ * Vallado et al. 2006) with WGS-72 constants, for orbits with a period under
+ * 225 minutes. Deep-space objects are rejected by {@link #isNearEarth(Tle)} and
+ * are left to {@link KeplerPropagator}.
+ *
+ * All initialization terms are computed once in the constructor; evaluation
+ * allocates nothing.
+ */
+public final class Sgp4Propagator implements OrbitPropagator {
+
+    // WGS-72
+    private static final double MU      = 398600.8;          // km³/s²
+    private static final double RE      = 6378.135;          // km
+    private static final double XKE     = 60.0 / Math.sqrt(RE * RE * RE / MU);
+    private static final double J2      = 0.001082616;
+    private static final double J3      = -0.00000253881;
+    private static final double J4      = -0.00000165597;
+    private static final double J3OJ2   = J3 / J2;
+    private static final double VKMPS   = RE * XKE / 60.0;
+    private static final double X2O3    = 2.0 / 3.0;
+    private static final double TWO_PI  = 2 * Math.PI;
+
+    private final long   epochMs;
+    private final double periodSeconds;
+
+    private final double bstar, ecco, inclo, nodeo, argpo, mo, noUnkozai;
+    private final double ao, eta, cosio, sinio, con41, x1mth2, x7thm1;
+    private final double cc1, cc4, cc5, d2, d3, d4, delmo, sinmao;
+    private final double mdot, argpdot, nodedot, nodecf, omgcof, xmcof, xlcof, aycof;
+    private final double t2cof, t3cof, t4cof, t5cof;
+    private final boolean isimp;
+
+    /** Near-Earth SGP4 applies when the period is below 225 minutes. */
+    public static boolean isNearEarth(Tle tle) {
+        return TWO_PI / unKozai(tle) < 225.0;
+    }
+
+    /**
+     * @throws IllegalArgumentException for deep-space or unphysical element sets
+     */
+    public Sgp4Propagator(Tle tle) {
+        if (!isNearEarth(tle)) {
+            throw new IllegalArgumentException("Deep-space orbit (period >= 225 min) not supported by SGP4 near-Earth model");
+        }
+        this.epochMs = tle.getEpochMs();
+        this.bstar   = tle.getBstar();
+        this.ecco    = tle.getEccentricity();
+        this.inclo   = tle.getInclination();
+        this.nodeo   = tle.getRaan();
+        this.argpo   = tle.getArgPerigee();
+        this.mo      = tle.getMeanAnomaly();
+
+        // initl: recover original mean motion and semi-major axis
+        double eccsq  = ecco * ecco;
+        double omeosq = 1 - eccsq;
+        double rteosq = Math.sqrt(omeosq);
+        this.cosio    = Math.cos(inclo);
+        double cosio2 = cosio * cosio;
+        this.noUnkozai = unKozai(tle);
+        this.ao        = Math.pow(XKE / noUnkozai, X2O3);
+        this.sinio     = Math.sin(inclo);
+        double po      = ao * omeosq;
+        double con42   = 1 - 5 * cosio2;
+        this.con41     = -con42 - cosio2 - cosio2;
+        double posq    = po * po;
+        double rp      = ao * (1 - ecco);
+        if (omeosq <= 0 || noUnkozai <= 0) {
+            throw new IllegalArgumentException("Unphysical element set");
+        }
+
+        this.periodSeconds = TWO_PI / noUnkozai * 60.0;
+        this.isimp = rp < 220.0 / RE + 1.0;
+
+        double sfour  = 78.0 / RE + 1.0;
+        double qzms24 = Math.pow((120.0 - 78.0) / RE, 4);
+        double perige = (rp - 1.0) * RE;
+        if (perige < 156.0) {
+            sfour = perige < 98.0 ? 20.0 : perige - 78.0;
+            qzms24 = Math.pow((120.0 - sfour) / RE, 4);
+            sfour = sfour / RE + 1.0;
+        }
+        double pinvsq = 1.0 / posq;
+        double tsi    = 1.0 / (ao - sfour);
+        this.eta      = ao * ecco * tsi;
+        double etasq  = eta * eta;
+        double eeta   = ecco * eta;
+        double psisq  = Math.abs(1.0 - etasq);
+        double coef   = qzms24 * Math.pow(tsi, 4);
+        double coef1  = coef / Math.pow(psisq, 3.5);
+        double cc2 = coef1 * noUnkozai * (ao * (1.0 + 1.5 * etasq + eeta * (4.0 + etasq))
+                + 0.375 * J2 * tsi / psisq * con41 * (8.0 + 3.0 * etasq * (8.0 + etasq)));
+        this.cc1 = bstar * cc2;
+        double cc3 = ecco > 1.0e-4 ? -2.0 * coef * tsi * J3OJ2 * noUnkozai * sinio / ecco : 0.0;
+        this.x1mth2 = 1.0 - cosio2;
+        this.cc4 = 2.0 * noUnkozai * coef1 * ao * omeosq
+                * (eta * (2.0 + 0.5 * etasq) + ecco * (0.5 + 2.0 * etasq)
+                - J2 * tsi / (ao * psisq) * (-3.0 * con41 * (1.0 - 2.0 * eeta + etasq * (1.5 - 0.5 * eeta))
+                + 0.75 * x1mth2 * (2.0 * etasq - eeta * (1.0 + etasq)) * Math.cos(2.0 * argpo)));
+        this.cc5 = 2.0 * coef1 * ao * omeosq * (1.0 + 2.75 * (etasq + eeta) + eeta * etasq);
+
+        double cosio4 = cosio2 * cosio2;
+        double temp1  = 1.5 * J2 * pinvsq * noUnkozai;
+        double temp2  = 0.5 * temp1 * J2 * pinvsq;
+        double temp3  = -0.46875 * J4 * pinvsq * pinvsq * noUnkozai;
+        this.mdot = noUnkozai + 0.5 * temp1 * rteosq * con41
+                + 0.0625 * temp2 * rteosq * (13.0 - 78.0 * cosio2 + 137.0 * cosio4);
+        this.argpdot = -0.5 * temp1 * con42 + 0.0625 * temp2 * (7.0 - 114.0 * cosio2 + 395.0 * cosio4)
+                + temp3 * (3.0 - 36.0 * cosio2 + 49.0 * cosio4);
+        double xhdot1 = -temp1 * cosio;
+        this.nodedot = xhdot1 + (0.5 * temp2 * (4.0 - 19.0 * cosio2) + 2.0 * temp3 * (3.0 - 7.0 * cosio2)) * cosio;
+        this.omgcof = bstar * cc3 * Math.cos(argpo);
+        this.xmcof  = ecco > 1.0e-4 ? -X2O3 * coef * bstar / eeta : 0.0;
+        this.nodecf = 3.5 * omeosq * xhdot1 * cc1;
+        this.t2cof  = 1.5 * cc1;
+        double denom = Math.abs(cosio + 1.0) > 1.5e-12 ? 1.0 + cosio : 1.5e-12;
+        this.xlcof  = -0.25 * J3OJ2 * sinio * (3.0 + 5.0 * cosio) / denom;
+        this.aycof  = -0.5 * J3OJ2 * sinio;
+        this.delmo  = Math.pow(1.0 + eta * Math.cos(mo), 3);
+        this.sinmao = Math.sin(mo);
+        this.x7thm1 = 7.0 * cosio2 - 1.0;
+
+        if (!isimp) {
+            double cc1sq = cc1 * cc1;
+            this.d2 = 4.0 * ao * tsi * cc1sq;
+            double temp = d2 * tsi * cc1 / 3.0;
+            this.d3 = (17.0 * ao + sfour) * temp;
+            this.d4 = 0.5 * temp * ao * tsi * (221.0 * ao + 31.0 * sfour) * cc1;
+            this.t3cof = d2 + 2.0 * cc1sq;
+            this.t4cof = 0.25 * (3.0 * d3 + cc1 * (12.0 * d2 + 10.0 * cc1sq));
+            this.t5cof = 0.2 * (3.0 * d4 + 12.0 * cc1 * d3 + 6.0 * d2 * d2 + 15.0 * cc1sq * (2.0 * d2 + cc1sq));
+        } else {
+            this.d2 = this.d3 = this.d4 = 0;
+            this.t3cof = this.t4cof = this.t5cof = 0;
+        }
+    }
+
+    /** Brouwer ("un-Kozai'd") mean motion, rad/min. */
+    private static double unKozai(Tle tle) {
+        double noKozai = tle.getMeanMotion();
+        double cosio   = Math.cos(tle.getInclination());
+        double omeosq  = 1 - tle.getEccentricity() * tle.getEccentricity();
+        double ak      = Math.pow(XKE / noKozai, X2O3);
+        double d1      = 0.75 * J2 * (3.0 * cosio * cosio - 1.0) / (Math.sqrt(omeosq) * omeosq);
+        double del     = d1 / (ak * ak);
+        double adel    = ak * (1.0 - del * del - del * (1.0 / 3.0 + 134.0 * del * del / 81.0));
+        del = d1 / (adel * adel);
+        return noKozai / (1.0 + del);
+    }
+
+    @Override
+    public String name() {
+        return "sgp4";
+    }
+
+    @Override
+    public long epochMs() {
+        return epochMs;
+    }
+
+    @Override
+    public double periodSeconds() {
+        return periodSeconds;
+    }
+
+    @Override
+    public boolean geodeticAt(long tMs, double[] out, int off) {
+        if (!teme(tMs, out, off)) return false;
+        double g = EarthFrames.gmst(tMs);
+        EarthFrames.inertialToGeodetic(out[off], out[off + 1], out[off + 2],
+                Math.cos(g), Math.sin(g), out, off);
+        return true;
+    }
+
+    @Override
+    public boolean ecefAt(long tMs, double[] out, int off) {
+        if (!teme(tMs, out, off)) return false;
+        double g = EarthFrames.gmst(tMs);
+        double cos = Math.cos(g), sin = Math.sin(g);
+        double x = out[off], y = out[off + 1];
+        out[off]     =  cos * x + sin * y;
+        out[off + 1] = -sin * x + cos * y;
+        return true;
+    }
+
+    /**
+     * TEME position (km) at {@code tMs} into {@code out[off..off+2]}.
+     * Returns false when the satellite has decayed or the elements went unphysical.
+     */
+    public boolean teme(long tMs, double[] out, int off) {
+        return propagate((tMs - epochMs) / 60_000.0, out, off, false);
+    }
+
+    /**
+     * TEME position (km) and, if {@code withVelocity}, velocity (km/s) at
+     * {@code tsince} minutes from epoch into {@code out[off..off+2]} / {@code out[off+3..off+5]}.
+     */
+    public boolean propagate(double tsince, double[] out, int off, boolean withVelocity) {
+        double t = tsince;
+
+        // secular gravity and atmospheric drag
+        double xmdf   = mo + mdot * t;
+        double argpdf = argpo + argpdot * t;
+        double nodedf = nodeo + nodedot * t;
+        double argpm  = argpdf;
+        double mm     = xmdf;
+        double t2     = t * t;
+        double nodem  = nodedf + nodecf * t2;
+        double tempa  = 1.0 - cc1 * t;
+        double tempe  = bstar * cc4 * t;
+        double templ  = t2cof * t2;
+
+        if (!isimp) {
+            double delomg   = omgcof * t;
+            double delmtemp = 1.0 + eta * Math.cos(xmdf);
+            double delm     = xmcof * (delmtemp * delmtemp * delmtemp - delmo);
+            double temp     = delomg + delm;
+            mm    = xmdf + temp;
+            argpm = argpdf - temp;
+            double t3 = t2 * t;
+            double t4 = t3 * t;
+            tempa = tempa - d2 * t2 - d3 * t3 - d4 * t4;
+            tempe = tempe + bstar * cc5 * (Math.sin(mm) - sinmao);
+            templ = templ + t3cof * t3 + t4 * (t4cof + t * t5cof);
+        }
+
+        double am = Math.pow(XKE / noUnkozai, X2O3) * tempa * tempa;
+        double nm = XKE / Math.pow(am, 1.5);
+        double em = ecco - tempe;
+        if (em >= 1.0 || em < -0.001 || am < 0.95) return false;
+        if (em < 1.0e-6) em = 1.0e-6;
+        mm = mm + noUnkozai * templ;
+        double xlm = mm + argpm + nodem;
+        nodem = nodem % TWO_PI;
+        argpm = argpm % TWO_PI;
+        xlm   = xlm % TWO_PI;
+        mm    = (xlm - argpm - nodem) % TWO_PI;
+
+        // long-period periodics
+        double axnl = em * Math.cos(argpm);
+        double temp = 1.0 / (am * (1.0 - em * em));
+        double aynl = em * Math.sin(argpm) + temp * aycof;
+        double xl   = mm + argpm + nodem + temp * xlcof * axnl;
+
+        // Kepler's equation
+        double u   = (xl - nodem) % TWO_PI;
+        double eo1 = u;
+        double sineo1 = 0, coseo1 = 0;
+        double tem5 = 9999.9;
+        for (int ktr = 0; Math.abs(tem5) >= 1.0e-12 && ktr < 10; ktr++) {
+            sineo1 = Math.sin(eo1);
+            coseo1 = Math.cos(eo1);
+            tem5 = 1.0 - coseo1 * axnl - sineo1 * aynl;
+            tem5 = (u - aynl * coseo1 + axnl * sineo1 - eo1) / tem5;
+            if (Math.abs(tem5) >= 0.95) tem5 = tem5 > 0.0 ? 0.95 : -0.95;
+            eo1 += tem5;
+        }
+
+        // short-period periodics
+        double ecose = axnl * coseo1 + aynl * sineo1;
+        double esine = axnl * sineo1 - aynl * coseo1;
+        double el2   = axnl * axnl + aynl * aynl;
+        double pl    = am * (1.0 - el2);
+        if (pl < 0.0) return false;
+
+        double rl     = am * (1.0 - ecose);
+        double rdotl  = Math.sqrt(am) * esine / rl;
+        double rvdotl = Math.sqrt(pl) / rl;
+        double betal  = Math.sqrt(1.0 - el2);
+        temp = esine / (1.0 + betal);
+        double sinu = am / rl * (sineo1 - aynl - axnl * temp);
+        double cosu = am / rl * (coseo1 - axnl + aynl * temp);
+        double su   = Math.atan2(sinu, cosu);
+        double sin2u = (cosu + cosu) * sinu;
+        double cos2u = 1.0 - 2.0 * sinu * sinu;
+        temp = 1.0 / pl;
+        double temp1 = 0.5 * J2 * temp;
+        double temp2 = temp1 * temp;
+
+        double mrt   = rl * (1.0 - 1.5 * temp2 * betal * con41) + 0.5 * temp1 * x1mth2 * cos2u;
+        su = su - 0.25 * temp2 * x7thm1 * sin2u;
+        double xnode = nodem + 1.5 * temp2 * cosio * sin2u;
+        double xinc  = inclo + 1.5 * temp2 * cosio * sinio * cos2u;
+        if (mrt < 1.0) return false;
+
+        double sinsu = Math.sin(su),    cossu = Math.cos(su);
+        double snod  = Math.sin(xnode), cnod  = Math.cos(xnode);
+        double sini  = Math.sin(xinc),  cosi  = Math.cos(xinc);
+        double xmx = -snod * cosi;
+        double xmy =  cnod * cosi;
+        double ux  = xmx * sinsu + cnod * cossu;
+        double uy  = xmy * sinsu + snod * cossu;
+        double uz  = sini * sinsu;
+
+        out[off]     = mrt * ux * RE;
+        out[off + 1] = mrt * uy * RE;
+        out[off + 2] = mrt * uz * RE;
+
+        if (withVelocity) {
+            double mvt   = rdotl - nm * temp1 * x1mth2 * sin2u / XKE;
+            double rvdot = rvdotl + nm * temp1 * (x1mth2 * cos2u + 1.5 * con41) / XKE;
+            double vx = xmx * cossu - cnod * sinsu;
+            double vy = xmy * cossu - snod * sinsu;
+            double vz = sini * cossu;
+            out[off + 3] = (mvt * ux + rvdot * vx) * VKMPS;
+            out[off + 4] = (mvt * uy + rvdot * vy) * VKMPS;
+            out[off + 5] = (mvt * uz + rvdot * vz) * VKMPS;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+// src/main/java/com/telemetry/propagation/SpatialHash.java
+package com.telemetry.propagation;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid spatial hash over points in structure-of-arrays form, for
+ * all-pairs-within-radius queries in O(n + pairs) instead of O(n²).
+ *
+ * Cells are cubes of the query radius, so every pair within the radius lies in
+ * the same or in one of the 26 neighbouring cells. The table is open addressing
+ * over primitive arrays with per-cell linked lists through {@code next}; one
+ * instance is reused across time steps and is not thread-safe.
+ */
+public final class SpatialHash {
+
+    private static final int  BIAS = 1 << 20;      // cell coordinates in [-2^20, 2^20)
+    private static final long MASK = (1L << 21) - 1;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /** Receives each pair once, with i < j. */
+    public interface PairConsumer {
+        void accept(int i, int j, double distanceSq);
+    }
+
+    private final long[] cellKeys;
+    private final int[]  cellHeads;
+    private final int[]  next;
+    private final long[] pointKeys;
+    private final int    tableMask;
+
+    private double[] x, y, z;
+    private int      n;
+    private double   cell;
+
+    public SpatialHash(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.cellKeys  = new long[size];
+        this.cellHeads = new int[size];
+        this.tableMask = size - 1;
+        this.next      = new int[capacity];
+        this.pointKeys = new long[capacity];
+    }
+
+    /**
+     * Index points {@code [0, n)} into cubes of edge {@code cellSize}. Points with a
+     * NaN coordinate are left out. The arrays are referenced, not copied.
+     */
+    public void build(double[] x, double[] y, double[] z, int n, double cellSize) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.n = n;
+        this.cell = cellSize;
+        Arrays.fill(cellKeys, EMPTY);
+
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i]) || Double.isNaN(z[i])) {
+                pointKeys[i] = EMPTY;
+                continue;
+            }
+            long key = key(cellOf(x[i]), cellOf(y[i]), cellOf(z[i]));
+            pointKeys[i] = key;
+            int slot = slotFor(key);
+            if (cellKeys[slot] == EMPTY) {
+                cellKeys[slot]  = key;
+                cellHeads[slot] = -1;
+            }
+            next[i] = cellHeads[slot];
+            cellHeads[slot] = i;
+        }
+    }
+
+    /** Every pair closer than or equal to {@code radius}, which must not exceed the cell size. */
+    public void forEachPair(double radius, PairConsumer consumer) {
+        double r2 = radius * radius;
+        for (int i = 0; i < n; i++) {
+            if (pointKeys[i] == EMPTY) continue;
+            int cx = cellOf(x[i]), cy = cellOf(y[i]), cz = cellOf(z[i]);
+
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        long key = key(cx + dx, cy + dy, cz + dz);
+                        int slot = find(key);
+                        if (slot < 0) continue;
+                        for (int j = cellHeads[slot]; j >= 0; j = next[j]) {
+                            if (j <= i) continue;
+                            double ddx = x[j] - x[i], ddy = y[j] - y[i], ddz = z[j] - z[i];
+                            double d2 = ddx * ddx + ddy * ddy + ddz * ddz;
+                            if (d2 <= r2) consumer.accept(i, j, d2);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int cellOf(double v) {
+        return (int) Math.floor(v / cell);
+    }
+
+    private static long key(int cx, int cy, int cz) {
+        return ((cx + BIAS) & MASK) << 42 | ((cy + BIAS) & MASK) << 21 | ((cz + BIAS) & MASK);
+    }
+
+    private int slotFor(long key) {
+        int slot = mix(key) & tableMask;
+        while (cellKeys[slot] != EMPTY && cellKeys[slot] != key) {
+            slot = (slot + 1) & tableMask;
+        }
+        return slot;
+    }
+
+    private int find(long key) {
+        int slot = mix(key) & tableMask;
+        while (cellKeys[slot] != EMPTY) {
+            if (cellKeys[slot] == key) return slot;
+            slot = (slot + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,85 @@
+// src/main/java/com/telemetry/propagation/Tle.java
+package com.telemetry.propagation;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Mean elements of a two-line element set, parsed from the fixed columns of the
+ * NORAD format. Angles are in radians, mean motion in rad/min.
+ */
+public final class Tle {
+
+    private static final double DEG = Math.PI / 180.0;
+
+    private final String line1;
+    private final String line2;
+    private final long   catalogNumber;
+    private final long   epochMs;
+    private final double bstar;
+    private final double inclination;
+    private final double raan;
+    private final double eccentricity;
+    private final double argPerigee;
+    private final double meanAnomaly;
+    private final double meanMotion;
+
+    private Tle(String line1, String line2) {
+        this.line1         = line1;
+        this.line2         = line2;
+        this.catalogNumber = Long.parseLong(line1.substring(2, 7).trim());
+
+        int    yy  = Integer.parseInt(line1.substring(18, 20).trim());
+        double day = Double.parseDouble(line1.substring(20, 32).trim());
+        int year = yy < 57 ? 2000 + yy : 1900 + yy;
+        long jan1 = LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        this.epochMs = jan1 + Math.round((day - 1.0) * 86_400_000.0);
+
+        this.bstar        = impliedDecimal(line1.substring(53, 61));
+        this.inclination  = Double.parseDouble(line2.substring(8, 16).trim()) * DEG;
+        this.raan         = Double.parseDouble(line2.substring(17, 25).trim()) * DEG;
+        this.eccentricity = Double.parseDouble("0." + line2.substring(26, 33).trim());
+        this.argPerigee   = Double.parseDouble(line2.substring(34, 42).trim()) * DEG;
+        this.meanAnomaly  = Double.parseDouble(line2.substring(43, 51).trim()) * DEG;
+        this.meanMotion   = Double.parseDouble(line2.substring(52, 63).trim()) * 2 * Math.PI / 1440.0;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the lines are not a valid TLE
+     */
+    public static Tle parse(String line1, String line2) {
+        if (line1 == null || line2 == null
+                || line1.length() < 63 || line2.length() < 63
+                || line1.charAt(0) != '1' || line2.charAt(0) != '2') {
+            throw new IllegalArgumentException("Not a two-line element set");
+        }
+        try {
+            return new Tle(line1, line2);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed TLE: " + e.getMessage(), e);
+        }
+    }
+
+    /** " 28098-4" → 0.28098e-4 */
+    private static double impliedDecimal(String field) {
+        String f = field.trim();
+        if (f.isEmpty()) return 0;
+        int exp = f.length() - 2;
+        char sign = f.charAt(0);
+        String mantissa = (sign == '-' || sign == '+') ? f.substring(1, exp) : f.substring(0, exp);
+        double value = Double.parseDouble("0." + mantissa) * Math.pow(10, Integer.parseInt(f.substring(exp)));
+        return sign == '-' ? -value : value;
+    }
+
+    public String getLine1()         { return line1; }
+    public String getLine2()         { return line2; }
+    public long   getCatalogNumber() { return catalogNumber; }
+    public long   getEpochMs()       { return epochMs; }
+    public double getBstar()         { return bstar; }
+    public double getInclination()   { return inclination; }
+    public double getRaan()          { return raan; }
+    public double getEccentricity()  { return eccentricity; }
+    public double getArgPerigee()    { return argPerigee; }
+    public double getMeanAnomaly()   { return meanAnomaly; }
+    public double getMeanMotion()    { return meanMotion; }
+}
@@ -0,0 +1,13 @@
+// src/main/java/com/telemetry/repository/GroundStationRepository.java
+package com.telemetry.repository;
+
+import com.telemetry.model.GroundStation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GroundStationRepository
+        extends JpaRepository<GroundStation, Long> {
+
+    boolean existsByName(String name);
+}
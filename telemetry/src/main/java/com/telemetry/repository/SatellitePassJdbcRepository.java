@@ -0,0 +1,75 @@
+// src/main/java/com/telemetry/repository/SatellitePassJdbcRepository.java
+package com.telemetry.repository;
+
+import com.telemetry.dto.SatellitePass;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain-JDBC access to satellite_pass: every recompute replaces all upcoming
+ * passes in one batched transaction.
+ */
+@Repository
+public class SatellitePassJdbcRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO satellite_pass (
+            station_id, external_id, aos, los, max_elevation_at, max_elevation_deg
+        ) VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (station_id, aos, external_id) DO NOTHING
+        """;
+
+    private static final String DELETE_UPCOMING_SQL = """
+        DELETE FROM satellite_pass
+         WHERE los >= ?
+        """;
+
+    private static final String UPCOMING_SQL = """
+        SELECT station_id, external_id, aos, los, max_elevation_at, max_elevation_deg
+          FROM satellite_pass
+         WHERE los >= ?
+         ORDER BY station_id, aos
+        """;
+
+    private static final RowMapper<SatellitePass> ROW_MAPPER = (rs, i) -> new SatellitePass(
+            rs.getLong("station_id"),
+            rs.getLong("external_id"),
+            rs.getTimestamp("aos"),
+            rs.getTimestamp("los"),
+            rs.getTimestamp("max_elevation_at"),
+            rs.getDouble("max_elevation_deg")
+    );
+
+    private final JdbcTemplate jdbc;
+
+    public SatellitePassJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Replace every pass that has not ended by {@code from} with {@code passes}.
+     * Passes that already ended are kept as history.
+     */
+    @Transactional
+    public void replaceUpcoming(Timestamp from, List<SatellitePass> passes, int batchSize) {
+        jdbc.update(DELETE_UPCOMING_SQL, from);
+        jdbc.batchUpdate(INSERT_SQL, passes, batchSize, (ps, p) -> {
+            ps.setLong(1, p.getStationId());
+            ps.setLong(2, p.getExternalId());
+            ps.setTimestamp(3, p.getAos());
+            ps.setTimestamp(4, p.getLos());
+            ps.setTimestamp(5, p.getMaxElevationAt());
+            ps.setDouble(6, p.getMaxElevationDeg());
+        });
+    }
+
+    /** Passes that have not ended by {@code from}, by station and AOS. */
+    public List<SatellitePass> findUpcoming(Timestamp from) {
+        return jdbc.query(UPCOMING_SQL, ROW_MAPPER, from);
+    }
+}
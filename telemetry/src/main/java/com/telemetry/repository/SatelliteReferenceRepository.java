@@ -5,6 +5,7 @@ import com.telemetry.model.SatelliteReference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +17,7 @@ public interface SatelliteReferenceRepository
 
     SatelliteReference findByExternalId(long externalId);
     List<SatelliteReference> findByEnterpriseId(UUID enterpriseId);
+    List<SatelliteReference> findByExternalIdIn(Collection<Long> externalIds);
 
     long countByEnterpriseId(UUID enterpriseId);
 }
@@ -0,0 +1,11 @@
+// src/main/java/com/telemetry/repository/SatelliteTleRepository.java
+package com.telemetry.repository;
+
+import com.telemetry.model.SatelliteTle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SatelliteTleRepository
+        extends JpaRepository<SatelliteTle, Long> {
+}
@@ -0,0 +1,486 @@
+// src/main/java/com/telemetry/repository/TrajectoryJdbcRepository.java
+package com.telemetry.repository;
+
+import com.telemetry.dto.ColumnarTimeSeries;
+import com.telemetry.dto.PositionWindows;
+import com.telemetry.dto.TelemetrySummaryDTO;
+import com.telemetry.dto.TrajectoryDataKey;
+import com.telemetry.dto.TrajectoryStatistics;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.propagation.GeodeticTrack;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Plain-JDBC access to trajectory_data for the paths where JPA is too heavy:
+ * bulk ingest and Timescale-specific SQL.
+ */
+@Repository
+public class TrajectoryJdbcRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO trajectory_data (
+            external_id, timestamp,
+            position_x, position_y, position_z,
+            velocity_x, velocity_y, velocity_z, velocity,
+            acceleration, orbit_radius,
+            sat_latitude, sat_longitude, sat_altitude,
+            azimuth, elevation, right_ascension, declination
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (external_id, timestamp) DO NOTHING
+        """;
+
+    private static final String RANGE_SQL = """
+        SELECT *
+          FROM trajectory_data
+         WHERE external_id = ?
+           AND timestamp BETWEEN ? AND ?
+         ORDER BY timestamp
+        """;
+
+    private static final String LATEST_PER_SATELLITE_SQL = """
+        SELECT DISTINCT ON (external_id) *
+          FROM trajectory_data
+         ORDER BY external_id, timestamp DESC
+        """;
+
+    /**
+     * Newest N rows per satellite for a set of satellites: one LIMITed backward
+     * index scan per id instead of one query per satellite.
+     */
+    private static final String LATEST_WINDOWS_SQL = """
+        SELECT ids.external_id, w.timestamp, w.sat_latitude, w.sat_longitude, w.sat_altitude
+          FROM unnest(?::bigint[]) AS ids(external_id)
+         CROSS JOIN LATERAL (
+                SELECT timestamp, sat_latitude, sat_longitude, sat_altitude
+                  FROM trajectory_data t
+                 WHERE t.external_id = ids.external_id
+                 ORDER BY t.timestamp DESC
+                 LIMIT ?
+               ) w
+         WHERE w.sat_latitude IS NOT NULL
+         ORDER BY ids.external_id, w.timestamp
+        """;
+
+    /**
+     * Latest row (one LIMIT 1 index probe per satellite, like LATEST_WINDOWS_SQL)
+     * and 24h point count (grouped) for every satellite of one enterprise, in a
+     * single statement.
+     */
+    private static final String ENTERPRISE_SUMMARY_SQL = """
+        WITH refs AS (
+            SELECT external_id, spacecraft_name
+              FROM satellite_reference
+             WHERE enterprise_id = ?
+        ),
+        counts AS (
+            SELECT t.external_id, count(*) AS points_24h
+              FROM trajectory_data t
+              JOIN refs r ON r.external_id = t.external_id
+             WHERE t.timestamp > ?
+             GROUP BY t.external_id
+        )
+        SELECT r.external_id, r.spacecraft_name,
+               l.timestamp, l.position_x, l.position_y, l.position_z,
+               l.velocity, l.orbit_radius,
+               COALESCE(c.points_24h, 0) AS points_24h
+          FROM refs r
+          LEFT JOIN LATERAL (
+                SELECT t.timestamp,
+                       t.position_x, t.position_y, t.position_z,
+                       t.velocity, t.orbit_radius
+                  FROM trajectory_data t
+                 WHERE t.external_id = r.external_id
+                 ORDER BY t.timestamp DESC
+                 LIMIT 1
+               ) l ON true
+          LEFT JOIN counts c ON c.external_id = r.external_id
+         ORDER BY r.external_id
+        """;
+
+    /**
+     * Whole-history statistics of one satellite: closed days come from
+     * trajectory_stats_daily, closed hours of the current day from
+     * trajectory_stats_hourly, and only the open hour is aggregated from raw rows.
+     * The 24h window uses whole hourly buckets plus raw rows for its two partial hours.
+     */
+    private static final String STATISTICS_SQL = """
+        WITH bounds AS (
+            SELECT time_bucket(INTERVAL '1 day',  CAST(:now AS timestamp)) AS day_start,
+                   time_bucket(INTERVAL '1 hour', CAST(:now AS timestamp)) AS hour_start,
+                   CAST(:now AS timestamp) - INTERVAL '24 hours'           AS cutoff
+        ),
+        parts AS (
+            SELECT d.points, d.first_ts, d.last_ts,
+                   d.velocity_min, d.velocity_max, d.velocity_sum,
+                   d.acceleration_min, d.acceleration_max, d.acceleration_sum,
+                   d.altitude_points, d.altitude_min, d.altitude_max, d.altitude_sum
+              FROM trajectory_stats_daily d, bounds b
+             WHERE d.external_id = :externalId
+               AND d.bucket < b.day_start
+            UNION ALL
+            SELECT h.points, h.first_ts, h.last_ts,
+                   h.velocity_min, h.velocity_max, h.velocity_sum,
+                   h.acceleration_min, h.acceleration_max, h.acceleration_sum,
+                   h.altitude_points, h.altitude_min, h.altitude_max, h.altitude_sum
+              FROM trajectory_stats_hourly h, bounds b
+             WHERE h.external_id = :externalId
+               AND h.bucket >= b.day_start
+               AND h.bucket <  b.hour_start
+            UNION ALL
+            SELECT count(*), min(t.timestamp), max(t.timestamp),
+                   min(t.velocity), max(t.velocity), sum(t.velocity),
+                   min(t.acceleration), max(t.acceleration), sum(t.acceleration),
+                   count(t.sat_altitude), min(t.sat_altitude), max(t.sat_altitude), sum(t.sat_altitude)
+              FROM trajectory_data t, bounds b
+             WHERE t.external_id = :externalId
+               AND t.timestamp >= b.hour_start
+        ),
+        recent AS (
+            SELECT h.points, h.velocity_sum
+              FROM trajectory_stats_hourly h, bounds b
+             WHERE h.external_id = :externalId
+               AND h.bucket >= time_bucket(INTERVAL '1 hour', b.cutoff) + INTERVAL '1 hour'
+               AND h.bucket <  b.hour_start
+            UNION ALL
+            SELECT count(*), sum(t.velocity)
+              FROM trajectory_data t, bounds b
+             WHERE t.external_id = :externalId
+               AND ((t.timestamp > b.cutoff
+                     AND t.timestamp < time_bucket(INTERVAL '1 hour', b.cutoff) + INTERVAL '1 hour')
+                    OR t.timestamp >= b.hour_start)
+        )
+        SELECT sum(p.points)                                          AS points,
+               min(p.first_ts)                                        AS first_ts,
+               max(p.last_ts)                                         AS last_ts,
+               min(p.velocity_min)                                    AS velocity_min,
+               max(p.velocity_max)                                    AS velocity_max,
+               sum(p.velocity_sum) / NULLIF(sum(p.points), 0)         AS velocity_avg,
+               min(p.acceleration_min)                                AS acceleration_min,
+               max(p.acceleration_max)                                AS acceleration_max,
+               sum(p.acceleration_sum) / NULLIF(sum(p.points), 0)     AS acceleration_avg,
+               sum(p.altitude_points)                                 AS altitude_points,
+               min(p.altitude_min)                                    AS altitude_min,
+               max(p.altitude_max)                                    AS altitude_max,
+               sum(p.altitude_sum) / NULLIF(sum(p.altitude_points), 0) AS altitude_avg,
+               (SELECT sum(r.points) FROM recent r)                   AS points_24h,
+               (SELECT sum(r.velocity_sum) / NULLIF(sum(r.points), 0)
+                  FROM recent r)                                      AS velocity_avg_24h
+          FROM parts p
+        """;
+
+    /**
+     * One row per time_bucket of the range. Geometric fields (position, lat/lon,
+     * pointing) take the bucket's first sample so they stay on the orbit; scalars
+     * are averaged. The row's timestamp is that first sample's.
+     */
+    private static final String BUCKETED_RANGE_SQL = """
+        SELECT external_id,
+               min(timestamp)                      AS timestamp,
+               first(position_x, timestamp)        AS position_x,
+               first(position_y, timestamp)        AS position_y,
+               first(position_z, timestamp)        AS position_z,
+               avg(velocity_x)                     AS velocity_x,
+               avg(velocity_y)                     AS velocity_y,
+               avg(velocity_z)                     AS velocity_z,
+               avg(velocity)                       AS velocity,
+               avg(acceleration)                   AS acceleration,
+               avg(orbit_radius)                   AS orbit_radius,
+               first(sat_latitude, timestamp)      AS sat_latitude,
+               first(sat_longitude, timestamp)     AS sat_longitude,
+               avg(sat_altitude)                   AS sat_altitude,
+               first(azimuth, timestamp)           AS azimuth,
+               first(elevation, timestamp)         AS elevation,
+               first(right_ascension, timestamp)   AS right_ascension,
+               first(declination, timestamp)       AS declination
+          FROM trajectory_data
+         WHERE external_id = :externalId
+           AND timestamp BETWEEN :start AND :end
+         GROUP BY external_id, time_bucket(make_interval(secs => :bucketSeconds), timestamp)
+         ORDER BY min(timestamp)
+        """;
+
+    private static final RowMapper<TrajectoryData> ROW_MAPPER = (rs, i) -> new TrajectoryData(
+            new TrajectoryDataKey(rs.getLong("external_id"), rs.getTimestamp("timestamp")),
+            rs.getFloat("position_x"),
+            rs.getFloat("position_y"),
+            rs.getFloat("position_z"),
+            rs.getFloat("velocity_x"),
+            rs.getFloat("velocity_y"),
+            rs.getFloat("velocity_z"),
+            rs.getFloat("velocity"),
+            rs.getFloat("acceleration"),
+            rs.getFloat("orbit_radius"),
+            getNullableFloat(rs, "sat_latitude"),
+            getNullableFloat(rs, "sat_longitude"),
+            getNullableFloat(rs, "sat_altitude"),
+            getNullableFloat(rs, "azimuth"),
+            getNullableFloat(rs, "elevation"),
+            getNullableFloat(rs, "right_ascension"),
+            getNullableFloat(rs, "declination")
+    );
+
+    private final JdbcTemplate               jdbc;
+    private final NamedParameterJdbcTemplate named;
+
+    @Value("${telemetry.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public TrajectoryJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc  = jdbc;
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    /**
+     * Insert all rows as JDBC batches of {@code batchSize} in a single transaction.
+     * Rows whose (external_id, timestamp) already exist are skipped, so no
+     * select-before-insert is needed.
+     */
+    @Transactional
+    public void batchInsert(List<TrajectoryData> rows, int batchSize) {
+        jdbc.batchUpdate(INSERT_SQL, rows, batchSize, this::bind);
+    }
+
+    /**
+     * Hand every row of [start…end] to {@code sink} in timestamp order as it is read.
+     * Runs in a transaction so the driver uses a server-side cursor and fetches
+     * {@code telemetry.export.fetch-size} rows at a time: memory stays constant
+     * whatever the length of the history.
+     */
+    @Transactional
+    public void streamRange(long externalId, Timestamp start, Timestamp end, Consumer<TrajectoryData> sink) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(RANGE_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, externalId);
+            ps.setTimestamp(2, start);
+            ps.setTimestamp(3, end);
+            return ps;
+        }, (RowCallbackHandler) rs -> sink.accept(ROW_MAPPER.mapRow(rs, 0)));
+    }
+
+    /**
+     * Newest row of every satellite in one pass (DISTINCT ON over the
+     * (external_id, timestamp) primary key).
+     */
+    public List<TrajectoryData> findLatestPerSatellite() {
+        return jdbc.query(LATEST_PER_SATELLITE_SQL, ROW_MAPPER);
+    }
+
+    /**
+     * One summary entry per satellite of the enterprise; satellites without any
+     * telemetry come back with currentlyTracked = false.
+     */
+    public List<TelemetrySummaryDTO.SpacecraftTelemetry> findEnterpriseSummary(UUID enterpriseId,
+                                                                               Timestamp since) {
+        return jdbc.query(ENTERPRISE_SUMMARY_SQL, (rs, i) -> {
+            TelemetrySummaryDTO.SpacecraftTelemetry entry = new TelemetrySummaryDTO.SpacecraftTelemetry();
+            entry.setExternalId(rs.getLong("external_id"));
+            entry.setSpacecraftName(rs.getString("spacecraft_name"));
+
+            Timestamp ts = rs.getTimestamp("timestamp");
+            if (ts != null) {
+                entry.setCurrentPosition(Map.of(
+                        "x", rs.getFloat("position_x"),
+                        "y", rs.getFloat("position_y"),
+                        "z", rs.getFloat("position_z")
+                ));
+                entry.setCurrentVelocity(rs.getFloat("velocity"));
+                entry.setCurrentOrbitRadius(rs.getFloat("orbit_radius"));
+                entry.setTimestamp(ts.toString());
+                entry.setDataPointsLast24h(rs.getLong("points_24h"));
+                entry.setCurrentlyTracked(true);
+            } else {
+                entry.setCurrentPosition(Map.of());
+                entry.setCurrentVelocity(0f);
+                entry.setCurrentOrbitRadius(0f);
+                entry.setTimestamp(null);
+                entry.setDataPointsLast24h(0L);
+                entry.setCurrentlyTracked(false);
+            }
+            return entry;
+        }, enterpriseId, since);
+    }
+
+    /**
+     * Single scan of [start…end] reading only the timestamp and the given columns
+     * straight into primitive arrays, with no entity per row. Keys of
+     * {@code columnsByParameter} name the series, values are trajectory_data
+     * columns and must come from a fixed whitelist. NULLs read as 0.
+     */
+    public ColumnarTimeSeries findColumns(long externalId, Timestamp start, Timestamp end,
+                                          Map<String, String> columnsByParameter) {
+        List<String> names = new ArrayList<>(columnsByParameter.keySet());
+        StringBuilder sql = new StringBuilder("SELECT timestamp");
+        for (String name : names) {
+            sql.append(", COALESCE(").append(columnsByParameter.get(name)).append(", 0)");
+        }
+        sql.append(" FROM trajectory_data WHERE external_id = ? AND timestamp BETWEEN ? AND ? ORDER BY timestamp");
+
+        int width = names.size();
+        long[][]  ts   = { new long[1024] };
+        float[][] cols = new float[width][1024];
+        int[]     n    = { 0 };
+
+        jdbc.query(sql.toString(), rs -> {
+            int i = n[0];
+            if (i == ts[0].length) {
+                ts[0] = Arrays.copyOf(ts[0], i * 2);
+                for (int c = 0; c < width; c++) cols[c] = Arrays.copyOf(cols[c], i * 2);
+            }
+            ts[0][i] = rs.getTimestamp(1).getTime();
+            for (int c = 0; c < width; c++) {
+                cols[c][i] = rs.getFloat(c + 2);
+            }
+            n[0] = i + 1;
+        }, externalId, start, end);
+
+        Map<String, float[]> values = new LinkedHashMap<>();
+        for (int c = 0; c < width; c++) {
+            values.put(names.get(c), Arrays.copyOf(cols[c], n[0]));
+        }
+        return new ColumnarTimeSeries(Arrays.copyOf(ts[0], n[0]), values);
+    }
+
+    /**
+     * The newest {@code windowSize} rows (those with a position) of each satellite,
+     * read in one statement into primitive arrays. {@code externalIds} are
+     * returned sorted.
+     */
+    public PositionWindows findLatestWindows(long[] externalIds, int windowSize) {
+        long[] ids = externalIds.clone();
+        Arrays.sort(ids);
+        int capacity = ids.length * windowSize;
+        GeodeticTrack track = GeodeticTrack.allocate(capacity);
+        int[] counts = new int[ids.length];
+        int[] n      = { 0 };
+        int[] cursor = { 0 };
+
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LATEST_WINDOWS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", Arrays.stream(ids).boxed().toArray()));
+            ps.setInt(2, windowSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            while (ids[cursor[0]] != id) cursor[0]++;
+            int i = n[0]++;
+            counts[cursor[0]]++;
+            track.timesMs()[i] = rs.getTimestamp(2).getTime();
+            track.lat()[i]     = rs.getDouble(3);
+            track.lon()[i]     = rs.getDouble(4);
+            track.alt()[i]     = rs.getDouble(5);
+        });
+
+        int[] offsets = new int[ids.length + 1];
+        for (int i = 0; i < ids.length; i++) {
+            offsets[i + 1] = offsets[i] + counts[i];
+        }
+        return new PositionWindows(ids, offsets, track);
+    }
+
+    /**
+     * Range of one satellite reduced to one row per {@code bucketMs} bucket, so the
+     * number of rows returned is bounded by range / bucket width.
+     */
+    public List<TrajectoryData> findBucketed(long externalId, Timestamp start, Timestamp end, long bucketMs) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("externalId",    externalId)
+                .addValue("start",         start)
+                .addValue("end",           end)
+                .addValue("bucketSeconds", bucketMs / 1000.0);
+        return named.query(BUCKETED_RANGE_SQL, params, ROW_MAPPER);
+    }
+
+    /**
+     * Statistics over the full history of one satellite as of {@code now};
+     * empty when the satellite has no telemetry.
+     */
+    public Optional<TrajectoryStatistics> findStatistics(long externalId, Timestamp now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("externalId", externalId)
+                .addValue("now",        now);
+
+        return named.query(STATISTICS_SQL, params, rs -> {
+            if (!rs.next() || rs.getLong("points") == 0) {
+                return Optional.empty();
+            }
+            TrajectoryStatistics s = new TrajectoryStatistics();
+            s.setPoints(rs.getLong("points"));
+            s.setFirst(rs.getTimestamp("first_ts"));
+            s.setLast(rs.getTimestamp("last_ts"));
+            s.setVelocityMin(rs.getDouble("velocity_min"));
+            s.setVelocityMax(rs.getDouble("velocity_max"));
+            s.setVelocityAvg(rs.getDouble("velocity_avg"));
+            s.setAccelerationMin(rs.getDouble("acceleration_min"));
+            s.setAccelerationMax(rs.getDouble("acceleration_max"));
+            s.setAccelerationAvg(rs.getDouble("acceleration_avg"));
+            s.setAltitudePoints(rs.getLong("altitude_points"));
+            s.setAltitudeMin(getNullableDouble(rs, "altitude_min"));
+            s.setAltitudeMax(getNullableDouble(rs, "altitude_max"));
+            s.setAltitudeAvg(getNullableDouble(rs, "altitude_avg"));
+            s.setPointsLast24h(rs.getLong("points_24h"));
+            s.setAvgVelocityLast24h(getNullableDouble(rs, "velocity_avg_24h"));
+            return Optional.of(s);
+        });
+    }
+
+    private void bind(PreparedStatement ps, TrajectoryData d) throws SQLException {
+        ps.setLong(1, d.getExternalId());
+        ps.setTimestamp(2, d.getTimestamp());
+        ps.setFloat(3, d.getPositionX());
+        ps.setFloat(4, d.getPositionY());
+        ps.setFloat(5, d.getPositionZ());
+        ps.setFloat(6, d.getVelocityX());
+        ps.setFloat(7, d.getVelocityY());
+        ps.setFloat(8, d.getVelocityZ());
+        ps.setFloat(9, d.getVelocity());
+        ps.setFloat(10, d.getAcceleration());
+        ps.setFloat(11, d.getOrbitRadius());
+        setNullableFloat(ps, 12, d.getSatLatitude());
+        setNullableFloat(ps, 13, d.getSatLongitude());
+        setNullableFloat(ps, 14, d.getSatAltitude());
+        setNullableFloat(ps, 15, d.getAzimuth());
+        setNullableFloat(ps, 16, d.getElevation());
+        setNullableFloat(ps, 17, d.getRightAscension());
+        setNullableFloat(ps, 18, d.getDeclination());
+    }
+
+    private static Float getNullableFloat(ResultSet rs, String column) throws SQLException {
+        float value = rs.getFloat(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double getNullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static void setNullableFloat(PreparedStatement ps, int idx, Float value) throws SQLException {
+        if (value != null) {
+            ps.setFloat(idx, value);
+        } else {
+            ps.setNull(idx, Types.REAL);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+// src/main/java/com/telemetry/service/ConjunctionService.java
+package com.telemetry.service;
+
+import com.telemetry.config.KafkaConfig;
+import com.telemetry.dto.Conjunction;
+import com.telemetry.model.SatelliteReference;
+import com.telemetry.propagation.ConjunctionScreener;
+import com.telemetry.propagation.OrbitPropagator;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Close-approach screening across every tracked satellite.
+ *
+ * Only satellites with a usable TLE are screened, with SGP4: the Kepler
+ * fallback does not model Earth rotation, so its Earth-fixed positions drift
+ * from true ones by thousands of km over a day (see PassService).
+ * ConjunctionScreener sweeps the models over the horizon with a spatial hash
+ * per time step. The background run uses the prediction pool and publishes
+ * newly found approaches to TOPIC_TELEMETRY_ALERT, once per operator involved;
+ * on-demand screens run on a pool of their own of
+ * telemetry.conjunction.on-demand-parallelism threads, so requests cannot
+ * starve fleet predictions.
+ */
+@Service
+public class ConjunctionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConjunctionService.class);
+
+    private final SatelliteReferenceRepository  referenceRepo;
+    private final TleService                    tleService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ForkJoinPool                  pool;
+    private final ForkJoinPool                  onDemandPool;
+
+    @Value("${telemetry.conjunction.threshold-km:5}")
+    private double defaultThresholdKm;
+
+    @Value("${telemetry.conjunction.max-threshold-km:50}")
+    private double maxThresholdKm;
+
+    @Value("${telemetry.conjunction.horizon-hours:24}")
+    private double defaultHorizonHours;
+
+    @Value("${telemetry.conjunction.max-horizon-hours:72}")
+    private double maxHorizonHours;
+
+    @Value("${telemetry.conjunction.step-seconds:10}")
+    private int stepSeconds;
+
+    /** Closing speed bound (km/s) that sizes the per-step screening radius */
+    @Value("${telemetry.conjunction.max-relative-speed:16}")
+    private double maxRelativeSpeed;
+
+    private volatile List<Conjunction> latest = List.of();
+    private Set<String> published = new HashSet<>();
+
+    public ConjunctionService(SatelliteReferenceRepository referenceRepo,
+                              TleService tleService,
+                              KafkaTemplate<String, Object> kafkaTemplate,
+                              ForkJoinPool predictionPool,
+                              @Value("${telemetry.conjunction.on-demand-parallelism:1}") int onDemandParallelism) {
+        this.referenceRepo = referenceRepo;
+        this.tleService    = tleService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.pool          = predictionPool;
+        this.onDemandPool  = new ForkJoinPool(Math.max(1, onDemandParallelism));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        onDemandPool.shutdownNow();
+    }
+
+    /** Result of the last background screening. */
+    public List<Conjunction> latest() {
+        return latest;
+    }
+
+    public double maxHorizonHours() {
+        return maxHorizonHours;
+    }
+
+    public double maxThresholdKm() {
+        return maxThresholdKm;
+    }
+
+    /**
+     * Approaches closer than {@code thresholdKm} within {@code hours} from now,
+     * sorted by time of closest approach; computed on the on-demand pool.
+     */
+    public List<Conjunction> screen(double thresholdKm, double hours) {
+        return screen(thresholdKm, hours, onDemandPool);
+    }
+
+    private List<Conjunction> screen(double thresholdKm, double hours, ForkJoinPool executor) {
+        Map<Long, UUID> operatorOf = new HashMap<>();
+        List<Long> idList = new ArrayList<>();
+        List<OrbitPropagator> modelList = new ArrayList<>();
+        for (SatelliteReference ref : referenceRepo.findAll()) {
+            if (operatorOf.containsKey(ref.getExternalId())) continue;
+            operatorOf.put(ref.getExternalId(), ref.getEnterpriseId());
+            tleService.sgp4For(ref.getExternalId()).ifPresent(m -> {
+                idList.add(ref.getExternalId());
+                modelList.add(m);
+            });
+        }
+        if (modelList.size() < 2) return List.of();
+
+        long[] ids = idList.stream().mapToLong(Long::longValue).toArray();
+        OrbitPropagator[] models = modelList.toArray(OrbitPropagator[]::new);
+
+        long stepMs = stepSeconds * 1000L;
+        int  steps  = (int) Math.ceil(hours * 3_600_000 / stepMs);
+        long started = System.nanoTime();
+        List<ConjunctionScreener.Approach> approaches = ConjunctionScreener.screen(
+                models, System.currentTimeMillis(), stepMs, steps, thresholdKm, maxRelativeSpeed, executor);
+        log.debug("Screened {} of {} satellites (those with a TLE) over {} h in {} ms: {} approaches",
+                ids.length, operatorOf.size(), hours, (System.nanoTime() - started) / 1_000_000, approaches.size());
+
+        List<Conjunction> out = new ArrayList<>(approaches.size());
+        for (ConjunctionScreener.Approach ap : approaches) {
+            long a = ids[ap.a()], b = ids[ap.b()];
+            out.add(new Conjunction(a, b, operatorOf.get(a), operatorOf.get(b),
+                    new Timestamp(ap.tcaMs()), ap.missKm(), thresholdKm));
+        }
+        return out;
+    }
+
+    /**
+     * Screen with the configured threshold and horizon, keep the result for the
+     * REST endpoint and alert on approaches not reported by the previous run.
+     */
+    @Scheduled(fixedDelayString   = "${telemetry.conjunction.interval:900000}",
+               initialDelayString = "${telemetry.conjunction.initial-delay:120000}")
+    public void screenAndPublish() {
+        try {
+            List<Conjunction> found = screen(defaultThresholdKm, defaultHorizonHours, pool);
+            latest = found;
+
+            Set<String> keys = new HashSet<>();
+            for (Conjunction c : found) {
+                String key = c.getPrimaryId() + ":" + c.getSecondaryId() + ":" + c.getTca().getTime() / 60_000;
+                keys.add(key);
+                if (!published.contains(key)) {
+                    publish(c);
+                }
+            }
+            published = keys;
+        } catch (Exception e) {
+            log.error("Conjunction screening failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void publish(Conjunction c) {
+        Map<String, Object> alert = new HashMap<>();
+        alert.put("type",           "CONJUNCTION");
+        alert.put("primaryId",      c.getPrimaryId());
+        alert.put("secondaryId",    c.getSecondaryId());
+        alert.put("tca",            c.getTca());
+        alert.put("missDistanceKm", c.getMissDistanceKm());
+        alert.put("thresholdKm",    c.getThresholdKm());
+
+        Set<UUID> operators = new LinkedHashSet<>();
+        operators.add(c.getPrimaryOperatorId());
+        operators.add(c.getSecondaryOperatorId());
+        for (UUID operatorId : operators) {
+            if (operatorId == null) continue;
+            kafkaTemplate.send(KafkaConfig.TOPIC_TELEMETRY_ALERT, operatorId.toString(), alert)
+                    .whenComplete((meta, ex) -> {
+                        if (ex != null) {
+                            log.error("Failed to send conjunction alert for operator {}: {}",
+                                    operatorId, ex.getMessage(), ex);
+                        }
+                    });
+        }
+    }
+}
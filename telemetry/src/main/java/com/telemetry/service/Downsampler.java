@@ -0,0 +1,74 @@
+// src/main/java/com/telemetry/service/Downsampler.java
+package com.telemetry.service;
+
+/**
+ * Largest-Triangle-Three-Buckets (Steinarsson, 2013) point selection.
+ *
+ * Keeps the first and last point and, from each of {@code threshold - 2} equal
+ * buckets in between, the point forming the largest triangle with the point kept
+ * from the previous bucket and the average of the next bucket. Peaks and troughs
+ * survive, unlike evenly spaced picks.
+ */
+public final class Downsampler {
+
+    private Downsampler() {
+    }
+
+    /**
+     * Indices (ascending) of the points to keep; all indices when
+     * {@code threshold >= n} or {@code threshold < 3}.
+     *
+     * @param x ascending x values (epoch millis)
+     * @param y y values, same length as {@code x}
+     */
+    public static int[] lttb(long[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        int[] keep = new int[threshold];
+        double every = (double) (n - 2) / (threshold - 2);
+        long x0 = x[0];
+        int a = 0;
+        keep[0] = 0;
+
+        for (int b = 0; b < threshold - 2; b++) {
+            // average of the next bucket (or the last point for the final bucket)
+            int nextStart = (int) Math.floor((b + 1) * every) + 1;
+            int nextEnd   = Math.min((int) Math.floor((b + 2) * every) + 1, n);
+            if (nextStart >= n - 1) {
+                nextStart = n - 1;
+                nextEnd   = n;
+            }
+            double avgX = 0, avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += x[j] - x0;
+                avgY += y[j];
+            }
+            int cnt = nextEnd - nextStart;
+            avgX /= cnt;
+            avgY /= cnt;
+
+            int start = (int) Math.floor(b * every) + 1;
+            int end   = (int) Math.floor((b + 1) * every) + 1;
+            double ax = x[a] - x0, ay = y[a];
+            double maxArea = -1;
+            int picked = start;
+            for (int j = start; j < end; j++) {
+                double area = Math.abs((ax - avgX) * (y[j] - ay) - (ax - (x[j] - x0)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    picked  = j;
+                }
+            }
+            keep[b + 1] = picked;
+            a = picked;
+        }
+
+        keep[threshold - 1] = n - 1;
+        return keep;
+    }
+}
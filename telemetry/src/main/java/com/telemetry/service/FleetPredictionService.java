@@ -0,0 +1,195 @@
+// src/main/java/com/telemetry/service/FleetPredictionService.java
+package com.telemetry.service;
+
+import com.telemetry.dto.PositionWindows;
+import com.telemetry.dto.PredictiveOrbitPoint;
+import com.telemetry.model.SatelliteReference;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.propagation.GeodeticTrack;
+import com.telemetry.propagation.OrbitPropagator;
+import com.telemetry.repository.TrajectoryJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Short-term and full-orbit predictions for a whole fleet in one pass.
+ *
+ * Cached predictions (PredictionCache) are reused; for the rest the newest
+ * positions of every satellite are read with one query into a shared
+ * structure-of-arrays track, propagated in parallel chunks on the prediction
+ * ForkJoinPool (PredictionConfig), and only then grouped by operator. Results
+ * are identical to PredictionService's per-satellite entry points and are
+ * written back to the cache.
+ */
+@Service
+public class FleetPredictionService {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetPredictionService.class);
+
+    /** Predictions for one satellite; empty lists when there is not enough data. */
+    public record SatellitePrediction(long externalId,
+                                      TrajectoryData latest,
+                                      List<PredictiveOrbitPoint> shortTerm,
+                                      List<PredictiveOrbitPoint> fullOrbit) {
+    }
+
+    private final PredictionService        predictionService;
+    private final PredictionCache          predictionCache;
+    private final LatestTelemetryCache     latestCache;
+    private final TleService               tleService;
+    private final TrajectoryJdbcRepository jdbcRepo;
+    private final ForkJoinPool             pool;
+
+    /** Satellites per leaf task */
+    @Value("${telemetry.prediction.chunk-size:32}")
+    private int chunkSize;
+
+    public FleetPredictionService(PredictionService predictionService,
+                                  PredictionCache predictionCache,
+                                  LatestTelemetryCache latestCache,
+                                  TleService tleService,
+                                  TrajectoryJdbcRepository jdbcRepo,
+                                  ForkJoinPool predictionPool) {
+        this.predictionService = predictionService;
+        this.predictionCache   = predictionCache;
+        this.latestCache       = latestCache;
+        this.tleService        = tleService;
+        this.jdbcRepo          = jdbcRepo;
+        this.pool              = predictionPool;
+    }
+
+    /**
+     * Predictions for every given satellite that has telemetry, grouped by operator
+     * (enterpriseId) in first-seen order.
+     */
+    public Map<UUID, List<SatellitePrediction>> predictAll(Collection<SatelliteReference> refs,
+                                                           int steps, int stepSeconds, int orbitPoints) {
+        Map<UUID, List<SatellitePrediction>> byOperator = new LinkedHashMap<>();
+        Map<Long, TrajectoryData> latest = latestCache.getAll(
+                refs.stream().map(SatelliteReference::getExternalId).toList());
+
+        // 1. reuse cached results; collect the satellites that need propagating
+        Map<Long, SatellitePrediction> done = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Map.Entry<Long, TrajectoryData> e : latest.entrySet()) {
+            long id = e.getKey();
+            long ts = e.getValue().getTimestamp().getTime();
+            List<PredictiveOrbitPoint> shortTerm = predictionCache.peek(
+                    PredictionCache.Kind.SHORT_TERM, id, ts, steps, stepSeconds);
+            List<PredictiveOrbitPoint> fullOrbit = predictionCache.peek(
+                    PredictionCache.Kind.FULL_ORBIT, id, ts, orbitPoints, 0);
+            if (shortTerm != null && fullOrbit != null) {
+                done.put(id, new SatellitePrediction(id, e.getValue(), shortTerm, fullOrbit));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long started = System.nanoTime();
+            propagate(missing, latest, steps, stepSeconds, orbitPoints, done);
+            log.debug("Propagated {} satellites ({} cached) in {} ms", missing.size(),
+                    latest.size() - missing.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+
+        // 2. group by operator
+        for (SatelliteReference ref : refs) {
+            SatellitePrediction p = done.get(ref.getExternalId());
+            if (p != null) {
+                byOperator.computeIfAbsent(ref.getEnterpriseId(), k -> new ArrayList<>()).add(p);
+            }
+        }
+        return byOperator;
+    }
+
+    private void propagate(List<Long> missing, Map<Long, TrajectoryData> latest,
+                           int steps, int stepSeconds, int orbitPoints,
+                           Map<Long, SatellitePrediction> done) {
+        PositionWindows windows = jdbcRepo.findLatestWindows(
+                missing.stream().mapToLong(Long::longValue).toArray(), predictionService.windowSize());
+        long[] ids = windows.externalIds();
+        int k = ids.length;
+
+        OrbitPropagator[] sgp4 = new OrbitPropagator[k];
+        for (int i = 0; i < k; i++) {
+            sgp4[i] = tleService.sgp4For(ids[i]).orElse(null);
+        }
+
+        int shortStride = steps + 1;
+        int orbitStride = orbitPoints + 1;
+        GeodeticTrack shortOut = GeodeticTrack.allocate(k * shortStride);
+        GeodeticTrack orbitOut = GeodeticTrack.allocate(k * orbitStride);
+        int[] shortCount = new int[k];
+        int[] orbitCount = new int[k];
+
+        pool.invoke(new Chunk(0, k, i -> {
+            int from = windows.offsets()[i];
+            int to   = windows.offsets()[i + 1];
+            GeodeticTrack in = windows.positions();
+            try {
+                shortCount[i] = predictionService.predictOrbitInto(
+                        sgp4[i], in, from, to, steps, stepSeconds, shortOut, i * shortStride);
+                orbitCount[i] = predictionService.predictFullOrbitInto(
+                        sgp4[i], in, from, to, orbitPoints, orbitOut, i * orbitStride);
+            } catch (RuntimeException e) {
+                shortCount[i] = orbitCount[i] = 0;
+                log.error("Error generating predictions for spacecraft {}: {}", ids[i], e.getMessage(), e);
+            }
+        }));
+
+        for (int i = 0; i < k; i++) {
+            long id = ids[i];
+            TrajectoryData row = latest.get(id);
+            // key on the newest position read, which may be newer than the cached row
+            int to = windows.offsets()[i + 1];
+            long ts = to > windows.offsets()[i] ? windows.positions().timesMs()[to - 1] : row.getTimestamp().getTime();
+            List<PredictiveOrbitPoint> shortTerm = predictionCache.put(PredictionCache.Kind.SHORT_TERM,
+                    id, ts, steps, stepSeconds,
+                    PredictionService.toPoints(shortOut, i * shortStride, shortCount[i], false));
+            List<PredictiveOrbitPoint> fullOrbit = predictionCache.put(PredictionCache.Kind.FULL_ORBIT,
+                    id, ts, orbitPoints, 0,
+                    PredictionService.toPoints(orbitOut, i * orbitStride, orbitCount[i], true));
+            done.put(id, new SatellitePrediction(id, row, shortTerm, fullOrbit));
+        }
+    }
+
+    private interface SatelliteTask {
+        void run(int index);
+    }
+
+    /** Splits [from, to) in halves down to chunk-size satellites per leaf. */
+    @SuppressWarnings("serial")
+    private final class Chunk extends RecursiveAction {
+        private final int from, to;
+        private final SatelliteTask task;
+
+        Chunk(int from, int to, SatelliteTask task) {
+            this.from = from;
+            this.to   = to;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= Math.max(1, chunkSize)) {
+                for (int i = from; i < to; i++) {
+                    task.run(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(from, mid, task), new Chunk(mid, to, task));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+// src/main/java/com/telemetry/service/KinematicStateStore.java
+package com.telemetry.service;
+
+import com.telemetry.model.TrajectoryData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Last known ECEF velocity (m/s) and its timestamp for every tracked satellite,
+ * used to derive acceleration between consecutive polls.
+ *
+ * Keys are primitive externalIds spread over lock-striped open-addressing tables;
+ * each stripe keeps its state in flat arrays, so an update allocates nothing.
+ * Satellites that are no longer referenced are dropped by {@link #retainOnly};
+ * {@link LatestTelemetryCache} seeds it at startup.
+ */
+@Component
+public class KinematicStateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(KinematicStateStore.class);
+
+    private static final int  STRIPES = 16;
+    private static final long EMPTY   = Long.MIN_VALUE;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public KinematicStateStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(64);
+        }
+    }
+
+    /**
+     * Seed from the newest stored row of every satellite, so the first poll after
+     * a restart already has a previous velocity. Entries written by a poll that
+     * raced ahead of startup are kept.
+     */
+    public void seed(Collection<TrajectoryData> latest) {
+        for (TrajectoryData d : latest) {
+            Stripe s = stripeFor(d.getExternalId());
+            synchronized (s) {
+                s.putIfAbsent(d.getExternalId(), d.getTimestamp().getTime(),
+                        d.getVelocityX(), d.getVelocityY(), d.getVelocityZ());
+            }
+        }
+    }
+
+    /**
+     * Store the new velocity sample and return the acceleration magnitude (m/s²)
+     * relative to the previous one, or 0 if there is no earlier sample.
+     * Samples older than or equal to the stored one leave the state untouched.
+     */
+    public float update(long externalId, long timestampMs, double vx, double vy, double vz) {
+        Stripe s = stripeFor(externalId);
+        synchronized (s) {
+            int slot = s.find(externalId);
+            if (slot < 0) {
+                s.insert(externalId, timestampMs, vx, vy, vz);
+                return 0f;
+            }
+
+            long dtMs = timestampMs - s.timestamps[slot];
+            if (dtMs <= 0) {
+                return 0f;
+            }
+            double dt = dtMs / 1_000.0;
+            int v = slot * 3;
+            double ax = (vx - s.velocities[v])     / dt;
+            double ay = (vy - s.velocities[v + 1]) / dt;
+            double az = (vz - s.velocities[v + 2]) / dt;
+
+            s.timestamps[slot]  = timestampMs;
+            s.velocities[v]     = vx;
+            s.velocities[v + 1] = vy;
+            s.velocities[v + 2] = vz;
+            return (float) Math.sqrt(ax*ax + ay*ay + az*az);
+        }
+    }
+
+    /** Drop every satellite whose externalId is not in {@code referenced}. */
+    public void retainOnly(long[] referenced) {
+        long[] sorted = referenced.clone();
+        Arrays.sort(sorted);
+        int evicted = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                evicted += s.retain(sorted);
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted kinematic state for {} unreferenced satellites", evicted);
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                n += s.size;
+            }
+        }
+        return n;
+    }
+
+    private Stripe stripeFor(long externalId) {
+        return stripes[(int) (mix(externalId) >>> 60) & (STRIPES - 1)];
+    }
+
+    /** MurmurHash3 fmix64: spreads sequential NORAD ids over stripes and slots. */
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /** Linear-probing table; guarded by synchronizing on the stripe itself. */
+    private static final class Stripe {
+        long[]   keys;
+        long[]   timestamps;
+        double[] velocities;   // 3 per slot: vx, vy, vz
+        int      size;
+
+        Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys       = new long[capacity];
+            timestamps = new long[capacity];
+            velocities = new double[capacity * 3];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) mix(key) & mask; ; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key)   return i;
+                if (k == EMPTY) return -1;
+            }
+        }
+
+        void putIfAbsent(long key, long ts, double vx, double vy, double vz) {
+            if (find(key) < 0) {
+                insert(key, ts, vx, vy, vz);
+            }
+        }
+
+        void insert(long key, long ts, double vx, double vy, double vz) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                rehash(keys.length * 2, null);
+            }
+            int mask = keys.length - 1;
+            int i = (int) mix(key) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i]               = key;
+            timestamps[i]         = ts;
+            velocities[i * 3]     = vx;
+            velocities[i * 3 + 1] = vy;
+            velocities[i * 3 + 2] = vz;
+            size++;
+        }
+
+        /** Rebuild without the keys missing from {@code sortedKeep}; returns how many were dropped. */
+        int retain(long[] sortedKeep) {
+            boolean anyStale = false;
+            for (long k : keys) {
+                if (k != EMPTY && Arrays.binarySearch(sortedKeep, k) < 0) {
+                    anyStale = true;
+                    break;
+                }
+            }
+            if (!anyStale) return 0;
+
+            int before = size;
+            rehash(keys.length, sortedKeep);
+            return before - size;
+        }
+
+        private void rehash(int capacity, long[] sortedKeep) {
+            long[]   oldKeys = keys;
+            long[]   oldTs   = timestamps;
+            double[] oldVel  = velocities;
+            allocate(capacity);
+            for (int i = 0; i < oldKeys.length; i++) {
+                long k = oldKeys[i];
+                if (k == EMPTY) continue;
+                if (sortedKeep != null && Arrays.binarySearch(sortedKeep, k) < 0) continue;
+                insert(k, oldTs[i], oldVel[i * 3], oldVel[i * 3 + 1], oldVel[i * 3 + 2]);
+            }
+        }
+    }
+}
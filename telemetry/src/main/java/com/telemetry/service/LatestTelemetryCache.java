@@ -0,0 +1,98 @@
+// src/main/java/com/telemetry/service/LatestTelemetryCache.java
+package com.telemetry.service;
+
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.repository.TrajectoryDataRepository;
+import com.telemetry.repository.TrajectoryJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Newest TrajectoryData of every tracked satellite, keyed by externalId.
+ *
+ * Written through by the ingest buffer after each successful flush and warmed at
+ * startup with one DISTINCT ON query, so latest-point readers never go to the
+ * database per satellite. Until the warm-up has run, misses fall back to the
+ * repository.
+ */
+@Component
+public class LatestTelemetryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestTelemetryCache.class);
+
+    private final Map<Long, TrajectoryData> latest = new ConcurrentHashMap<>();
+    private final TrajectoryJdbcRepository jdbcRepo;
+    private final TrajectoryDataRepository trajectoryRepo;
+    private final KinematicStateStore      kinematicState;
+
+    private volatile boolean warm;
+
+    public LatestTelemetryCache(TrajectoryJdbcRepository jdbcRepo,
+                                TrajectoryDataRepository trajectoryRepo,
+                                KinematicStateStore kinematicState) {
+        this.jdbcRepo       = jdbcRepo;
+        this.trajectoryRepo = trajectoryRepo;
+        this.kinematicState = kinematicState;
+    }
+
+    /**
+     * Load the newest row per satellite and seed the kinematic state store from the
+     * same result. Rows already written by a poll that beat startup are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<TrajectoryData> rows = jdbcRepo.findLatestPerSatellite();
+            update(rows);
+            kinematicState.seed(rows);
+            warm = true;
+            log.info("Latest-state cache warmed with {} satellites", rows.size());
+        } catch (Exception e) {
+            log.warn("Could not warm latest-state cache, falling back to per-satellite reads: {}",
+                    e.getMessage());
+        }
+    }
+
+    /** Write-through hook: keep the newer of the cached and the given row per satellite. */
+    public void update(Collection<TrajectoryData> rows) {
+        for (TrajectoryData d : rows) {
+            latest.merge(d.getExternalId(), d,
+                    (old, neu) -> neu.getTimestamp().after(old.getTimestamp()) ? neu : old);
+        }
+    }
+
+    public Optional<TrajectoryData> get(long externalId) {
+        TrajectoryData d = latest.get(externalId);
+        if (d != null || warm) {
+            return Optional.ofNullable(d);
+        }
+        return trajectoryRepo.findFirstByIdExternalIdOrderByIdTimestampDesc(externalId);
+    }
+
+    /** Latest row for each of the given satellites that has any telemetry, in input order. */
+    public Map<Long, TrajectoryData> getAll(Collection<Long> externalIds) {
+        Map<Long, TrajectoryData> out = new LinkedHashMap<>();
+        for (Long id : externalIds) {
+            get(id).ifPresent(d -> out.put(id, d));
+        }
+        return out;
+    }
+
+    /** Drop satellites that are no longer referenced. */
+    public void retainOnly(long[] referenced) {
+        long[] sorted = referenced.clone();
+        Arrays.sort(sorted);
+        latest.keySet().removeIf(id -> Arrays.binarySearch(sorted, id) < 0);
+    }
+}
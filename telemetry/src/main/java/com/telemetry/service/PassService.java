@@ -0,0 +1,221 @@
+// src/main/java/com/telemetry/service/PassService.java
+package com.telemetry.service;
+
+import com.telemetry.dto.SatellitePass;
+import com.telemetry.model.GroundStation;
+import com.telemetry.model.SatelliteReference;
+import com.telemetry.propagation.IntervalTree;
+import com.telemetry.propagation.OrbitPropagator;
+import com.telemetry.propagation.PassPredictor;
+import com.telemetry.repository.GroundStationRepository;
+import com.telemetry.repository.SatellitePassJdbcRepository;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Precomputed visibility passes of every satellite over every ground station.
+ *
+ * A background run predicts the passes of the next telemetry.passes.horizon-hours
+ * for all satellites with a usable TLE (SGP4; the Kepler fallback does not model
+ * Earth rotation, so its ground tracks cannot be used for visibility), replaces
+ * the upcoming rows of satellite_pass and swaps in one interval tree per station.
+ * Each run starts telemetry.passes.max-pass-minutes in the past, so a pass in
+ * progress is stored again with its real AOS rather than the time of the run.
+ * Visibility queries are answered from the trees only.
+ */
+@Service
+public class PassService {
+
+    private static final Logger log = LoggerFactory.getLogger(PassService.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    /** Passes of one station and the tree over their [aos, los] (values index into passes). */
+    private record StationPasses(List<SatellitePass> passes, IntervalTree tree) {
+    }
+
+    private final GroundStationRepository      stationRepo;
+    private final SatelliteReferenceRepository referenceRepo;
+    private final SatellitePassJdbcRepository  passRepo;
+    private final TleService                   tleService;
+    private final ForkJoinPool                 pool;
+
+    @Value("${telemetry.passes.horizon-hours:48}")
+    private double horizonHours;
+
+    /** Sampling step; passes shorter than this can be missed */
+    @Value("${telemetry.passes.step-seconds:30}")
+    private int stepSeconds;
+
+    /** Longest pass whose AOS survives a recompute during it; longer ones are cut at the window start */
+    @Value("${telemetry.passes.max-pass-minutes:30}")
+    private int maxPassMinutes;
+
+    /** stationId → passes, replaced as a whole after each run */
+    private volatile Map<Long, StationPasses> index = Map.of();
+
+    public PassService(GroundStationRepository stationRepo,
+                       SatelliteReferenceRepository referenceRepo,
+                       SatellitePassJdbcRepository passRepo,
+                       TleService tleService,
+                       ForkJoinPool predictionPool) {
+        this.stationRepo   = stationRepo;
+        this.referenceRepo = referenceRepo;
+        this.passRepo      = passRepo;
+        this.tleService    = tleService;
+        this.pool          = predictionPool;
+    }
+
+    /** Serve the passes stored by the previous run until the first recompute. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<SatellitePass> stored = passRepo.findUpcoming(new Timestamp(System.currentTimeMillis()));
+            index = buildIndex(stored);
+            log.info("Pass index warmed with {} stored passes", stored.size());
+        } catch (Exception e) {
+            log.warn("Could not load stored passes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Passes over station {@code stationId} that overlap [from, to], by AOS.
+     * Empty for unknown stations or when nothing has been computed yet.
+     */
+    public List<SatellitePass> visible(long stationId, Timestamp from, Timestamp to) {
+        StationPasses sp = index.get(stationId);
+        if (sp == null) return List.of();
+        List<SatellitePass> out = new ArrayList<>();
+        sp.tree().query(from.getTime(), to.getTime(), i -> out.add(sp.passes().get(i)));
+        return out;
+    }
+
+    /**
+     * Predict the passes of all satellites over all stations for the horizon,
+     * store them and swap the index.
+     */
+    @Scheduled(fixedDelayString   = "${telemetry.passes.interval:3600000}",
+               initialDelayString = "${telemetry.passes.initial-delay:90000}")
+    public synchronized void recompute() {
+        try {
+            long started = System.currentTimeMillis();
+            List<GroundStation> stations = stationRepo.findAll();
+            List<OrbitPropagator> models = new ArrayList<>();
+            List<Long>            ids    = new ArrayList<>();
+            for (SatelliteReference ref : referenceRepo.findAll()) {
+                tleService.sgp4For(ref.getExternalId()).ifPresent(m -> {
+                    models.add(m);
+                    ids.add(ref.getExternalId());
+                });
+            }
+
+            List<SatellitePass> passes = List.of();
+            if (!stations.isEmpty() && !models.isEmpty()) {
+                PassPredictor predictor = new PassPredictor(stations.stream()
+                        .map(st -> new PassPredictor.Site(st.getLatitude(), st.getLongitude(),
+                                st.getAltitudeKm(), st.getMinElevationDeg()))
+                        .toList());
+                Run run = new Run(predictor, stations, models, ids, started - maxPassMinutes * 60_000L,
+                        started + (long) (horizonHours * 3_600_000), stepSeconds * 1000L);
+                // passes that ended before the run are already stored as history
+                passes = pool.invoke(new SatelliteRange(run, 0, models.size())).stream()
+                        .filter(p -> p.getLos().getTime() >= started)
+                        .toList();
+            }
+
+            passRepo.replaceUpcoming(new Timestamp(started), passes, BATCH_SIZE);
+            index = buildIndex(passes);
+            log.info("Predicted {} passes for {} satellites over {} stations in {} ms",
+                    passes.size(), models.size(), stations.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Pass prediction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Drop a deleted station from the index without waiting for the next run. */
+    public void evict(long stationId) {
+        Map<Long, StationPasses> copy = new HashMap<>(index);
+        copy.remove(stationId);
+        index = copy;
+    }
+
+    private static Map<Long, StationPasses> buildIndex(List<SatellitePass> passes) {
+        Map<Long, List<SatellitePass>> byStation = new HashMap<>();
+        for (SatellitePass p : passes) {
+            byStation.computeIfAbsent(p.getStationId(), k -> new ArrayList<>()).add(p);
+        }
+
+        Map<Long, StationPasses> out = new HashMap<>();
+        byStation.forEach((stationId, list) -> {
+            int n = list.size();
+            long[] aos = new long[n], los = new long[n];
+            int[]  idx = new int[n];
+            for (int i = 0; i < n; i++) {
+                aos[i] = list.get(i).getAos().getTime();
+                los[i] = list.get(i).getLos().getTime();
+                idx[i] = i;
+            }
+            out.put(stationId, new StationPasses(list, new IntervalTree(aos, los, idx, n)));
+        });
+        return out;
+    }
+
+    /** Shared read-only inputs of one run. */
+    private record Run(PassPredictor predictor, List<GroundStation> stations,
+                       List<OrbitPropagator> models, List<Long> ids,
+                       long startMs, long endMs, long stepMs) {
+    }
+
+    /** Splits the satellites in halves; each leaf predicts one satellite over all stations. */
+    @SuppressWarnings("serial")
+    private static final class SatelliteRange extends RecursiveTask<List<SatellitePass>> {
+        private final Run run;
+        private final int from, to;
+
+        SatelliteRange(Run run, int from, int to) {
+            this.run  = run;
+            this.from = from;
+            this.to   = to;
+        }
+
+        @Override
+        protected List<SatellitePass> compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                SatelliteRange right = new SatelliteRange(run, mid, to);
+                right.fork();
+                List<SatellitePass> out = new SatelliteRange(run, from, mid).compute();
+                out.addAll(right.join());
+                return out;
+            }
+
+            List<SatellitePass> out = new ArrayList<>();
+            long id = run.ids().get(from);
+            try {
+                for (PassPredictor.Pass p : run.predictor().passes(
+                        run.models().get(from), run.startMs(), run.endMs(), run.stepMs())) {
+                    out.add(new SatellitePass(run.stations().get(p.site()).getId(), id,
+                            new Timestamp(p.aosMs()), new Timestamp(p.losMs()),
+                            new Timestamp(p.maxElevationMs()), p.maxElevationDeg()));
+                }
+            } catch (RuntimeException e) {
+                log.error("Pass prediction failed for spacecraft {}: {}", id, e.getMessage(), e);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+// src/main/java/com/telemetry/service/PredictionCache.java
+package com.telemetry.service;
+
+import com.telemetry.dto.PredictiveOrbitPoint;
+import com.telemetry.model.TrajectoryData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Propagated orbits keyed by (externalId, timestamp of the newest point the
+ * prediction was computed from, prediction kind and parameters).
+ *
+ * A prediction only changes when a poll lands a newer point, so the Kafka
+ * publisher and the REST endpoints share one computation per satellite and poll.
+ * Lookups use the newest point in {@link LatestTelemetryCache}; entries are
+ * stored under the newest point of the window actually read, which a flush
+ * landing in between can make newer, so a prediction is never filed under a
+ * point it has not seen. Entries for superseded timestamps age out of the
+ * size-bounded LRU.
+ * Hits and misses are counted in telemetry.prediction.cache{result=hit|miss}.
+ */
+@Component
+public class PredictionCache {
+
+    enum Kind { SHORT_TERM, FULL_ORBIT }
+
+    private record Key(long externalId, long latestTs, Kind kind, int p1, int p2) {
+    }
+
+    private final PredictionService    predictionService;
+    private final LatestTelemetryCache latestCache;
+    private final Map<Key, List<PredictiveOrbitPoint>> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PredictionCache(PredictionService predictionService,
+                           LatestTelemetryCache latestCache,
+                           MeterRegistry meterRegistry,
+                           @Value("${telemetry.prediction.cache-size:4096}") int maxEntries) {
+        this.predictionService = predictionService;
+        this.latestCache       = latestCache;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<PredictiveOrbitPoint>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits   = Counter.builder("telemetry.prediction.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("telemetry.prediction.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("telemetry.prediction.cache.size", this, PredictionCache::size).register(meterRegistry);
+    }
+
+    /** Short-term linear prediction ({@code steps} × {@code stepSeconds}) for a satellite. */
+    public List<PredictiveOrbitPoint> shortTerm(long externalId, int steps, int stepSeconds) {
+        return get(externalId, Kind.SHORT_TERM, steps, stepSeconds,
+                () -> predictionService.predictOrbit(externalId, steps, stepSeconds));
+    }
+
+    /** Full-orbit prediction of {@code numPoints} points for a satellite. */
+    public List<PredictiveOrbitPoint> fullOrbit(long externalId, int numPoints) {
+        return get(externalId, Kind.FULL_ORBIT, numPoints, 0,
+                () -> predictionService.predictFullOrbit(externalId, numPoints));
+    }
+
+    /**
+     * Entry for a satellite as of its newest point {@code latestTs}, or null;
+     * counted as a hit or miss. For stages that compute misses in bulk.
+     */
+    List<PredictiveOrbitPoint> peek(Kind kind, long externalId, long latestTs, int p1, int p2) {
+        List<PredictiveOrbitPoint> cached;
+        synchronized (this) {
+            cached = entries.get(new Key(externalId, latestTs, kind, p1, p2));
+        }
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    /**
+     * Store a prediction computed outside the cache from positions up to
+     * {@code latestTs}; returns the stored (read-only) list.
+     */
+    List<PredictiveOrbitPoint> put(Kind kind, long externalId, long latestTs, int p1, int p2,
+                                   List<PredictiveOrbitPoint> points) {
+        List<PredictiveOrbitPoint> stored = Collections.unmodifiableList(points);
+        synchronized (this) {
+            entries.put(new Key(externalId, latestTs, kind, p1, p2), stored);
+        }
+        return stored;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private List<PredictiveOrbitPoint> get(long externalId, Kind kind, int p1, int p2,
+                                           Supplier<List<PredictiveOrbitPoint>> compute) {
+        Optional<TrajectoryData> latest = latestCache.get(externalId);
+        if (latest.isEmpty()) {
+            return List.of();
+        }
+        long latestTs = latest.get().getTimestamp().getTime();
+        Key key = new Key(externalId, latestTs, kind, p1, p2);
+
+        List<PredictiveOrbitPoint> cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        // computed outside the lock; two racing misses just compute the same value twice
+        misses.increment();
+        List<PredictiveOrbitPoint> computed = Collections.unmodifiableList(compute.get());
+        // every prediction starts at the newest position it was computed from
+        long inputTs = computed.isEmpty() ? latestTs : computed.get(0).getTimestamp().getTime();
+        synchronized (this) {
+            entries.put(new Key(externalId, inputTs, kind, p1, p2), computed);
+        }
+        return computed;
+    }
+}
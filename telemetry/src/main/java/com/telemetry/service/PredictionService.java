@@ -5,21 +5,25 @@ import com.telemetry.dto.PredictiveOrbitPoint;
 import com.telemetry.dto.TelemetryPosition;
 import com.telemetry.model.SatelliteReference;
 import com.telemetry.model.TrajectoryData;
+import com.telemetry.propagation.GeodeticTrack;
+import com.telemetry.propagation.KeplerPropagator;
+import com.telemetry.propagation.OrbitalMath;
+import com.telemetry.propagation.OrbitPropagator;
 import com.telemetry.repository.SatelliteReferenceRepository;
 import com.telemetry.repository.TrajectoryDataRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class PredictionService {
 
-    private static final double EARTH_MU      = 398600.4418; // km³/s²
     private static final double EARTH_RADIUS  = 6371.0;      // km
     private static final double MIN_ALTITUDE  = 350.0;       // km
 
@@ -29,6 +33,17 @@ public class PredictionService {
     @Autowired
     private TrajectoryDataRepository    trajRepo;
 
+    @Autowired
+    private TleService                  tleService;
+
+    /** Newest positions loaded for the UUID-based entry points */
+    @Value("${telemetry.prediction.window-size:10}")
+    private int windowSize;
+
+    /** Only positions this close (ms) to the newest one enter the velocity fit */
+    @Value("${telemetry.prediction.window-span:300000}")
+    private long windowSpanMs;
+
     /**
      * Public API: fetch stored telemetry for this satellite (by its local UUID),
      * map to TelemetryPosition, then compute a full‐orbit prediction.
@@ -37,19 +52,7 @@ public class PredictionService {
         SatelliteReference ref = satRefRepo.findById(satelliteLocalId)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown satellite: " + satelliteLocalId));
 
-        List<TrajectoryData> traj = trajRepo
-                .findByIdExternalIdOrderByIdTimestampAsc(ref.getExternalId());
-
-        List<TelemetryPosition> positions = traj.stream()
-                .map(td -> new TelemetryPosition(
-                        td.getSatLatitude(),
-                        td.getSatLongitude(),
-                        td.getSatAltitude(),
-                        td.getTimestamp()
-                ))
-                .collect(Collectors.toList());
-
-        return predictFullOrbit(positions, numPoints);
+        return predictFullOrbit(ref.getExternalId(), numPoints);
     }
 
     /**
@@ -60,244 +63,287 @@ public class PredictionService {
         SatelliteReference ref = satRefRepo.findById(satelliteLocalId)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown satellite: " + satelliteLocalId));
 
-        List<TrajectoryData> traj = trajRepo
-                .findByIdExternalIdOrderByIdTimestampAsc(ref.getExternalId());
+        return predictOrbit(ref.getExternalId(), steps, stepSeconds);
+    }
+
+    /**
+     * Full-orbit prediction for a satellite (by externalId): SGP4 from its stored TLE
+     * when one is usable, otherwise Kepler from the newest stored positions.
+     */
+    public List<PredictiveOrbitPoint> predictFullOrbit(long externalId, int numPoints) {
+        return predictFullOrbit(tleService.sgp4For(externalId).orElse(null), latestWindow(externalId), numPoints);
+    }
 
-        List<TelemetryPosition> positions = traj.stream()
-                .map(td -> new TelemetryPosition(
-                        td.getSatLatitude(),
-                        td.getSatLongitude(),
-                        td.getSatAltitude(),
-                        td.getTimestamp()
-                ))
-                .collect(Collectors.toList());
+    /**
+     * Short-term prediction for a satellite (by externalId): SGP4 from its stored TLE
+     * when one is usable, otherwise a linear fit of the newest stored positions.
+     */
+    public List<PredictiveOrbitPoint> predictOrbit(long externalId, int steps, int stepSeconds) {
+        return predictOrbit(tleService.sgp4For(externalId).orElse(null), latestWindow(externalId), steps, stepSeconds);
+    }
 
-        return predictOrbit(positions, steps, stepSeconds);
+    /** Number of newest positions a prediction reads per satellite */
+    public int windowSize() {
+        return Math.max(2, windowSize);
+    }
+
+    /**
+     * The newest telemetry.prediction.window-size positions, oldest first, read with
+     * one LIMITed descending query on the primary key instead of the whole history.
+     */
+    private GeodeticTrack latestWindow(long externalId) {
+        List<TrajectoryData> newestFirst = trajRepo.findByIdExternalIdOrderByIdTimestampDesc(
+                externalId, PageRequest.of(0, windowSize()));
+
+        GeodeticTrack window = GeodeticTrack.allocate(
+                (int) newestFirst.stream().filter(td -> td.getSatLatitude() != null).count());
+        int k = 0;
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            TrajectoryData td = newestFirst.get(i);
+            if (td.getSatLatitude() == null) continue;
+            window.timesMs()[k] = td.getTimestamp().getTime();
+            window.lat()[k]     = td.getSatLatitude();
+            window.lon()[k]     = td.getSatLongitude();
+            window.alt()[k]     = td.getSatAltitude();
+            k++;
+        }
+        return window;
     }
 
     // ────────────────────────────────────────────────────────────────────────────
     // Internal overload: full‐orbit from raw positions
     public List<PredictiveOrbitPoint> predictFullOrbit(List<TelemetryPosition> positions,
                                                        int numPoints) {
-        List<PredictiveOrbitPoint> predictions = new ArrayList<>();
-        if (positions.size() < 2) return predictions;
-
-        TelemetryPosition latest = positions.get(positions.size() - 1);
-        double[] r = latLongAltToCartesian(
-                latest.getLatitude(),
-                latest.getLongitude(),
-                latest.getAltitude()
-        );
-        double[] v = estimateVelocityVector(positions);
-        double[] elements = calculateOrbitalElements(r, v);
-
-        double a     = elements[0];
-        double e     = elements[1];
-        double inc   = elements[2];
-        double Omega = elements[3];
-        double omega = elements[4];
-        double M0    = elements[5];
-
-        double period = 2 * Math.PI * Math.sqrt(Math.pow(a, 3) / EARTH_MU);
-        long baseTime = latest.getTimestamp().getTime();
-
-        for (int j = 0; j <= numPoints; j++) {
-            double frac = (double) j / numPoints;
-            double M    = normalizeAngle(M0 + 2 * Math.PI * frac);
-            double E    = solveKepler(M, e);
-            double nu   = 2 * Math.atan2(
-                    Math.sqrt(1 + e) * Math.sin(E / 2),
-                    Math.sqrt(1 - e) * Math.cos(E / 2)
-            );
-            double rMag = a * (1 - e * Math.cos(E));
-            double xOrb = rMag * Math.cos(nu);
-            double yOrb = rMag * Math.sin(nu);
-
-            double[] pos = rotateToECEF(xOrb, yOrb, 0, inc, Omega, omega);
-            double[] lla = cartesianToLatLongAlt(pos[0], pos[1], pos[2]);
-
-            double alt = Math.max(lla[2], MIN_ALTITUDE);
-            long t    = baseTime + (long)(frac * period * 1000);
-
-            predictions.add(new PredictiveOrbitPoint(
-                    lla[0], lla[1], alt,
-                    new Timestamp(t),
-                    true
-            ));
-        }
-
-        return predictions;
+        return predictFullOrbit(null, toTrack(positions), numPoints);
     }
 
     // Internal overload: linear‐step prediction
     public List<PredictiveOrbitPoint> predictOrbit(List<TelemetryPosition> positions,
                                                    int steps,
                                                    int stepSeconds) {
-        List<PredictiveOrbitPoint> predictions = new ArrayList<>();
-        if (positions.size() < 2) return predictions;
-
-        TelemetryPosition prev = positions.get(positions.size() - 2);
-        TelemetryPosition last = positions.get(positions.size() - 1);
-
-        // current point
-        predictions.add(new PredictiveOrbitPoint(
-                last.getLatitude(),
-                last.getLongitude(),
-                last.getAltitude(),
-                last.getTimestamp(),
-                false
-        ));
-
-        long dtSec = (last.getTimestamp().getTime() - prev.getTimestamp().getTime()) / 1000;
-        if (dtSec <= 0) return predictions;
-
-        double dLat = (last.getLatitude()  - prev.getLatitude())  / dtSec;
-        double dLon = (last.getLongitude() - prev.getLongitude()) / dtSec;
-        double dAlt = (last.getAltitude()  - prev.getAltitude())  / dtSec;
-
-        long base = last.getTimestamp().getTime();
-        for (int i = 1; i <= steps; i++) {
-            long t = base + (long)i * stepSeconds * 1000;
-            predictions.add(new PredictiveOrbitPoint(
-                    last.getLatitude()  + dLat * i * stepSeconds,
-                    last.getLongitude() + dLon * i * stepSeconds,
-                    last.getAltitude()  + dAlt * i * stepSeconds,
-                    new Timestamp(t),
-                    false
-            ));
-        }
-
-        return predictions;
+        return predictOrbit(null, toTrack(positions), steps, stepSeconds);
     }
 
-    // ────────────────────────────────────────────────────────────────────────────
-    // Utility methods for coordinate transforms & Kepler’s equation:
-
-    private double[] latLongAltToCartesian(double lat, double lon, double altKm) {
-        double φ = Math.toRadians(lat), λ = Math.toRadians(lon), r = EARTH_RADIUS + altKm;
-        return new double[]{
-                r * Math.cos(φ) * Math.cos(λ),
-                r * Math.cos(φ) * Math.sin(λ),
-                r * Math.sin(φ)
-        };
-    }
-
-    private double[] cartesianToLatLongAlt(double x, double y, double z) {
-        double r = Math.hypot(x, Math.hypot(y, z));
-        double φ = Math.asin(z / r), λ = Math.atan2(y, x);
-        return new double[]{
-                Math.toDegrees(φ),
-                Math.toDegrees(λ),
-                r - EARTH_RADIUS
-        };
+    private List<PredictiveOrbitPoint> predictFullOrbit(OrbitPropagator sgp4, GeodeticTrack window,
+                                                        int numPoints) {
+        GeodeticTrack out = GeodeticTrack.allocate(numPoints + 1);
+        int n = predictFullOrbitInto(sgp4, window, 0, window.capacity(), numPoints, out, 0);
+        return toPoints(out, 0, n, true);
     }
 
-    private double[] estimateVelocityVector(List<TelemetryPosition> pos) {
-        if (pos.size() < 2) return new double[]{0,0,0};
-        TelemetryPosition p1 = pos.get(pos.size() - 2);
-        TelemetryPosition p2 = pos.get(pos.size() - 1);
-        double[] r1 = latLongAltToCartesian(p1.getLatitude(), p1.getLongitude(), p1.getAltitude());
-        double[] r2 = latLongAltToCartesian(p2.getLatitude(), p2.getLongitude(), p2.getAltitude());
-        double dt   = (p2.getTimestamp().getTime() - p1.getTimestamp().getTime()) / 1000.0;
-        return new double[]{
-                (r2[0] - r1[0]) / dt,
-                (r2[1] - r1[1]) / dt,
-                (r2[2] - r1[2]) / dt
-        };
+    private List<PredictiveOrbitPoint> predictOrbit(OrbitPropagator sgp4, GeodeticTrack window,
+                                                    int steps, int stepSeconds) {
+        GeodeticTrack out = GeodeticTrack.allocate(steps + 1);
+        int n = predictOrbitInto(sgp4, window, 0, window.capacity(), steps, stepSeconds, out, 0);
+        return toPoints(out, 0, n, false);
     }
 
-    private double[] calculateOrbitalElements(double[] r, double[] v) {
-        double rMag = Math.hypot(r[0], Math.hypot(r[1], r[2]));
-        double vMag = Math.hypot(v[0], Math.hypot(v[1], v[2]));
-
-        // specific angular momentum
-        double[] h = {
-                r[1]*v[2] - r[2]*v[1],
-                r[2]*v[0] - r[0]*v[2],
-                r[0]*v[1] - r[1]*v[0]
-        };
-        double hMag = Math.hypot(h[0], Math.hypot(h[1], h[2]));
+    // ────────────────────────────────────────────────────────────────────────────
+    // Array core shared by the per-satellite entry points and FleetPredictionService.
+    // Input positions are indices [from, to) of a track, oldest first; results are
+    // written to {@code out} starting at {@code outOff}. Safe to call concurrently
+    // for disjoint output ranges.
 
-        // node vector
-        double[] n = {-h[1], h[0], 0};
-        double nMag = Math.hypot(n[0], n[1]);
+    /**
+     * numPoints + 1 points over one orbit from the newest position: SGP4 when
+     * {@code sgp4} is non-null, otherwise Kepler from the fitted state vector.
+     *
+     * @return number of points written (0 when there is not enough data)
+     */
+    public int predictFullOrbitInto(OrbitPropagator sgp4, GeodeticTrack in, int from, int to,
+                                    int numPoints, GeodeticTrack out, int outOff) {
+        OrbitPropagator model = orbitModel(sgp4, in, from, to);
+        if (model == null) return 0;
+
+        long baseTime = in.timesMs()[to - 1];
+        double periodMs = model.periodSeconds() * 1000;
+        long[] times = out.timesMs();
+        for (int j = 0; j <= numPoints; j++) {
+            times[outOff + j] = baseTime + (long)((double) j / numPoints * periodMs);
+        }
 
-        double rDotV = r[0]*v[0] + r[1]*v[1] + r[2]*v[2];
+        int written = model.geodeticAt(times, outOff, numPoints + 1, out.lat(), out.lon(), out.alt());
+        for (int j = outOff; j < outOff + written; j++) {
+            out.alt()[j] = Math.max(out.alt()[j], MIN_ALTITUDE);
+        }
+        return written;
+    }
 
-        // eccentricity vector
-        double[] eVec = new double[3];
-        for (int i = 0; i < 3; i++) {
-            eVec[i] = ((vMag*vMag - EARTH_MU/rMag) * r[i] - rDotV*v[i]) / EARTH_MU;
+    /**
+     * The model full-orbit predictions use: {@code sgp4} when non-null, otherwise
+     * Kepler from the state vector fitted to the positions; null when there are
+     * too few positions.
+     */
+    public OrbitPropagator orbitModel(OrbitPropagator sgp4, GeodeticTrack in, int from, int to) {
+        if (sgp4 != null) {
+            return to > from ? sgp4 : null;
         }
-        double eMag = Math.hypot(eVec[0], Math.hypot(eVec[1], eVec[2]));
+        if (to - from < 2) return null;
+
+        int last = to - 1;
+        double[] r = new double[3];
+        double[] v = new double[3];
+        OrbitalMath.sphericalToCartesian(in.lat()[last], in.lon()[last],
+                EARTH_RADIUS + in.alt()[last], r, 0);
+        estimateVelocityVector(in, from, to, v);
+        return new KeplerPropagator(r, v, in.timesMs()[last]);
+    }
 
-        // semi-major axis
-        double energy = vMag*vMag/2 - EARTH_MU/rMag;
-        double a      = -EARTH_MU / (2*energy);
+    /**
+     * The newest observation followed by {@code steps} points {@code stepSeconds}
+     * apart: SGP4 when {@code sgp4} is non-null, otherwise a least-squares linear
+     * extrapolation of lat/lon/alt.
+     *
+     * @return number of points written (0 when there is not enough data)
+     */
+    public int predictOrbitInto(OrbitPropagator sgp4, GeodeticTrack in, int from, int to,
+                                int steps, int stepSeconds, GeodeticTrack out, int outOff) {
+        if (sgp4 == null ? to - from < 2 : to == from) return 0;
+        int last = to - 1;
+        long base = in.timesMs()[last];
 
-        // inclination
-        double inc = Math.acos(h[2] / hMag);
+        // current point
+        out.set(outOff, in, last);
+        int written = 1;
+
+        if (sgp4 != null) {
+            double[] lla = new double[3];
+            for (int i = 1; i <= steps; i++) {
+                long t = base + (long)i * stepSeconds * 1000;
+                if (!sgp4.geodeticAt(t, lla, 0)) break;
+                int k = outOff + written++;
+                out.timesMs()[k] = t;
+                out.lat()[k]     = lla[0];
+                out.lon()[k]     = lla[1];
+                out.alt()[k]     = lla[2];
+            }
+            return written;
+        }
 
-        // RA of ascending node
-        double Omega = Math.acos(n[0]/nMag);
-        if (n[1] < 0) Omega = 2*Math.PI - Omega;
+        int start = fitWindowStart(in, from, to);
+        int n     = to - start;
+        double[] ts  = new double[n];
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        double[] alt = new double[n];
+        for (int k = 0; k < n; k++) {
+            ts[k]  = (in.timesMs()[start + k] - base) / 1000.0;
+            lat[k] = in.lat()[start + k];
+            lon[k] = in.lon()[start + k];
+            alt[k] = in.alt()[start + k];
+            // unwrap the antimeridian so the fit sees a continuous track
+            if (k > 0) lon[k] += 360 * Math.round((lon[k - 1] - lon[k]) / 360);
+        }
+        if (ts[n - 2] >= 0) return written;
 
-        // argument of periapsis
-        double omega = Math.acos((n[0]*eVec[0] + n[1]*eVec[1]) / (nMag*eMag));
-        if (eVec[2] < 0) omega = 2*Math.PI - omega;
+        double dLat = rateAtLast(ts, lat, n);
+        double dLon = rateAtLast(ts, lon, n);
+        double dAlt = rateAtLast(ts, alt, n);
 
-        // true anomaly
-        double nu = Math.acos((eVec[0]*r[0] + eVec[1]*r[1] + eVec[2]*r[2]) / (eMag * rMag));
-        if (rDotV < 0) nu = 2*Math.PI - nu;
+        for (int i = 1; i <= steps; i++) {
+            int k = outOff + written++;
+            out.timesMs()[k] = base + (long)i * stepSeconds * 1000;
+            out.lat()[k]     = in.lat()[last] + dLat * i * stepSeconds;
+            out.lon()[k]     = in.lon()[last] + dLon * i * stepSeconds;
+            out.alt()[k]     = in.alt()[last] + dAlt * i * stepSeconds;
+        }
+        return written;
+    }
 
-        // eccentric anomaly
-        double E = Math.atan2(Math.sqrt(1-eMag*eMag)*Math.sin(nu), eMag + Math.cos(nu));
+    /** DTOs for {@code n} points of {@code track} starting at {@code off}. */
+    public static List<PredictiveOrbitPoint> toPoints(GeodeticTrack track, int off, int n, boolean fullOrbit) {
+        List<PredictiveOrbitPoint> points = new ArrayList<>(n);
+        for (int j = off; j < off + n; j++) {
+            points.add(new PredictiveOrbitPoint(
+                    track.lat()[j], track.lon()[j], track.alt()[j],
+                    new Timestamp(track.timesMs()[j]),
+                    fullOrbit
+            ));
+        }
+        return points;
+    }
 
-        // mean anomaly at epoch
-        double M = E - eMag * Math.sin(E);
+    private static GeodeticTrack toTrack(List<TelemetryPosition> positions) {
+        GeodeticTrack track = GeodeticTrack.allocate(positions.size());
+        for (int k = 0; k < positions.size(); k++) {
+            TelemetryPosition p = positions.get(k);
+            track.timesMs()[k] = p.getTimestamp().getTime();
+            track.lat()[k]     = p.getLatitude();
+            track.lon()[k]     = p.getLongitude();
+            track.alt()[k]     = p.getAltitude();
+        }
+        return track;
+    }
 
-        return new double[]{a, eMag, inc, Omega, omega, M};
+    // ────────────────────────────────────────────────────────────────────────────
+    // Utility methods for coordinate transforms & rate fits:
+
+    /** Velocity (km/s) at the newest position of [from, to), written to {@code out[0..2]}. */
+    private void estimateVelocityVector(GeodeticTrack in, int from, int to, double[] out) {
+        int start = fitWindowStart(in, from, to);
+        int n     = to - start;
+        long tLast = in.timesMs()[to - 1];
+
+        double[] t   = new double[n];
+        double[] xyz = new double[n * 3];
+        for (int k = 0; k < n; k++) {
+            int i = start + k;
+            t[k] = (in.timesMs()[i] - tLast) / 1000.0;
+            OrbitalMath.sphericalToCartesian(in.lat()[i], in.lon()[i], EARTH_RADIUS + in.alt()[i], xyz, k * 3);
+        }
+        for (int c = 0; c < 3; c++) {
+            out[c] = rateAtLast(t, xyz, c, 3, n);
+        }
     }
 
-    private double solveKepler(double M, double e) {
-        double E = M;
-        for (int i = 0; i < 10; i++) {
-            double f  = E - e*Math.sin(E) - M;
-            double fp = 1 - e*Math.cos(E);
-            E -= f/fp;
-            if (Math.abs(f/fp) < 1e-8) break;
+    /**
+     * First index of the positions in [from, to) used for a rate fit: those within
+     * telemetry.prediction.window-span of the newest, but always at least two.
+     */
+    private int fitWindowStart(GeodeticTrack in, int from, int to) {
+        long newest = in.timesMs()[to - 1];
+        int start = to - 2;
+        while (start > from && newest - in.timesMs()[start - 1] <= windowSpanMs) {
+            start--;
         }
-        return E;
+        return start;
     }
 
-    private double normalizeAngle(double θ) {
-        θ %= 2*Math.PI;
-        return θ < 0 ? θ + 2*Math.PI : θ;
+    /**
+     * d/dt of y at t = 0 (the newest sample; t in seconds, ≤ 0), from a
+     * least-squares quadratic y = c0 + c1·t + c2·t² over all n samples. With two
+     * samples, or when the quadratic system is degenerate, it is the slope of a
+     * least-squares line instead. Sample k of y is {@code y[off + k * stride]}.
+     */
+    static double rateAtLast(double[] t, double[] y, int n) {
+        return rateAtLast(t, y, 0, 1, n);
     }
 
-    private double[] rotateToECEF(double x, double y, double z,
-                                  double inc, double Omega, double ω) {
-        double cosO = Math.cos(Omega), sinO = Math.sin(Omega);
-        double cosw = Math.cos(ω),    sinw = Math.sin(ω);
-        double cosI = Math.cos(inc),  sinI = Math.sin(inc);
-
-        // 3-1-3 rotation: Ω → i → ω
-        double xx = cosO*cosw - sinO*sinw*cosI;
-        double xy = -cosO*sinw - sinO*cosw*cosI;
-        double xz = sinO*sinI;
-
-        double yx = sinO*cosw + cosO*sinw*cosI;
-        double yy = -sinO*sinw + cosO*cosw*cosI;
-        double yz = -cosO*sinI;
-
-        double zx = sinw*sinI;
-        double zy = cosw*sinI;
-        double zz = cosI;
-
-        return new double[]{
-                xx*x + xy*y + xz*z,
-                yx*x + yy*y + yz*z,
-                zx*x + zy*y + zz*z
-        };
+    static double rateAtLast(double[] t, double[] y, int off, int stride, int n) {
+        double s0 = n, s1 = 0, s2 = 0, s3 = 0, s4 = 0;
+        double sy = 0, sty = 0, stty = 0;
+        for (int k = 0; k < n; k++) {
+            double tk = t[k], tk2 = tk * tk;
+            s1 += tk;
+            s2 += tk2;
+            s3 += tk2 * tk;
+            s4 += tk2 * tk2;
+            double yk = y[off + k * stride];
+            sy   += yk;
+            sty  += tk * yk;
+            stty += tk2 * yk;
+        }
+
+        if (n >= 3) {
+            // normal equations [s0 s1 s2; s1 s2 s3; s2 s3 s4]·c = [sy; sty; stty], Cramer for c1
+            double det = s0 * (s2 * s4 - s3 * s3) - s1 * (s1 * s4 - s3 * s2) + s2 * (s1 * s3 - s2 * s2);
+            if (Math.abs(det) > 1e-9 * Math.max(1, s4 * s2 * s0)) {
+                double det1 = s0 * (sty * s4 - s3 * stty) - sy * (s1 * s4 - s3 * s2) + s2 * (s1 * stty - sty * s2);
+                return det1 / det;
+            }
+        }
+
+        double denom = s0 * s2 - s1 * s1;
+        return denom != 0 ? (s0 * sty - s1 * sy) / denom : 0;
     }
 }
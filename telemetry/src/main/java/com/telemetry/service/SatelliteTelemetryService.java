@@ -1,5 +1,6 @@
 package com.telemetry.service;
 
+import com.telemetry.client.N2yoClient;
 import com.telemetry.dto.TelemetryDto;
 import com.telemetry.dto.TelemetryPosition;
 import com.telemetry.dto.TelemetryResponse;
@@ -7,67 +8,181 @@ import com.telemetry.model.TrajectoryData;
 import com.telemetry.model.SatelliteReference;
 import com.telemetry.repository.SatelliteReferenceRepository;
 import com.telemetry.repository.TrajectoryDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class SatelliteTelemetryService {
 
+    private static final Logger log = LoggerFactory.getLogger(SatelliteTelemetryService.class);
+
+    private static final int MAX_WINDOW = 300;   // N2YO limit for /satellite/positions
+
     private final SatelliteReferenceRepository referenceRepo;
     private final TrajectoryDataRepository     trajectoryRepo;
     private final TelemetryService             telemetryService;
-    private final RestTemplate                 restTemplate = new RestTemplate();
-    private final ExecutorService              executor     = Executors.newFixedThreadPool(10);
+    private final TrajectoryIngestBuffer       ingestBuffer;
+    private final KinematicStateStore          kinematicState;
+    private final N2yoClient                   n2yoClient;
+    private final LatestTelemetryCache         latestCache;
+
+    private final AtomicBoolean cycleRunning   = new AtomicBoolean();
+    private final AtomicBoolean cycleRequested = new AtomicBoolean();
+    private final AtomicInteger rotation       = new AtomicInteger();
+
+    @Value("${telemetry.poll.rate:60000}")
+    private long pollRateMs;
+
+    /** Observer sent to N2YO; only affects the stored azimuth/elevation */
+    @Value("${telemetry.poll.observer.latitude:41.702}")
+    private double observerLat;
+
+    @Value("${telemetry.poll.observer.longitude:-76.014}")
+    private double observerLng;
+
+    @Value("${telemetry.poll.observer.altitude-km:0}")
+    private double observerAltKm;
 
-    @Value("${n2yo.api.base-url}")
-    private String apiBaseUrl;
+    /** Seconds of positions requested per call; see telemetry.poll.all-samples */
+    @Value("${telemetry.poll.window-seconds:2}")
+    private int windowSeconds;
 
-    @Value("${n2yo.api.key}")
-    private String apiKey;
+    /** What to do when a tick fires while the previous cycle is still running: skip | coalesce */
+    @Value("${telemetry.poll.overrun-policy:coalesce}")
+    private String overrunPolicy;
+
+    /**
+     * Limit each cycle to its share of the hourly N2YO quota, rotating through the
+     * fleet: a fleet larger than the share is then refreshed less often than every
+     * cycle. Off by default.
+     */
+    @Value("${telemetry.poll.spread-quota:false}")
+    private boolean spreadQuota;
+
+    private final AtomicBoolean rotationLogged = new AtomicBoolean();
 
     public SatelliteTelemetryService(
             SatelliteReferenceRepository referenceRepo,
             TrajectoryDataRepository      trajectoryRepo,
-            TelemetryService              telemetryService
+            TelemetryService              telemetryService,
+            TrajectoryIngestBuffer        ingestBuffer,
+            KinematicStateStore           kinematicState,
+            N2yoClient                    n2yoClient,
+            LatestTelemetryCache          latestCache
     ) {
         this.referenceRepo    = referenceRepo;
         this.trajectoryRepo   = trajectoryRepo;
         this.telemetryService = telemetryService;
+        this.ingestBuffer     = ingestBuffer;
+        this.kinematicState   = kinematicState;
+        this.n2yoClient       = n2yoClient;
+        this.latestCache      = latestCache;
     }
 
     /**
      * Poll every ${telemetry.poll.rate:60000}ms:
-     * for each SatelliteReference.externalId → fetch & persist.
+     * for each SatelliteReference.externalId → fetch, then persist the whole
+     * cycle through the ingest buffer in one batched write.
+     *
+     * Fetches run asynchronously, so the scheduler thread returns at once. A tick
+     * that arrives while a cycle is still running is dropped (skip) or turned into
+     * one follow-up cycle (coalesce); cycles never overlap or queue up.
      */
     @Scheduled(fixedRateString = "${telemetry.poll.rate:60000}")
     public void fetchAllSatelliteTelemetry() {
-        List<CompletableFuture<Void>> jobs = referenceRepo.findAll()
-                .stream()
-                .map(ref -> CompletableFuture.runAsync(() -> {
-                    try {
-                        TelemetryResponse resp = fetchTelemetry(ref.getExternalId());
-                        saveTrajectory(ref.getExternalId(), resp);
-                    } catch (Exception e) {
-                        // TODO: replace with your logger
-                        System.err.println("Telemetry error for " + ref.getExternalId() + ": " + e);
-                    }
-                }, executor))
-                .collect(Collectors.toList());
+        if (!cycleRunning.compareAndSet(false, true)) {
+            if ("coalesce".equalsIgnoreCase(overrunPolicy)) {
+                cycleRequested.set(true);
+                log.debug("Poll cycle still running, coalescing tick");
+            } else {
+                log.warn("Poll cycle still running, skipping tick");
+            }
+            return;
+        }
+        startCycle();
+    }
 
-        CompletableFuture.allOf(jobs.toArray(new CompletableFuture[0])).join();
+    private void startCycle() {
+        long started = System.currentTimeMillis();
+        List<SatelliteReference> refs;
+        try {
+            refs = referenceRepo.findAll();
+        } catch (Exception e) {
+            log.error("Could not load satellite references: {}", e.getMessage(), e);
+            finishCycle();
+            return;
+        }
+
+        List<SatelliteReference> due = selectDue(refs);
+        // whatever is still throttled when the next tick is due is dropped for this cycle
+        long deadline = started + pollRateMs;
+        int window = Math.max(2, Math.min(windowSeconds, MAX_WINDOW));
+
+        CompletableFuture<?>[] jobs = due.stream()
+                .map(ref -> n2yoClient
+                        .fetchPositions(ref.getExternalId(), observerLat, observerLng, observerAltKm, window, deadline)
+                        .thenAccept(resp -> saveTrajectory(ref.getExternalId(), resp))
+                        .exceptionally(e -> {
+                            log.warn("Telemetry error for {}: {}", ref.getExternalId(), e.getMessage());
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(jobs).whenComplete((v, e) -> {
+            try {
+                ingestBuffer.flush();
+
+                // forget state of satellites that are no longer referenced
+                long[] referenced = refs.stream().mapToLong(SatelliteReference::getExternalId).toArray();
+                kinematicState.retainOnly(referenced);
+                latestCache.retainOnly(referenced);
+
+                log.debug("Poll cycle fetched {}/{} satellites in {} ms",
+                        due.size(), refs.size(), System.currentTimeMillis() - started);
+            } finally {
+                finishCycle();
+            }
+        });
+    }
+
+    private void finishCycle() {
+        cycleRunning.set(false);
+        if (cycleRequested.getAndSet(false) && cycleRunning.compareAndSet(false, true)) {
+            startCycle();
+        }
+    }
+
+    /**
+     * The satellites to fetch this cycle: all of them, or, when the fleet is larger
+     * than this cycle's share of the hourly quota, the next window of a round-robin.
+     */
+    private List<SatelliteReference> selectDue(List<SatelliteReference> refs) {
+        if (!spreadQuota || refs.isEmpty()) return refs;
+
+        int budget = (int) Math.max(1, n2yoClient.hourlyQuota() * pollRateMs / 3_600_000L);
+        if (refs.size() <= budget) return refs;
+        if (rotationLogged.compareAndSet(false, true)) {
+            log.warn("{} satellites exceed the quota share of {} per cycle; each is refreshed every {} cycles",
+                    refs.size(), budget, (refs.size() + budget - 1) / budget);
+        }
+
+        int from = Math.floorMod(rotation.getAndAdd(budget), refs.size());
+        List<SatelliteReference> due = new ArrayList<>(budget);
+        for (int i = 0; i < budget; i++) {
+            due.add(refs.get((from + i) % refs.size()));
+        }
+        return due;
     }
 
     /**
@@ -100,36 +215,12 @@ public class SatelliteTelemetryService {
                 .collect(Collectors.toList());
     }
 
-    private TelemetryResponse fetchTelemetry(long externalId) throws Exception {
-        double obsLat   = 41.702;
-        double obsLng   = -76.014;
-        double obsAltKm = 0.0;
-        int    duration = 2;
-
-        // now insert the missing /satellite/positions
-        String url = String.format(
-                "%s/satellite/positions/%d/%.6f/%.6f/%.1f/%d?apiKey=%s",
-                apiBaseUrl,
-                externalId,
-                obsLat,
-                obsLng,
-                obsAltKm,
-                duration,
-                apiKey
-        );
-
-        String json = restTemplate.getForObject(url, String.class);
-        return telemetryService.parseTelemetryResponse(json);
-    }
-
-
-
     /**
-     * Save the batch of TrajectoryData built by your TelemetryService helper.
+     * Queue the TrajectoryData built by your TelemetryService helper for the next batched flush.
      */
     private void saveTrajectory(long externalId, TelemetryResponse resp) {
         List<TrajectoryData> batch = telemetryService.toTrajectoryEntities(externalId, resp);
-        trajectoryRepo.saveAll(batch);
+        ingestBuffer.add(batch);
     }
 
     /**
@@ -139,8 +230,8 @@ public class SatelliteTelemetryService {
         return referenceRepo.findAll()
                 .stream()
                 .map(ref ->
-                        trajectoryRepo
-                                .findFirstByIdExternalIdOrderByIdTimestampDesc(ref.getExternalId())
+                        latestCache
+                                .get(ref.getExternalId())
                                 .map(telemetryService::toDto)
                                 .orElse(null)
                 )
@@ -149,19 +240,8 @@ public class SatelliteTelemetryService {
     }
 
     public Map<Long, TrajectoryData> getLatestForEnterprise(UUID enterpriseId) {
-        return referenceRepo.findByEnterpriseId(enterpriseId).stream()
-                .flatMap(ref ->
-                        trajectoryRepo
-                                .findFirstByIdExternalIdOrderByIdTimestampDesc(ref.getExternalId()).stream().map(dto -> new AbstractMap.SimpleEntry<>(ref.getExternalId(), dto))
-                )
-                .collect(Collectors.toMap(
-                        AbstractMap.SimpleEntry::getKey,
-                        AbstractMap.SimpleEntry::getValue
-                ));
-
+        return latestCache.getAll(referenceRepo.findByEnterpriseId(enterpriseId).stream()
+                .map(SatelliteReference::getExternalId)
+                .collect(Collectors.toList()));
     }
-
-
-
-
 }
@@ -1,16 +1,17 @@
 // src/main/java/com/telemetry/service/TelemetryService.java
 package com.telemetry.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.telemetry.dto.*;
 import com.telemetry.model.SatelliteReference;
 import com.telemetry.model.TrajectoryData;
+import com.telemetry.propagation.OrbitalMath;
 import com.telemetry.repository.SatelliteReferenceRepository;
 import com.telemetry.repository.TrajectoryDataRepository;
+import com.telemetry.repository.TrajectoryJdbcRepository;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
@@ -24,43 +25,27 @@ public class TelemetryService {
     private static final Logger log = LoggerFactory.getLogger(TelemetryService.class);
     private static final double EARTH_RADIUS_M = 6_378_137.0;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final PredictionService predictionService;
 
     private final TrajectoryDataRepository trajectoryDataRepository;
+    private final TrajectoryJdbcRepository trajectoryJdbcRepository;
 
-    /** Now keyed by externalId (long) instead of UUID */
-    private final Map<Long, double[]> previousVelocityECEF = new HashMap<>();
+    /** Store every sample of a fetch (central differences) instead of only the first */
+    @Value("${telemetry.poll.all-samples:false}")
+    private boolean allSamples;
+
+    /** Last velocity per externalId, shared by all poll threads */
+    private final KinematicStateStore kinematicState;
+    private final LatestTelemetryCache latestCache;
     private final SatelliteReferenceRepository satelliteReferenceRepository;
 
-    public TelemetryService(PredictionService predictionService, TrajectoryDataRepository trajectoryDataRepository, SatelliteReferenceRepository satelliteReferenceRepository) {
+    public TelemetryService(PredictionService predictionService, TrajectoryDataRepository trajectoryDataRepository, SatelliteReferenceRepository satelliteReferenceRepository, KinematicStateStore kinematicState, LatestTelemetryCache latestCache, TrajectoryJdbcRepository trajectoryJdbcRepository) {
         this.predictionService = predictionService;
         this.trajectoryDataRepository = trajectoryDataRepository;
         this.satelliteReferenceRepository = satelliteReferenceRepository;
-    }
-
-    public TelemetryResponse parseTelemetryResponse(String response) throws Exception {
-        JsonNode root = objectMapper.readTree(response);
-        if (root.has("error")) {
-            throw new Exception("API Error: " + root.get("error").asText());
-        }
-
-        TelemetryInfo info = objectMapper.treeToValue(root.get("info"), TelemetryInfo.class);
-
-        JsonNode positionsNode = root.get("positions");
-        if (positionsNode == null || !positionsNode.isArray() || positionsNode.size() < 2) {
-            throw new Exception("Not enough positions in response");
-        }
-
-        List<TelemetryPosition> positions = new ArrayList<>();
-        for (JsonNode n : positionsNode) {
-            TelemetryPosition pos = objectMapper.treeToValue(n, TelemetryPosition.class);
-            long unixSec = n.get("timestamp").asLong();
-            pos.setTimestamp(new Timestamp(unixSec * 1000L));
-            positions.add(pos);
-        }
-
-        return new TelemetryResponse(positions, info);
+        this.kinematicState = kinematicState;
+        this.latestCache = latestCache;
+        this.trajectoryJdbcRepository = trajectoryJdbcRepository;
     }
 
     /**
@@ -74,14 +59,17 @@ public class TelemetryService {
             log.warn("Skipping telemetry for {}: only {} positions", externalId, pos.size());
             return Collections.emptyList();
         }
+        if (allSamples && pos.size() >= 3) {
+            return toTrajectoryEntitiesAllSamples(externalId, pos);
+        }
 
         TelemetryPosition p1 = pos.get(0);
         TelemetryPosition p2 = pos.get(1);
 
-        // ECEF for the first point
-        double[] e1 = toECEF(p1.getSatlatitude(),
-                p1.getSatlongitude(),
-                p1.getSataltitude() * 1000.0);
+        // ECEF for both points: e[0..2] first, e[3..5] second
+        double[] e = new double[6];
+        OrbitalMath.sphericalToCartesian(p1.getSatlatitude(), p1.getSatlongitude(),
+                EARTH_RADIUS_M + p1.getSataltitude() * 1000.0, e, 0);
 
         // Δt
         long dtMs = p2.getTimestamp().getTime() - p1.getTimestamp().getTime();
@@ -91,33 +79,23 @@ public class TelemetryService {
         }
         double dt = dtMs / 1_000.0;
 
-        // ECEF for the second point
-        double[] e2 = toECEF(p2.getSatlatitude(),
-                p2.getSatlongitude(),
-                p2.getSataltitude() * 1000.0);
+        OrbitalMath.sphericalToCartesian(p2.getSatlatitude(), p2.getSatlongitude(),
+                EARTH_RADIUS_M + p2.getSataltitude() * 1000.0, e, 3);
 
         // Velocity vector
-        double vx = (e2[0] - e1[0]) / dt;
-        double vy = (e2[1] - e1[1]) / dt;
-        double vz = (e2[2] - e1[2]) / dt;
+        double vx = (e[3] - e[0]) / dt;
+        double vy = (e[4] - e[1]) / dt;
+        double vz = (e[5] - e[2]) / dt;
         float vX = (float) vx, vY = (float) vy, vZ = (float) vz;
         float speed = (float) Math.sqrt(vx*vx + vy*vy + vz*vz);
 
-        // Acceleration
-        float accel = 0f;
-        if (previousVelocityECEF.containsKey(externalId)) {
-            double[] prev = previousVelocityECEF.get(externalId);
-            double ax = (vx - prev[0]) / dt;
-            double ay = (vy - prev[1]) / dt;
-            double az = (vz - prev[2]) / dt;
-            accel = (float) Math.sqrt(ax*ax + ay*ay + az*az);
-        }
-        previousVelocityECEF.put(externalId, new double[]{vx, vy, vz});
+        // Acceleration relative to the previous poll's velocity
+        float accel = kinematicState.update(externalId, p1.getTimestamp().getTime(), vx, vy, vz);
 
         // Orbit radius
-        float orbitRadius = (float) Math.sqrt(e1[0]*e1[0]
-                + e1[1]*e1[1]
-                + e1[2]*e1[2]);
+        float orbitRadius = (float) Math.sqrt(e[0]*e[0]
+                + e[1]*e[1]
+                + e[2]*e[2]);
 
         // Build the embedded key
         TrajectoryDataKey key = new TrajectoryDataKey(externalId, p1.getTimestamp());
@@ -125,7 +103,7 @@ public class TelemetryService {
         // Build one TrajectoryData record
         TrajectoryData traj = new TrajectoryData(
                 key,
-                (float)e1[0], (float)e1[1], (float)e1[2],
+                (float)e[0], (float)e[1], (float)e[2],
                 vX, vY, vZ, speed,
                 accel, orbitRadius,
                 p1.getSatlatitude(),
@@ -140,6 +118,77 @@ public class TelemetryService {
         return List.of(traj);
     }
 
+    /**
+     * One TrajectoryData per returned position. Velocity and acceleration come from
+     * central differences over the neighbouring samples (one-sided at both ends),
+     * so a 300 s window yields 300 stored points for a single API transaction.
+     */
+    private List<TrajectoryData> toTrajectoryEntitiesAllSamples(long externalId,
+                                                                List<TelemetryPosition> pos) {
+        int n = pos.size();
+        double[] t = new double[n];
+        double[] r = new double[n * 3];
+        for (int i = 0; i < n; i++) {
+            TelemetryPosition p = pos.get(i);
+            t[i] = p.getTimestamp().getTime() / 1_000.0;
+            if (i > 0 && t[i] <= t[i - 1]) {
+                log.warn("Non-increasing timestamps for {}, storing first sample only", externalId);
+                return toTrajectoryEntities(externalId, new TelemetryResponse(pos.subList(0, 2), null));
+            }
+            OrbitalMath.sphericalToCartesian(p.getSatlatitude(), p.getSatlongitude(),
+                    EARTH_RADIUS_M + p.getSataltitude() * 1000.0, r, i * 3);
+        }
+
+        double[] v = centralDifference(r, t);
+        double[] a = centralDifference(v, t);
+
+        // keep the cross-poll state current for single-sample mode and restarts
+        kinematicState.update(externalId, pos.get(n - 1).getTimestamp().getTime(),
+                v[(n - 1) * 3], v[(n - 1) * 3 + 1], v[(n - 1) * 3 + 2]);
+
+        List<TrajectoryData> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            TelemetryPosition p = pos.get(i);
+            int k = i * 3;
+            double speed = Math.sqrt(v[k]*v[k] + v[k+1]*v[k+1] + v[k+2]*v[k+2]);
+            double accel = Math.sqrt(a[k]*a[k] + a[k+1]*a[k+1] + a[k+2]*a[k+2]);
+            double orbitRadius = Math.sqrt(r[k]*r[k] + r[k+1]*r[k+1] + r[k+2]*r[k+2]);
+
+            out.add(new TrajectoryData(
+                    new TrajectoryDataKey(externalId, p.getTimestamp()),
+                    (float) r[k], (float) r[k+1], (float) r[k+2],
+                    (float) v[k], (float) v[k+1], (float) v[k+2], (float) speed,
+                    (float) accel, (float) orbitRadius,
+                    p.getSatlatitude(),
+                    p.getSatlongitude(),
+                    p.getSataltitude(),
+                    p.getAzimuth(),
+                    p.getElevation(),
+                    p.getRightAscension(),
+                    p.getDeclination()
+            ));
+        }
+        return out;
+    }
+
+    /**
+     * d/dt of an interleaved xyz series: (x[i+1] - x[i-1]) / (t[i+1] - t[i-1]) inside,
+     * forward/backward differences at the ends. Needs at least two samples.
+     */
+    private static double[] centralDifference(double[] x, double[] t) {
+        int n = t.length;
+        double[] d = new double[x.length];
+        for (int i = 0; i < n; i++) {
+            int lo = Math.max(0, i - 1);
+            int hi = Math.min(n - 1, i + 1);
+            double dt = t[hi] - t[lo];
+            for (int c = 0; c < 3; c++) {
+                d[i * 3 + c] = (x[hi * 3 + c] - x[lo * 3 + c]) / dt;
+            }
+        }
+        return d;
+    }
+
     /** Delegate to PredictionService for short‐term extrapolation */
     public List<PredictiveOrbitPoint> predictOrbit(List<TelemetryPosition> positions,
                                                    int steps, int stepSeconds) {
@@ -152,18 +201,6 @@ public class TelemetryService {
         return predictionService.predictFullOrbit(positions, numPoints);
     }
 
-    /** Simple lat/lon/alt → ECEF (meters) */
-    private double[] toECEF(double latDeg, double lonDeg, double altM) {
-        double φ = Math.toRadians(latDeg);
-        double λ = Math.toRadians(lonDeg);
-        double r = EARTH_RADIUS_M + altM;
-        return new double[]{
-                r * Math.cos(φ) * Math.cos(λ),
-                r * Math.cos(φ) * Math.sin(λ),
-                r * Math.sin(φ)
-        };
-    }
-
     public TelemetryDto toDto(TrajectoryData d) {
         return null;
     }
@@ -198,10 +235,7 @@ public class TelemetryService {
 
         for (SatelliteReference ref : refs) {
             Long externalId = ref.getExternalId();
-            TrajectoryData latest =
-                    trajectoryDataRepository
-                            .findTopByIdExternalIdOrderByIdTimestampDesc(externalId)
-                            .orElse(null);
+            TrajectoryData latest = latestCache.get(externalId).orElse(null);
 
             if (latest != null) {
                 sum   += latest.getOrbitRadius();
@@ -214,74 +248,30 @@ public class TelemetryService {
                 : 0.0;
     }
 
+    /**
+     * Latest state and 24h point counts for all of the enterprise's satellites,
+     * computed by one set-based query instead of two queries per satellite.
+     */
     public TelemetrySummaryDTO getTelemetrySummary(UUID enterpriseId) {
-        // 1. fetch all spacecraft references for this enterprise
-        List<SatelliteReference> refs = satelliteReferenceRepository.findByEnterpriseId(enterpriseId);
+        Timestamp since = Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS));
+        List<TelemetrySummaryDTO.SpacecraftTelemetry> entries =
+                trajectoryJdbcRepository.findEnterpriseSummary(enterpriseId, since);
 
-        // prepare DTO and accumulators
-        TelemetrySummaryDTO dto = new TelemetrySummaryDTO();
-        List<TelemetrySummaryDTO.SpacecraftTelemetry> entries = new ArrayList<>();
+        // overall system metrics over the tracked spacecraft
         long totalDataPoints = 0;
         double sumVelocities = 0;
         int trackedCount    = 0;
-
-        // 2. iterate each spacecraft
-        for (SatelliteReference ref : refs) {
-            long externalId = ref.getExternalId();
-            TelemetrySummaryDTO.SpacecraftTelemetry entry = new TelemetrySummaryDTO.SpacecraftTelemetry();
-            entry.setExternalId(externalId);
-            entry.setSpacecraftName(null); // set if you have a name
-
-            // fetch latest trajectory data
-            Optional<TrajectoryData> latestOpt =
-                    trajectoryDataRepository.findTopByIdExternalIdOrderByIdTimestampDesc(externalId);
-
-            if (latestOpt.isPresent()) {
-                TrajectoryData latest = latestOpt.get();
-
-                // position vector
-                entry.setCurrentPosition(Map.of(
-                        "x", latest.getPositionX(),
-                        "y", latest.getPositionY(),
-                        "z", latest.getPositionZ()
-                ));
-
-                // velocity & orbit
-                float vel = latest.getVelocity();
-                entry.setCurrentVelocity(vel);
-                entry.setCurrentOrbitRadius(latest.getOrbitRadius());
-
-                // timestamp
-                entry.setTimestamp(latest.getTimestamp().toString());
-
-                // data points in last 24h
-                Timestamp since = Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS));
-                long dp24h = trajectoryDataRepository
-                        .countByIdTimestampAfterAndIdExternalId(since, externalId);
-                entry.setDataPointsLast24h(dp24h);
-                entry.setCurrentlyTracked(true);
-
-                // accumulate for system metrics
-                totalDataPoints += dp24h;
-                sumVelocities   += vel;
+        for (TelemetrySummaryDTO.SpacecraftTelemetry entry : entries) {
+            if (entry.isCurrentlyTracked()) {
+                totalDataPoints += entry.getDataPointsLast24h();
+                sumVelocities   += entry.getCurrentVelocity();
                 trackedCount++;
-            } else {
-                // defaults if no data
-                entry.setCurrentPosition(Map.of());
-                entry.setCurrentVelocity(0f);
-                entry.setCurrentOrbitRadius(0f);
-                entry.setTimestamp(null);
-                entry.setDataPointsLast24h(0L);
-                entry.setCurrentlyTracked(false);
             }
-
-            entries.add(entry);
         }
 
-        // 3. assign per-spacecraft list
+        TelemetrySummaryDTO dto = new TelemetrySummaryDTO();
         dto.setSpacecrafts(entries);
 
-        // 4. compute overall system metrics
         TelemetrySummaryDTO.SystemMetrics system = new TelemetrySummaryDTO.SystemMetrics();
         system.setTotalDataPointsLast24h(totalDataPoints);
         system.setAverageSystemVelocity(
@@ -1,19 +1,32 @@
 // src/main/java/com/telemetry/service/TelemetryVisualizationService.java
 package com.telemetry.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.telemetry.dto.ColumnarTimeSeries;
 import com.telemetry.dto.PredictiveOrbitPoint;
-import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TrajectoryStatistics;
 import com.telemetry.model.TrajectoryData;
 import com.telemetry.repository.TrajectoryDataRepository;
+import com.telemetry.repository.TrajectoryJdbcRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
 import java.util.*;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,23 +34,57 @@ public class TelemetryVisualizationService {
 
     private static final Logger logger = LoggerFactory.getLogger(TelemetryVisualizationService.class);
 
+    /** Buckets fetched per requested point before LTTB selection */
+    private static final int LTTB_OVERSAMPLE  = 4;
+    private static final int MAX_LTTB_BUCKETS = 20_000;
+
+    private static final JsonFactory  EXPORT_JSON   = new JsonFactory();
+    private static final List<String> EXPORT_FIELDS = List.of(
+            "externalId", "timestamp",
+            "positionX", "positionY", "positionZ",
+            "velocityX", "velocityY", "velocityZ", "velocity",
+            "acceleration", "orbitRadius",
+            "latitude", "longitude", "altitude",
+            "azimuth", "elevation", "rightAscension", "declination"
+    );
+
+    /** trajectory_data column of each parameter name accepted by extractParam */
+    private static final Map<String, String> PARAMETER_COLUMNS = Map.of(
+            "velocity",     "velocity",
+            "velocityX",    "velocity_x",
+            "velocityY",    "velocity_y",
+            "velocityZ",    "velocity_z",
+            "acceleration", "acceleration",
+            "altitude",     "sat_altitude",
+            "latitude",     "sat_latitude",
+            "longitude",    "sat_longitude",
+            "azimuth",      "azimuth",
+            "elevation",    "elevation"
+    );
+
     private final TrajectoryDataRepository trajectoryRepo;
-    private final PredictionService        predictionService;
+    private final PredictionCache          predictionCache;
+    private final LatestTelemetryCache     latestCache;
+    private final TrajectoryJdbcRepository trajectoryJdbcRepo;
 
     public TelemetryVisualizationService(
             TrajectoryDataRepository trajectoryRepo,
-            PredictionService predictionService
+            PredictionCache predictionCache,
+            LatestTelemetryCache latestCache,
+            TrajectoryJdbcRepository trajectoryJdbcRepo
     ) {
         this.trajectoryRepo     = trajectoryRepo;
-        this.predictionService  = predictionService;
+        this.predictionCache    = predictionCache;
+        this.latestCache        = latestCache;
+        this.trajectoryJdbcRepo = trajectoryJdbcRepo;
     }
 
     /**
      * Latest telemetry point for a given externalId.
      */
     public Map<String, Object> getLatestTelemetryPoint(long externalId) {
-        return trajectoryRepo
-                .findFirstByIdExternalIdOrderByIdTimestampDesc(externalId)
+        return latestCache
+                .get(externalId)
                 .map(this::formatLatest)
                 .orElse(null);
     }
@@ -78,10 +125,12 @@ public class TelemetryVisualizationService {
     }
 
     /**
-     * Time-series of one parameter over [start…end], default last 24h.
+     * Time-series of one parameter over [start…end], default last 24h,
+     * reduced to at most {@code maxPoints} points when given.
      */
     public List<Map<String, Object>> getParameterTimeSeries(
-            long externalId, String parameter, Instant start, Instant end
+            long externalId, String parameter, Instant start, Instant end,
+            Integer maxPoints, String mode
     ) {
         Instant defaultEnd   = end != null ? end : Instant.now();
         Instant defaultStart = start != null ? start : defaultEnd.minus(24, ChronoUnit.HOURS);
@@ -89,8 +138,7 @@ public class TelemetryVisualizationService {
         Timestamp from = Timestamp.from(defaultStart);
         Timestamp to   = Timestamp.from(defaultEnd);
 
-        return trajectoryRepo
-                .findByExternalIdAndTimeRange(externalId, from, to)
+        return loadRange(externalId, from, to, maxPoints, mode, d -> extractParam(d, parameter))
                 .stream()
                 .map(d -> Map.<String, Object>of(
                         "timestamp", d.getTimestamp(),
@@ -99,6 +147,69 @@ public class TelemetryVisualizationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Rows of [from…to]. Without {@code maxPoints} every raw row is returned.
+     * Otherwise the database reduces the range with time_bucket to at most
+     * {@code maxPoints} rows ({@code mode=bucket}, the default), or to
+     * {@link #LTTB_OVERSAMPLE} times that many buckets which LTTB then thins out
+     * on {@code lttbValue} ({@code mode=lttb}).
+     */
+    private List<TrajectoryData> loadRange(long externalId, Timestamp from, Timestamp to,
+                                           Integer maxPoints, String mode,
+                                           ToDoubleFunction<TrajectoryData> lttbValue) {
+        List<TrajectoryData> rows = loadCandidates(externalId, from, to, maxPoints, mode);
+        if (!isLttb(maxPoints, mode) || rows.size() <= maxPoints) {
+            return rows;
+        }
+        return pick(rows, lttbIndices(rows, lttbValue, maxPoints));
+    }
+
+    /**
+     * The rows {@link #loadRange} reduces: raw rows without {@code maxPoints},
+     * else {@code maxPoints} buckets, or LTTB_OVERSAMPLE times as many for LTTB.
+     */
+    private List<TrajectoryData> loadCandidates(long externalId, Timestamp from, Timestamp to,
+                                                Integer maxPoints, String mode) {
+        if (maxPoints == null || maxPoints <= 0) {
+            return trajectoryRepo.findByExternalIdAndTimeRange(externalId, from, to);
+        }
+        int buckets = isLttb(maxPoints, mode) ? Math.min(maxPoints * LTTB_OVERSAMPLE, MAX_LTTB_BUCKETS) : maxPoints;
+        return trajectoryJdbcRepo.findBucketed(externalId, from, to, bucketWidthMs(from, to, buckets));
+    }
+
+    private static boolean isLttb(Integer maxPoints, String mode) {
+        return maxPoints != null && maxPoints > 0 && "lttb".equalsIgnoreCase(mode);
+    }
+
+    private static int[] lttbIndices(List<TrajectoryData> rows, ToDoubleFunction<TrajectoryData> value,
+                                     int threshold) {
+        long[]   x = new long[rows.size()];
+        double[] y = new double[rows.size()];
+        for (int i = 0; i < x.length; i++) {
+            TrajectoryData d = rows.get(i);
+            x[i] = d.getTimestamp().getTime();
+            y[i] = value.applyAsDouble(d);
+        }
+        return Downsampler.lttb(x, y, threshold);
+    }
+
+    private static List<TrajectoryData> pick(List<TrajectoryData> rows, int[] keep) {
+        List<TrajectoryData> out = new ArrayList<>(keep.length);
+        for (int i : keep) {
+            out.add(rows.get(i));
+        }
+        return out;
+    }
+
+    /**
+     * Width such that [from…to] spans at most {@code buckets} buckets whatever the
+     * bucket alignment; never below one second.
+     */
+    private static long bucketWidthMs(Timestamp from, Timestamp to, int buckets) {
+        long range = Math.max(0, to.getTime() - from.getTime());
+        long width = buckets > 1 ? (range + buckets - 2) / (buckets - 1) : range + 1;
+        return Math.max(1000, width);
+    }
 
     private double extractParam(TrajectoryData d, String p) {
         return switch(p) {
@@ -117,30 +228,57 @@ public class TelemetryVisualizationService {
     }
 
     /**
-     * Multi-parameter time-series.
+     * Multi-parameter time-series from a single scan of the range. In LTTB mode
+     * every parameter gets its own selection of up to {@code maxPoints} points,
+     * so series may have different timestamps.
      */
     public Map<String, List<Map<String, Object>>> getMultiParameterTimeSeries(
             long externalId,
             List<String> parameters,
             Instant start,
-            Instant end
+            Instant end,
+            Integer maxPoints,
+            String mode
     ) {
-        return parameters.stream()
-                .collect(Collectors.toMap(
-                        p -> p,
-                        p -> getParameterTimeSeries(externalId, p, start, end)
+        Instant defaultEnd   = end != null ? end : Instant.now();
+        Instant defaultStart = start != null ? start : defaultEnd.minus(24, ChronoUnit.HOURS);
+
+        List<TrajectoryData> candidates = loadCandidates(externalId,
+                Timestamp.from(defaultStart), Timestamp.from(defaultEnd), maxPoints, mode);
+        boolean lttb = isLttb(maxPoints, mode) && candidates.size() > maxPoints;
+
+        Map<String, List<Map<String, Object>>> out = new LinkedHashMap<>();
+        for (String p : parameters) {
+            List<TrajectoryData> rows = lttb
+                    ? pick(candidates, lttbIndices(candidates, d -> extractParam(d, p), maxPoints))
+                    : candidates;
+            List<Map<String, Object>> series = new ArrayList<>(rows.size());
+            for (TrajectoryData d : rows) {
+                series.add(Map.of(
+                        "timestamp", d.getTimestamp(),
+                        "value",     extractParam(d, p)
                 ));
+            }
+            out.put(p, series);
+        }
+        return out;
     }
 
-
     /**
-     * Raw trajectory points for 3D viz (with optional down-sampling).
+     * Multi-parameter time-series in columnar form: one timestamp array and one
+     * float array per parameter. Without {@code maxPoints} only the requested
+     * columns are read, straight into the arrays; otherwise the reduced rows are
+     * copied into them. Columns share one timestamp array, so in LTTB mode each
+     * parameter selects {@code maxPoints / parameters} points (at least 3) on its
+     * own values and the rows are the union of those selections.
      */
-    public List<Map<String, Object>> getTrajectoryVisualizationData(
+    public ColumnarTimeSeries getMultiParameterColumns(
             long externalId,
+            List<String> parameters,
             Instant start,
             Instant end,
-            Integer maxPoints
+            Integer maxPoints,
+            String mode
     ) {
         Instant defaultEnd   = end != null ? end : Instant.now();
         Instant defaultStart = start != null ? start : defaultEnd.minus(24, ChronoUnit.HOURS);
@@ -148,13 +286,68 @@ public class TelemetryVisualizationService {
         Timestamp from = Timestamp.from(defaultStart);
         Timestamp to   = Timestamp.from(defaultEnd);
 
-        List<TrajectoryData> data = trajectoryRepo
-                .findByExternalIdAndTimeRange(externalId, from, to);
+        if (maxPoints == null || maxPoints <= 0) {
+            Map<String, String> columns = new LinkedHashMap<>();
+            for (String p : parameters) {
+                String column = PARAMETER_COLUMNS.get(p);
+                if (column != null) columns.put(p, column);
+            }
+            ColumnarTimeSeries result = trajectoryJdbcRepo.findColumns(externalId, from, to, columns);
+
+            // unknown parameters read as 0, like extractParam
+            Map<String, float[]> values = new LinkedHashMap<>();
+            for (String p : parameters) {
+                values.put(p, result.getValues().getOrDefault(p, new float[result.getTimestamps().length]));
+            }
+            result.setValues(values);
+            return result;
+        }
 
-        if (maxPoints != null && data.size() > maxPoints) {
-            data = downsample(data, maxPoints);
+        List<TrajectoryData> rows = loadCandidates(externalId, from, to, maxPoints, mode);
+        if (isLttb(maxPoints, mode) && rows.size() > maxPoints) {
+            int share = Math.max(3, maxPoints / Math.max(1, parameters.size()));
+            SortedSet<Integer> keep = new TreeSet<>();
+            for (String p : parameters) {
+                for (int i : lttbIndices(rows, d -> extractParam(d, p), share)) keep.add(i);
+            }
+            rows = pick(rows, keep.stream().mapToInt(Integer::intValue).toArray());
         }
 
+        long[] timestamps = new long[rows.size()];
+        Map<String, float[]> values = new LinkedHashMap<>();
+        for (String p : parameters) {
+            values.put(p, new float[rows.size()]);
+        }
+        for (int i = 0; i < timestamps.length; i++) {
+            TrajectoryData d = rows.get(i);
+            timestamps[i] = d.getTimestamp().getTime();
+            for (Map.Entry<String, float[]> e : values.entrySet()) {
+                e.getValue()[i] = (float) extractParam(d, e.getKey());
+            }
+        }
+        return new ColumnarTimeSeries(timestamps, values);
+    }
+
+    /**
+     * Trajectory points for 3D viz, reduced in the database when {@code maxPoints}
+     * is given. LTTB mode preserves the shape of the orbit radius curve.
+     */
+    public List<Map<String, Object>> getTrajectoryVisualizationData(
+            long externalId,
+            Instant start,
+            Instant end,
+            Integer maxPoints,
+            String mode
+    ) {
+        Instant defaultEnd   = end != null ? end : Instant.now();
+        Instant defaultStart = start != null ? start : defaultEnd.minus(24, ChronoUnit.HOURS);
+
+        Timestamp from = Timestamp.from(defaultStart);
+        Timestamp to   = Timestamp.from(defaultEnd);
+
+        List<TrajectoryData> data =
+                loadRange(externalId, from, to, maxPoints, mode, TrajectoryData::getOrbitRadius);
+
         return data.stream()
                 .map(d -> {
                     Map<String, Object> m = new HashMap<>();
@@ -171,11 +364,14 @@ public class TelemetryVisualizationService {
 
 
     /**
-     * Combine recent trajectory + predictions.
+     * Combine recent trajectory + predictions; {@code maxPoints} bounds the
+     * actual-trajectory rows read.
      */
     public Map<String, Object> getTrajectoryWithPrediction(
             long externalId,
-            Integer predictionPoints
+            Integer predictionPoints,
+            Integer maxPoints,
+            String mode
     ) {
         Instant now   = Instant.now();
         Instant since = now.minus(3, ChronoUnit.HOURS);
@@ -183,8 +379,8 @@ public class TelemetryVisualizationService {
         Timestamp from = Timestamp.from(since);
         Timestamp to   = Timestamp.from(now);
 
-        List<TrajectoryData> recent = trajectoryRepo
-                .findByExternalIdAndTimeRange(externalId, from, to);
+        List<TrajectoryData> recent =
+                loadRange(externalId, from, to, maxPoints, mode, TrajectoryData::getOrbitRadius);
 
         List<Map<String, Object>> actual = recent.stream()
                 .map(d -> Map.<String, Object>of(
@@ -194,18 +390,9 @@ public class TelemetryVisualizationService {
                 ))
                 .collect(Collectors.toList());
 
-        List<TelemetryPosition> posList = recent.stream()
-                .map(d -> new TelemetryPosition(
-                        d.getSatLatitude(),
-                        d.getSatLongitude(),
-                        d.getSatAltitude(),
-                        d.getTimestamp()
-                ))
-                .collect(Collectors.toList());
-
         int nPred = (predictionPoints != null ? predictionPoints : 120);
-        List<PredictiveOrbitPoint> shortPred = predictionService.predictOrbit(posList, 60, 60);
-        List<PredictiveOrbitPoint> fullPred  = predictionService.predictFullOrbit(posList, nPred);
+        List<PredictiveOrbitPoint> shortPred = predictionCache.shortTerm(externalId, 60, 60);
+        List<PredictiveOrbitPoint> fullPred  = predictionCache.fullOrbit(externalId, nPred);
 
         List<Map<String, Object>> shortData = shortPred.stream()
                 .map(this::formatPred)
@@ -234,67 +421,50 @@ public class TelemetryVisualizationService {
     }
 
     /**
-     * Full statistics for a given externalId.
+     * Full statistics for a given externalId, read from the hourly/daily continuous
+     * aggregates; only the current open hour is aggregated from raw rows.
      */
     public Map<String, Object> getSpacecraftStatistics(long externalId) {
-        List<TrajectoryData> all = trajectoryRepo
-                .findByIdExternalIdOrderByIdTimestampAsc(externalId);
+        Optional<TrajectoryStatistics> found = trajectoryJdbcRepo
+                .findStatistics(externalId, Timestamp.from(Instant.now()));
 
-        if (all.isEmpty()) {
+        if (found.isEmpty()) {
             return Collections.emptyMap();
         }
-
-        TrajectoryData first = all.get(0);
-        TrajectoryData last  = all.get(all.size() - 1);
+        TrajectoryStatistics s = found.get();
 
         Map<String, Object> stats = new HashMap<>();
-        // compute duration via Instant (or via getTime())
-        double durationHours = (last.getTimestamp().toInstant().toEpochMilli()
-                - first.getTimestamp().toInstant().toEpochMilli())
-                / 3_600_000.0;
+        double durationHours = (s.getLast().getTime() - s.getFirst().getTime()) / 3_600_000.0;
 
         stats.put("timeRange", Map.of(
-                "first",         first.getTimestamp(),
-                "last",          last.getTimestamp(),
+                "first",         s.getFirst(),
+                "last",          s.getLast(),
                 "durationHours", durationHours
         ));
-        stats.put("dataPoints", all.size());
-
-        var velStats = all.stream().mapToDouble(TrajectoryData::getVelocity).summaryStatistics();
-        var accStats = all.stream().mapToDouble(TrajectoryData::getAcceleration).summaryStatistics();
-        var altStats = all.stream()
-                .filter(d -> d.getSatAltitude() != null)
-                .mapToDouble(TrajectoryData::getSatAltitude)
-                .summaryStatistics();
+        stats.put("dataPoints", s.getPoints());
 
         stats.put("velocity", Map.of(
-                "min", velStats.getMin(),
-                "max", velStats.getMax(),
-                "avg", velStats.getAverage()
+                "min", s.getVelocityMin(),
+                "max", s.getVelocityMax(),
+                "avg", s.getVelocityAvg()
         ));
         stats.put("acceleration", Map.of(
-                "min", accStats.getMin(),
-                "max", accStats.getMax(),
-                "avg", accStats.getAverage()
+                "min", s.getAccelerationMin(),
+                "max", s.getAccelerationMax(),
+                "avg", s.getAccelerationAvg()
         ));
-        if (altStats.getCount() > 0) {
+        if (s.getAltitudePoints() > 0) {
             stats.put("altitude", Map.of(
-                    "min", altStats.getMin(),
-                    "max", altStats.getMax(),
-                    "avg", altStats.getAverage()
+                    "min", s.getAltitudeMin(),
+                    "max", s.getAltitudeMax(),
+                    "avg", s.getAltitudeAvg()
             ));
         }
 
-        Instant cutoff = Instant.now().minus(24, ChronoUnit.HOURS);
-        var recent = all.stream()
-                .filter(d -> d.getTimestamp().toInstant().isAfter(cutoff))
-                .collect(Collectors.toList());
-
-        if (!recent.isEmpty()) {
-            var rv = recent.stream().mapToDouble(TrajectoryData::getVelocity).summaryStatistics();
+        if (s.getPointsLast24h() > 0) {
             stats.put("last24h", Map.of(
-                    "points",      recent.size(),
-                    "avgVelocity", rv.getAverage()
+                    "points",      s.getPointsLast24h(),
+                    "avgVelocity", s.getAvgVelocityLast24h()
             ));
         }
 
@@ -302,18 +472,91 @@ public class TelemetryVisualizationService {
     }
 
     /**
-     * Keep first & last, plus evenly-spaced picks.
+     * Write the trajectory of [start…end] (default: whole history up to now) to
+     * {@code out} as NDJSON or CSV, row by row off a database cursor.
      */
-    private List<TrajectoryData> downsample(List<TrajectoryData> list, int max) {
-        if (list.size() <= max) {
-            return list;
+    public void exportTrajectory(long externalId, Instant start, Instant end,
+                                 String format, OutputStream out) throws IOException {
+        Timestamp from = Timestamp.from(start != null ? start : Instant.EPOCH);
+        Timestamp to   = Timestamp.from(end   != null ? end   : Instant.now());
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator json = csv ? null : EXPORT_JSON.createGenerator(writer)
+                .setRootValueSeparator(new SerializedString("\n"));
+
+        if (csv) {
+            writer.write(String.join(",", EXPORT_FIELDS));
+            writer.write('\n');
         }
-        List<TrajectoryData> out = new ArrayList<>(max);
-        double step = (double)(list.size() - 1) / (max - 1);
-        for (int i = 0; i < max; i++) {
-            out.add(list.get((int)Math.round(i * step)));
+
+        try {
+            trajectoryJdbcRepo.streamRange(externalId, from, to, d -> {
+                try {
+                    if (csv) writeCsvRow(writer, d);
+                    else     writeJsonRow(json, d);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // client went away mid-download; the cursor has already been closed
+            throw e.getCause();
         }
-        return out;
+
+        if (json != null) {
+            json.writeRaw('\n');
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private static void writeJsonRow(JsonGenerator g, TrajectoryData d) throws IOException {
+        g.writeStartObject();
+        g.writeNumberField("externalId",   d.getExternalId());
+        g.writeStringField("timestamp",    d.getTimestamp().toInstant().toString());
+        g.writeNumberField("positionX",    d.getPositionX());
+        g.writeNumberField("positionY",    d.getPositionY());
+        g.writeNumberField("positionZ",    d.getPositionZ());
+        g.writeNumberField("velocityX",    d.getVelocityX());
+        g.writeNumberField("velocityY",    d.getVelocityY());
+        g.writeNumberField("velocityZ",    d.getVelocityZ());
+        g.writeNumberField("velocity",     d.getVelocity());
+        g.writeNumberField("acceleration", d.getAcceleration());
+        g.writeNumberField("orbitRadius",  d.getOrbitRadius());
+        writeNullable(g, "latitude",       d.getSatLatitude());
+        writeNullable(g, "longitude",      d.getSatLongitude());
+        writeNullable(g, "altitude",       d.getSatAltitude());
+        writeNullable(g, "azimuth",        d.getAzimuth());
+        writeNullable(g, "elevation",      d.getElevation());
+        writeNullable(g, "rightAscension", d.getRightAscension());
+        writeNullable(g, "declination",    d.getDeclination());
+        g.writeEndObject();
+    }
+
+    private static void writeNullable(JsonGenerator g, String name, Float value) throws IOException {
+        if (value != null) g.writeNumberField(name, value);
+        else               g.writeNullField(name);
+    }
+
+    private static void writeCsvRow(Writer w, TrajectoryData d) throws IOException {
+        w.write(Long.toString(d.getExternalId()));
+        w.write(',');
+        w.write(d.getTimestamp().toInstant().toString());
+        for (float v : new float[]{
+                d.getPositionX(), d.getPositionY(), d.getPositionZ(),
+                d.getVelocityX(), d.getVelocityY(), d.getVelocityZ(),
+                d.getVelocity(), d.getAcceleration(), d.getOrbitRadius()}) {
+            w.write(',');
+            w.write(Float.toString(v));
+        }
+        for (Float v : new Float[]{
+                d.getSatLatitude(), d.getSatLongitude(), d.getSatAltitude(),
+                d.getAzimuth(), d.getElevation(), d.getRightAscension(), d.getDeclination()}) {
+            w.write(',');
+            if (v != null) w.write(Float.toString(v));
+        }
+        w.write('\n');
     }
 
 }
@@ -0,0 +1,124 @@
+// src/main/java/com/telemetry/service/TleService.java
+package com.telemetry.service;
+
+import com.telemetry.client.N2yoClient;
+import com.telemetry.model.SatelliteReference;
+import com.telemetry.model.SatelliteTle;
+import com.telemetry.propagation.Sgp4Propagator;
+import com.telemetry.propagation.Tle;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import com.telemetry.repository.SatelliteTleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a recent TLE per referenced satellite in satellite_tle and hands out
+ * compiled SGP4 models for them.
+ *
+ * A model is built once per stored element set and reused until the next
+ * refresh replaces it. Satellites without a TLE, with one older than
+ * telemetry.tle.max-age-days, or on deep-space orbits get no model, and
+ * PredictionService falls back to Kepler propagation for them.
+ */
+@Service
+public class TleService {
+
+    private static final Logger log = LoggerFactory.getLogger(TleService.class);
+
+    private final SatelliteTleRepository       tleRepo;
+    private final SatelliteReferenceRepository referenceRepo;
+    private final N2yoClient                   n2yoClient;
+
+    /** externalId → compiled model (empty: nothing usable stored) */
+    private final Map<Long, Optional<Sgp4Propagator>> models = new ConcurrentHashMap<>();
+
+    @Value("${telemetry.tle.refresh-interval:21600000}")
+    private long refreshIntervalMs;
+
+    @Value("${telemetry.tle.max-age-days:14}")
+    private long maxAgeDays;
+
+    public TleService(SatelliteTleRepository tleRepo,
+                      SatelliteReferenceRepository referenceRepo,
+                      N2yoClient n2yoClient) {
+        this.tleRepo       = tleRepo;
+        this.referenceRepo = referenceRepo;
+        this.n2yoClient    = n2yoClient;
+    }
+
+    /** SGP4 model for a satellite, if it has a fresh near-Earth TLE. */
+    public Optional<Sgp4Propagator> sgp4For(long externalId) {
+        Optional<Sgp4Propagator> model = models.computeIfAbsent(externalId, id ->
+                tleRepo.findById(id).flatMap(this::compile));
+        long maxAgeMs = maxAgeDays * 86_400_000L;
+        return model.filter(m -> Math.abs(System.currentTimeMillis() - m.epochMs()) <= maxAgeMs);
+    }
+
+    /**
+     * Fetch new element sets for every referenced satellite whose stored TLE is
+     * older than the refresh interval. Requests share the N2YO limiter with polling.
+     */
+    @Scheduled(fixedDelayString   = "${telemetry.tle.refresh-interval:21600000}",
+               initialDelayString = "${telemetry.tle.initial-delay:60000}")
+    public void refresh() {
+        long now      = System.currentTimeMillis();
+        long deadline = now + refreshIntervalMs / 2;
+        int requested = 0;
+
+        for (SatelliteReference ref : referenceRepo.findAll()) {
+            long id = ref.getExternalId();
+            Optional<SatelliteTle> stored = tleRepo.findById(id);
+            if (stored.isPresent() && now - stored.get().getFetchedAt().getTime() < refreshIntervalMs) {
+                continue;
+            }
+
+            requested++;
+            n2yoClient.fetchTle(id, deadline).whenComplete((tle, ex) -> {
+                if (ex != null) {
+                    log.warn("TLE fetch failed for {}: {}", id, ex.getMessage());
+                    return;
+                }
+                try {
+                    tleRepo.save(new SatelliteTle(id, tle.getLine1(), tle.getLine2(),
+                            new Timestamp(tle.getEpochMs()), new Timestamp(System.currentTimeMillis())));
+                    models.put(id, compile(tle));
+                } catch (Exception e) {
+                    log.error("Failed to store TLE for {}: {}", id, e.getMessage(), e);
+                }
+            });
+        }
+        if (requested > 0) {
+            log.info("Requested {} TLE updates", requested);
+        }
+    }
+
+    private Optional<Sgp4Propagator> compile(SatelliteTle stored) {
+        try {
+            return compile(Tle.parse(stored.getLine1(), stored.getLine2()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Stored TLE for {} is invalid: {}", stored.getExternalId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Sgp4Propagator> compile(Tle tle) {
+        if (!Sgp4Propagator.isNearEarth(tle)) {
+            log.debug("Satellite {} is deep-space; using Kepler propagation", tle.getCatalogNumber());
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new Sgp4Propagator(tle));
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot build SGP4 model for {}: {}", tle.getCatalogNumber(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// src/main/java/com/telemetry/service/TrajectoryIngestBuffer.java
+package com.telemetry.service;
+
+import com.telemetry.kafka.TelemetryKafkaProducer;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.repository.TrajectoryJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Collects TrajectoryData from every fetch of a poll cycle and writes them to
+ * trajectory_data in JDBC batches, instead of one JPA saveAll per satellite.
+ *
+ * A flush happens when the buffer reaches telemetry.ingest.flush-size rows,
+ * every telemetry.ingest.flush-interval ms, or when the poller ends a cycle.
+ * Rows that made it to the database are written through to {@link LatestTelemetryCache}
+ * and published as live telemetry by {@link TelemetryKafkaProducer}.
+ *
+ * A failed flush loses as little as possible: a batch the database rejects for
+ * its data is split in halves until only the offending rows are dropped, and a
+ * batch that failed for any other reason (connection, timeout) goes back to
+ * the head of the buffer for the next flush, keeping at most
+ * telemetry.ingest.max-pending rows. Re-inserting is safe, the insert skips
+ * rows already stored.
+ */
+@Component
+public class TrajectoryIngestBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(TrajectoryIngestBuffer.class);
+
+    private final TrajectoryJdbcRepository jdbcRepo;
+    private final LatestTelemetryCache     latestCache;
+    private final TelemetryKafkaProducer   producer;
+    private final Object lock = new Object();
+    private List<TrajectoryData> pending = new ArrayList<>();
+
+    @Value("${telemetry.ingest.flush-size:5000}")
+    private int flushSize;
+
+    @Value("${telemetry.ingest.jdbc-batch-size:1000}")
+    private int jdbcBatchSize;
+
+    @Value("${telemetry.ingest.max-pending:50000}")
+    private int maxPending;
+
+    public TrajectoryIngestBuffer(TrajectoryJdbcRepository jdbcRepo,
+                                  LatestTelemetryCache latestCache,
+                                  TelemetryKafkaProducer producer) {
+        this.jdbcRepo    = jdbcRepo;
+        this.latestCache = latestCache;
+        this.producer    = producer;
+    }
+
+    /**
+     * Queue rows for the next flush; flushes inline once the size threshold is hit.
+     */
+    public void add(Collection<TrajectoryData> rows) {
+        if (rows.isEmpty()) return;
+
+        List<TrajectoryData> full = null;
+        synchronized (lock) {
+            pending.addAll(rows);
+            if (pending.size() >= flushSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            }
+        }
+        if (full != null) {
+            write(full);
+        }
+    }
+
+    /** Time-based flush, and the end-of-cycle hook for the poller. */
+    @Scheduled(fixedDelayString = "${telemetry.ingest.flush-interval:5000}")
+    public void flush() {
+        List<TrajectoryData> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        write(batch);
+    }
+
+    private void write(List<TrajectoryData> batch) {
+        long start = System.nanoTime();
+        List<TrajectoryData> written;
+        try {
+            written = insert(batch);
+            latestCache.update(written);
+            log.debug("Flushed {} trajectory rows in {} ms",
+                    written.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to flush {} trajectory rows, keeping them for the next flush: {}",
+                    batch.size(), e.getMessage(), e);
+            requeue(batch);
+            return;
+        }
+        if (written.isEmpty()) return;
+        try {
+            producer.publishIngested(written);
+        } catch (Exception e) {
+            log.error("Failed to publish {} trajectory rows: {}", written.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Insert {@code rows}; when the database rejects their data, retry the
+     * halves so only rows rejected on their own are dropped. Returns the rows
+     * stored.
+     */
+    private List<TrajectoryData> insert(List<TrajectoryData> rows) {
+        try {
+            jdbcRepo.batchInsert(rows, jdbcBatchSize);
+            return rows;
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                TrajectoryData row = rows.get(0);
+                log.warn("Dropped trajectory row {} @ {}: {}",
+                        row.getExternalId(), row.getTimestamp(), e.getMostSpecificCause().getMessage());
+                return List.of();
+            }
+            int mid = rows.size() / 2;
+            List<TrajectoryData> written = new ArrayList<>(insert(rows.subList(0, mid)));
+            written.addAll(insert(rows.subList(mid, rows.size())));
+            return written;
+        }
+    }
+
+    /** Put a failed batch back in front of what arrived since, dropping the oldest rows beyond maxPending. */
+    private void requeue(List<TrajectoryData> batch) {
+        synchronized (lock) {
+            List<TrajectoryData> next = new ArrayList<>(batch.size() + pending.size());
+            next.addAll(batch);
+            next.addAll(pending);
+            int excess = next.size() - maxPending;
+            if (excess > 0) {
+                log.warn("Ingest buffer over {} rows, dropping the {} oldest", maxPending, excess);
+                next = new ArrayList<>(next.subList(excess, next.size()));
+            }
+            pending = next;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+// src/main/java/com/telemetry/websocket/Frames.java
+package com.telemetry.websocket;
+
+import com.telemetry.kafka.WireFormat;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One outgoing message and its WebSocket frame per encoding, each built at
+ * most once however many sessions receive it. Received bytes are sent as they
+ * are to sessions using their encoding and decoded only when another encoding
+ * or the message itself is needed. JSON goes out as text frames, CBOR as
+ * binary frames.
+ */
+final class Frames {
+
+    private final byte[]     raw;
+    private final WireFormat rawFormat;
+    private Map<String, Object> message;
+    private final Map<WireFormat, WebSocketMessage<?>> frames = new EnumMap<>(WireFormat.class);
+
+    /** Bytes as received, in {@code format}. */
+    Frames(byte[] raw, WireFormat format) {
+        this.raw       = raw;
+        this.rawFormat = format;
+    }
+
+    Frames(Map<String, Object> message) {
+        this.raw       = null;
+        this.rawFormat = null;
+        this.message   = message;
+    }
+
+    Map<String, Object> message() throws IOException {
+        if (message == null) message = rawFormat.decode(raw);
+        return message;
+    }
+
+    WebSocketMessage<?> in(WireFormat format) throws IOException {
+        WebSocketMessage<?> frame = frames.get(format);
+        if (frame == null) {
+            byte[] bytes = format == rawFormat ? raw : format.encode(message());
+            frame = format.isBinary() ? new BinaryMessage(bytes) : new TextMessage(bytes);
+            frames.put(format, frame);
+        }
+        return frame;
+    }
+}
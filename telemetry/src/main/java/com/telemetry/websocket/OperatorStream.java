@@ -0,0 +1,129 @@
+// src/main/java/com/telemetry/websocket/OperatorStream.java
+package com.telemetry.websocket;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Last telemetry state of one operator and the deltas its delta-protocol
+ * sessions follow.
+ *
+ * State is satellite id → {telemetry, shortPredictions, fullOrbitPredictions},
+ * merged from the partial updates of the telemetry and predictions topics
+ * (each carries some satellites and some of those parts). Each update that
+ * changes something becomes one Delta carrying only new satellites, changed
+ * telemetry fields and prediction lists that changed. Sequence numbers are counted per subscription view, so a
+ * session filtered to a few satellites sees no gaps for deltas that do not touch
+ * them, while sessions with the same view still share one message. Callers hold
+ * the instance's monitor while they turn state into messages and send them, so
+ * every session sees SNAPSHOT n followed by DELTA n+1, n+2, ... in order.
+ *
+ * The handler clears the state once the operator has had no sessions on this
+ * node for telemetry.websocket.state-grace-ms (updates are not decoded then),
+ * so state is either empty or current.
+ */
+final class OperatorStream {
+
+    static final String TELEMETRY   = "telemetry";
+    static final String SHORT_TERM  = "shortPredictions";
+    static final String FULL_ORBIT  = "fullOrbitPredictions";
+
+    /** Changed and new satellites (see diff). */
+    record Delta(Map<String, Object> changed) {
+    }
+
+    private final UUID operatorId;
+
+    /** Entries are replaced, never modified, so messages built from them stay valid */
+    private final Map<String, Map<String, Object>> state = new LinkedHashMap<>();
+    private final Map<Subscription.View, Long> seqs = new HashMap<>();
+
+    OperatorStream(UUID operatorId) {
+        this.operatorId = operatorId;
+    }
+
+    /** Full current state: satellite id → {telemetry, shortPredictions, fullOrbitPredictions}. */
+    Map<String, Map<String, Object>> state() {
+        return Collections.unmodifiableMap(state);
+    }
+
+    boolean isEmpty() {
+        return state.isEmpty();
+    }
+
+    void clear() {
+        state.clear();
+    }
+
+    /**
+     * Merge {@code update} (satellite id → some of its parts) into the state and
+     * return the Delta, or null when nothing changed.
+     */
+    Delta apply(Map<String, Map<String, Object>> update) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Object>> e : update.entrySet()) {
+            Map<String, Object> prev   = state.get(e.getKey());
+            Map<String, Object> merged = new HashMap<>();
+            if (prev != null) merged.putAll(prev);
+            merged.putAll(e.getValue());
+
+            Map<String, Object> diff = diff(prev, merged);
+            if (diff != null) {
+                changed.put(e.getKey(), diff);
+                state.put(e.getKey(), merged);
+            }
+        }
+        return changed.isEmpty() ? null : new Delta(changed);
+    }
+
+    /** Seq of the last message sent to sessions with {@code view}. */
+    long seq(Subscription.View view) {
+        return seqs.getOrDefault(view, 0L);
+    }
+
+    long nextSeq(Subscription.View view) {
+        return seqs.merge(view, 1L, Long::sum);
+    }
+
+    /** The last session with {@code view} is gone; a new one starts from a SNAPSHOT anyway. */
+    void forget(Subscription.View view) {
+        seqs.remove(view);
+    }
+
+    /**
+     * What a client holding {@code prev} needs to get to {@code next}: everything
+     * for a new satellite, otherwise the changed telemetry fields (null for a
+     * field that disappeared) and whichever prediction lists changed.
+     */
+    private static Map<String, Object> diff(Map<String, Object> prev, Map<String, Object> next) {
+        if (prev == null) return next;
+
+        Map<String, Object> out = new HashMap<>();
+        Map<String, Object> fields = fieldDiff(asMap(prev.get(TELEMETRY)), asMap(next.get(TELEMETRY)));
+        if (!fields.isEmpty()) out.put(TELEMETRY, fields);
+        for (String list : new String[]{SHORT_TERM, FULL_ORBIT}) {
+            if (!Objects.equals(prev.get(list), next.get(list))) out.put(list, next.get(list));
+        }
+        return out.isEmpty() ? null : out;
+    }
+
+    private static Map<String, Object> fieldDiff(Map<String, Object> prev, Map<String, Object> next) {
+        Map<String, Object> out = new HashMap<>();
+        next.forEach((k, v) -> {
+            if (!Objects.equals(prev.get(k), v)) out.put(k, v);
+        });
+        for (String k : prev.keySet()) {
+            if (!next.containsKey(k)) out.put(k, null);
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object o) {
+        return o instanceof Map ? (Map<String, Object>) o : Map.of();
+    }
+}
@@ -0,0 +1,152 @@
+// src/main/java/com/telemetry/websocket/Outbox.java
+package com.telemetry.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+
+/**
+ * Outgoing frames of one session, sent in order by at most one task at a time
+ * on the sender executor, so whoever produces a message (the Kafka listener)
+ * never waits for the client's network and a session never sees two
+ * concurrent sends.
+ *
+ * What waits is bounded: full-state messages are conflated (a newer one
+ * replaces the one still queued; it carries the latest value of every
+ * satellite), deltas and partial updates beyond {@code limit} are refused so
+ * the caller can replace them with the full state ({@link #resync}), alerts
+ * beyond {@code limit} are dropped. Control replies are always queued.
+ */
+final class Outbox {
+
+    private static final Logger log = LoggerFactory.getLogger(Outbox.class);
+
+    enum Kind { CONTROL, ALERT, LATEST, DELTA }
+
+    enum Offer { QUEUED, CONFLATED, DROPPED, FULL }
+
+    private static final class Entry {
+        final Kind kind;
+        WebSocketMessage<?> message;
+
+        Entry(Kind kind, WebSocketMessage<?> message) {
+            this.kind    = kind;
+            this.message = message;
+        }
+    }
+
+    private final WebSocketSession session;
+    private final Executor         executor;
+    private final int              limit;
+
+    private final Deque<Entry> queue = new ArrayDeque<>();
+    /** Queued LATEST entry, replaced in place by newer ones */
+    private Entry   latest;
+    private int     deltas;
+    private int     alerts;
+    private boolean draining;
+    private boolean closed;
+    /** Start of the send in progress, 0 while idle */
+    private volatile long sendingSince;
+
+    Outbox(WebSocketSession session, Executor executor, int limit) {
+        this.session  = session;
+        this.executor = executor;
+        this.limit    = Math.max(1, limit);
+    }
+
+    synchronized Offer offer(Kind kind, WebSocketMessage<?> message) {
+        if (closed) return Offer.DROPPED;
+        switch (kind) {
+            case LATEST -> {
+                if (latest != null) {
+                    latest.message = message;
+                    return Offer.CONFLATED;
+                }
+                latest = add(kind, message);
+            }
+            case DELTA -> {
+                if (deltas >= limit) return Offer.FULL;
+                add(kind, message);
+            }
+            case ALERT -> {
+                if (alerts >= limit) return Offer.DROPPED;
+                add(kind, message);
+            }
+            default -> add(kind, message);
+        }
+        return Offer.QUEUED;
+    }
+
+    /**
+     * Replace the queued deltas (and telemetry) with {@code snapshot}, which the
+     * following deltas build on. Returns how many frames it replaced.
+     */
+    synchronized int resync(WebSocketMessage<?> snapshot) {
+        if (closed) return 0;
+        int before = queue.size();
+        queue.removeIf(e -> e.kind == Kind.DELTA || e.kind == Kind.LATEST);
+        int replaced = before - queue.size();
+        latest = null;
+        deltas = 0;
+        add(Kind.DELTA, snapshot);
+        return replaced;
+    }
+
+    /** Whether one send has been blocked for longer than {@code limitMs}. */
+    boolean stalled(long limitMs) {
+        long since = sendingSince;
+        return since != 0 && System.currentTimeMillis() - since > limitMs;
+    }
+
+    /** Discard what is queued; true the first time. */
+    synchronized boolean close() {
+        if (closed) return false;
+        closed = true;
+        queue.clear();
+        latest = null;
+        return true;
+    }
+
+    private Entry add(Kind kind, WebSocketMessage<?> message) {
+        Entry e = new Entry(kind, message);
+        queue.add(e);
+        if (kind == Kind.DELTA) deltas++;
+        if (kind == Kind.ALERT) alerts++;
+        if (!draining) {
+            draining = true;
+            executor.execute(this::drain);
+        }
+        return e;
+    }
+
+    private synchronized Entry next() {
+        Entry e = queue.poll();
+        if (e == null) {
+            draining = false;
+            return null;
+        }
+        if (e == latest)           latest = null;
+        if (e.kind == Kind.DELTA)  deltas--;
+        if (e.kind == Kind.ALERT)  alerts--;
+        return e;
+    }
+
+    private void drain() {
+        for (Entry e = next(); e != null; e = next()) {
+            sendingSince = System.currentTimeMillis();
+            try {
+                if (session.isOpen()) session.sendMessage(e.message);
+            } catch (Exception ex) {
+                log.debug("WS {} send failed: {}", session.getId(), ex.getMessage());
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+// src/main/java/com/telemetry/websocket/SessionRegistry.java
+package com.telemetry.websocket;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sessions by id and by operator, with a reverse index from satellite to the
+ * sessions that subscribed to it, so a message only visits interested sessions.
+ *
+ * Per operator: {@code fleet} holds sessions that want some class of every
+ * satellite, {@code bySatellite} the sessions subscribed to single satellites.
+ * Callers change a session's entries under its operator's stream lock, the same
+ * lock fan-out runs under, so fan-out always sees a consistent index.
+ */
+final class SessionRegistry {
+
+    private final Map<String, Subscription>                     bySession   = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscription>>                  byOperator  = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscription>>                  fleet       = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, Set<Subscription>>>     bySatellite = new ConcurrentHashMap<>();
+
+    void add(Subscription s) {
+        bySession.put(s.session.getId(), s);
+        byOperator.computeIfAbsent(s.operatorId, k -> ConcurrentHashMap.newKeySet()).add(s);
+        index(s, s.view);
+    }
+
+    Subscription remove(String sessionId) {
+        Subscription s = bySession.remove(sessionId);
+        if (s != null) {
+            unindex(s, s.view);
+            removeFrom(byOperator, s.operatorId, s);
+        }
+        return s;
+    }
+
+    Subscription get(String sessionId) {
+        return bySession.get(sessionId);
+    }
+
+    /** Replace the session's view and re-index it. */
+    void update(Subscription s, Subscription.View next) {
+        unindex(s, s.view);
+        s.view = next;
+        index(s, next);
+    }
+
+    int sessionCount() {
+        return bySession.size();
+    }
+
+    int operatorCount() {
+        return byOperator.size();
+    }
+
+    Collection<Subscription> all(UUID operatorId) {
+        return byOperator.getOrDefault(operatorId, Set.of());
+    }
+
+    /** Sessions that want something of any of {@code externalIds}. */
+    Set<Subscription> interested(UUID operatorId, Collection<String> externalIds) {
+        Set<Subscription> out = new LinkedHashSet<>(fleet.getOrDefault(operatorId, Set.of()));
+        Map<String, Set<Subscription>> sats = bySatellite.get(operatorId);
+        if (sats != null && !sats.isEmpty()) {
+            for (String id : externalIds) {
+                Set<Subscription> subs = sats.get(id);
+                if (subs != null) out.addAll(subs);
+            }
+        }
+        return out;
+    }
+
+    private void index(Subscription s, Subscription.View view) {
+        if (!view.fleet().isEmpty()) {
+            fleet.computeIfAbsent(s.operatorId, k -> ConcurrentHashMap.newKeySet()).add(s);
+        }
+        if (!view.satellites().isEmpty()) {
+            Map<String, Set<Subscription>> sats =
+                    bySatellite.computeIfAbsent(s.operatorId, k -> new ConcurrentHashMap<>());
+            for (String id : view.satellites().keySet()) {
+                sats.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(s);
+            }
+        }
+    }
+
+    private void unindex(Subscription s, Subscription.View view) {
+        removeFrom(fleet, s.operatorId, s);
+        Map<String, Set<Subscription>> sats = bySatellite.get(s.operatorId);
+        if (sats == null) return;
+        for (String id : view.satellites().keySet()) {
+            removeFrom(sats, id, s);
+        }
+        if (sats.isEmpty()) bySatellite.remove(s.operatorId, sats);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Subscription>> map, K key, Subscription s) {
+        map.computeIfPresent(key, (k, set) -> {
+            set.remove(s);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
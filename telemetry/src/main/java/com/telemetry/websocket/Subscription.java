@@ -0,0 +1,151 @@
+// src/main/java/com/telemetry/websocket/Subscription.java
+package com.telemetry.websocket;
+
+import com.telemetry.kafka.WireFormat;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One WebSocket session: its operator, protocol, encoding, outgoing queue and
+ * the part of the operator's telemetry it asked for.
+ */
+final class Subscription {
+
+    /** The per-satellite parts of a telemetry message, by their key in it. */
+    enum DataClass {
+        TELEMETRY(OperatorStream.TELEMETRY),
+        SHORT_TERM(OperatorStream.SHORT_TERM),
+        FULL_ORBIT(OperatorStream.FULL_ORBIT);
+
+        final String key;
+
+        DataClass(String key) {
+            this.key = key;
+        }
+
+        static DataClass of(String key) {
+            for (DataClass c : values()) {
+                if (c.key.equals(key)) return c;
+            }
+            throw new IllegalArgumentException("Unknown data class " + key);
+        }
+    }
+
+    static final Set<DataClass> ALL = Set.copyOf(EnumSet.allOf(DataClass.class));
+
+    /**
+     * What a session receives: {@code fleet} classes of every satellite of the
+     * operator (empty for none) plus {@code satellites} classes of single
+     * satellites. Immutable; compared by value, so sessions with the same view
+     * share filtered messages.
+     */
+    record View(Set<DataClass> fleet, Map<String, Set<DataClass>> satellites) {
+
+        static final View EVERYTHING = new View(ALL, Map.of());
+        static final View NOTHING    = new View(Set.of(), Map.of());
+
+        boolean everything() {
+            return fleet.equals(ALL);
+        }
+
+        /** Add {@code classes} of satellites {@code ids}, or of every satellite when ids is null. */
+        View plus(Collection<String> ids, Set<DataClass> classes) {
+            return change(ids, classes, true);
+        }
+
+        /**
+         * Drop {@code classes} of satellites {@code ids}, or of every satellite when ids is null.
+         * Views hold no exclusions, so single satellites cannot drop classes the
+         * fleet subscribes to; that is rejected rather than silently ignored.
+         */
+        View minus(Collection<String> ids, Set<DataClass> classes) {
+            if (ids != null) {
+                List<String> fleetWide = classes.stream().filter(fleet::contains).sorted().map(c -> c.key).toList();
+                if (!fleetWide.isEmpty()) {
+                    throw new IllegalArgumentException("Cannot unsubscribe single satellites from fleet-wide "
+                            + fleetWide + "; unsubscribe the fleet and subscribe the satellites wanted instead");
+                }
+            }
+            return change(ids, classes, false);
+        }
+
+        private View change(Collection<String> ids, Set<DataClass> classes, boolean add) {
+            Set<DataClass> nextFleet = ids == null ? apply(fleet, classes, add) : fleet;
+            Map<String, Set<DataClass>> next = new HashMap<>();
+            satellites.forEach((id, own) ->
+                    next.put(id, ids == null && !add ? apply(own, classes, false) : own));
+            if (ids != null) {
+                for (String id : ids) next.put(id, apply(next.getOrDefault(id, Set.of()), classes, add));
+            }
+            next.values().removeIf(Set::isEmpty);
+            return new View(nextFleet, Map.copyOf(next));
+        }
+
+        private static Set<DataClass> apply(Set<DataClass> set, Set<DataClass> classes, boolean add) {
+            EnumSet<DataClass> out = EnumSet.noneOf(DataClass.class);
+            out.addAll(set);
+            if (add) out.addAll(classes);
+            else     out.removeAll(classes);
+            return Set.copyOf(out);
+        }
+
+        Set<DataClass> classesOf(String externalId) {
+            Set<DataClass> own = satellites.get(externalId);
+            if (own == null) return fleet;
+            if (fleet.isEmpty()) return own;
+            EnumSet<DataClass> union = EnumSet.noneOf(DataClass.class);
+            union.addAll(fleet);
+            union.addAll(own);
+            return union;
+        }
+
+        /** The satellites and classes of {@code telemetry} this view wants. */
+        Map<String, Object> filter(Map<String, ?> telemetry) {
+            if (everything()) {
+                return new LinkedHashMap<>(telemetry);
+            }
+            Map<String, Object> out = new LinkedHashMap<>();
+            telemetry.forEach((id, entry) -> {
+                Set<DataClass> classes = classesOf(id);
+                if (classes.isEmpty() || !(entry instanceof Map<?, ?> parts)) return;
+                if (classes.size() == ALL.size()) {
+                    out.put(id, entry);
+                    return;
+                }
+                Map<String, Object> wanted = new HashMap<>();
+                for (DataClass c : classes) {
+                    if (parts.containsKey(c.key)) wanted.put(c.key, parts.get(c.key));
+                }
+                if (!wanted.isEmpty()) out.put(id, wanted);
+            });
+            return out;
+        }
+    }
+
+    final WebSocketSession session;
+    final UUID             operatorId;
+    final WireFormat       format;
+    final boolean          delta;
+    final Outbox           outbox;
+
+    /** Changed under the operator's stream lock only */
+    volatile View view;
+
+    Subscription(WebSocketSession session, UUID operatorId, WireFormat format, boolean delta,
+                 View view, Outbox outbox) {
+        this.session    = session;
+        this.operatorId = operatorId;
+        this.format     = format;
+        this.delta      = delta;
+        this.view       = view;
+        this.outbox     = outbox;
+    }
+}
@@ -2,8 +2,16 @@ package com.telemetry.websocket;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.config.NodeIdentity;
+import com.telemetry.kafka.TelemetryKafkaProducer;
+import com.telemetry.kafka.WireFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
@@ -13,17 +21,110 @@ import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Pushes operator telemetry to dashboard sessions.
+ *
+ * Telemetry and prediction updates from Kafka are partial; each node merges
+ * them into one state per operator (OperatorStream) while the operator has
+ * sessions here, or had one within telemetry.websocket.state-grace-ms (so a
+ * page reload finds the state intact), and asks the producer to publish the
+ * full state whenever a session finds none. Sessions connect with ?operatorId=... and by default
+ * receive {operatorId, telemetry} with the operator's full state on connect and
+ * then every update that changed it, as received: only the satellites and parts
+ * it carries, which the client merges into what it has (sessions that want
+ * everything get the record bytes untouched). With &protocol=delta they get one
+ * SNAPSHOT on connect and then only DELTA messages with consecutive seq
+ * numbers. A client that misses a seq sends {"type":"RESYNC"} and is answered
+ * with a fresh SNAPSHOT.
+ *
+ * A session gets all data of all the operator's satellites unless it connects
+ * with &externalIds=a,b (all data of those satellites only) or narrows it with
+ * {"type":"SUBSCRIBE"|"UNSUBSCRIBE", "externalIds":[...], "data":[...]}, which
+ * add or drop the listed data classes (telemetry, shortPredictions,
+ * fullOrbitPredictions; default all) of the listed satellites, or of every
+ * satellite when externalIds is omitted. Both are answered with a SUBSCRIPTION
+ * message describing the result and, for delta sessions, a new SNAPSHOT.
+ * Unsubscribing single satellites from classes subscribed fleet-wide is
+ * answered with an ERROR and changes nothing.
+ * Messages only visit sessions subscribed to a satellite they carry (see
+ * SessionRegistry); alerts go to every session of the operator.
+ *
+ * Nothing is sent on the caller's thread: every session has an Outbox drained
+ * on the sender pool, so a slow client delays only itself. Its updates or
+ * deltas are replaced by the full state (a SNAPSHOT for delta sessions) once
+ * more than telemetry.websocket.outbox-size wait, alerts beyond
+ * that are dropped, and a session stuck in one send for longer than
+ * telemetry.websocket.send-time-limit ms is closed. Counted in
+ * telemetry.websocket.frames{result=conflated|dropped},
+ * telemetry.websocket.resyncs and telemetry.websocket.slow-sessions; open
+ * sessions and operators of this replica in telemetry.websocket.sessions{node}
+ * and telemetry.websocket.operators{node}.
+ *
+ * &encoding=cbor switches the session's data messages (telemetry, SNAPSHOT,
+ * DELTA, alerts) to binary CBOR frames in the compact layout of
+ * TelemetrySchema; control messages stay JSON text. Alert record bytes are
+ * forwarded untouched to sessions that use the record's encoding.
+ */
 @Component
 public class TelemetryWebSocketHandler extends TextWebSocketHandler {
 
     private static final Logger log = LoggerFactory.getLogger(TelemetryWebSocketHandler.class);
 
+    /** Time an operator's full-state request may be in flight before another one is sent */
+    private static final long SEED_INTERVAL_MS = 10_000;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private final Map<UUID, CopyOnWriteArrayList<WebSocketSession>> operatorSessions = new ConcurrentHashMap<>();
-    private final Map<String, UUID> sessionToOperator = new ConcurrentHashMap<>();
+    private final SessionRegistry registry = new SessionRegistry();
+    private final Map<UUID, OperatorStream> streams = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> seededAt = new ConcurrentHashMap<>();
+    /** When the last session of an operator left, while its state is kept */
+    private final Map<UUID, Long> idleSince = new ConcurrentHashMap<>();
+
+    private final TelemetryKafkaProducer producer;
+    private final ExecutorService sender;
+    private final int             outboxSize;
+    private final long            sendTimeLimitMs;
+    private final long            stateGraceMs;
+    private final Counter         conflated;
+    private final Counter         dropped;
+    private final Counter         resyncs;
+    private final Counter         slowSessions;
+
+    public TelemetryWebSocketHandler(TelemetryKafkaProducer producer,
+                                     MeterRegistry meterRegistry,
+                                     NodeIdentity node,
+                                     @Value("${telemetry.websocket.outbox-size:16}") int outboxSize,
+                                     @Value("${telemetry.websocket.send-time-limit:10000}") long sendTimeLimitMs,
+                                     @Value("${telemetry.websocket.state-grace-ms:60000}") long stateGraceMs) {
+        this.producer = producer;
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "ws-send-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.outboxSize      = outboxSize;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.stateGraceMs    = stateGraceMs;
+        this.conflated    = Counter.builder("telemetry.websocket.frames").tag("result", "conflated").register(meterRegistry);
+        this.dropped      = Counter.builder("telemetry.websocket.frames").tag("result", "dropped").register(meterRegistry);
+        this.resyncs      = Counter.builder("telemetry.websocket.resyncs").register(meterRegistry);
+        this.slowSessions = Counter.builder("telemetry.websocket.slow-sessions").register(meterRegistry);
+        Gauge.builder("telemetry.websocket.sessions", registry, SessionRegistry::sessionCount)
+                .tag("node", node.id()).register(meterRegistry);
+        Gauge.builder("telemetry.websocket.operators", registry, SessionRegistry::operatorCount)
+                .tag("node", node.id()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
@@ -34,16 +135,35 @@ public class TelemetryWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
-            operatorSessions
-                    .computeIfAbsent(operatorId, k -> new CopyOnWriteArrayList<>())
-                    .add(session);
-            sessionToOperator.put(session.getId(), operatorId);
-
+            boolean delta = "delta".equals(queryParam(session, "protocol"));
+            WireFormat format = WireFormat.parse(queryParam(session, "encoding"));
+            String ids = queryParam(session, "externalIds");
+            Subscription.View view = ids == null ? Subscription.View.EVERYTHING
+                    : Subscription.View.NOTHING.plus(List.of(ids.split(",")), Subscription.ALL);
             Map<String,Object> ok = Map.of(
                     "type", "CONNECTION_SUCCESS",
-                    "operatorId", operatorId.toString()
+                    "operatorId", operatorId.toString(),
+                    "protocol", delta ? "delta" : "snapshot",
+                    "encoding", format.name().toLowerCase(Locale.ROOT)
             );
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(ok)));
+            Subscription sub = new Subscription(session, operatorId, format, delta, view,
+                    new Outbox(session, sender, outboxSize));
+            control(sub, ok);
+
+            // register and queue the base state under the stream lock, so no
+            // delta can slip in between
+            OperatorStream stream = streamFor(operatorId);
+            synchronized (stream) {
+                registry.add(sub);
+                idleSince.remove(operatorId);
+                if (delta) {
+                    sub.outbox.resync(snapshotFor(stream, operatorId, view).in(format));
+                } else if (!stream.isEmpty()) {
+                    Frames state = stateFor(operatorId, stream, view);
+                    if (state != null) offer(sub, Outbox.Kind.LATEST, state);
+                }
+                if (stream.isEmpty()) requestState(operatorId);
+            }
 
             log.info("WS {} connected to operator {}", session.getId(), operatorId);
 
@@ -55,36 +175,265 @@ public class TelemetryWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        UUID oid = sessionToOperator.remove(session.getId());
-        if (oid != null) {
-            var list = operatorSessions.get(oid);
-            if (list != null) {
-                list.remove(session);
-                if (list.isEmpty()) operatorSessions.remove(oid);
-            }
+        Subscription sub = registry.get(session.getId());
+        if (sub == null) return;
+        sub.outbox.close();
+        OperatorStream stream = streamFor(sub.operatorId);
+        synchronized (stream) {
+            registry.remove(session.getId());
+            forgetIfUnused(stream, sub.operatorId, sub.view);
+            if (registry.all(sub.operatorId).isEmpty()) idleSince.put(sub.operatorId, System.currentTimeMillis());
         }
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession s, TextMessage m) {
+        Subscription sub = registry.get(s.getId());
+        if (sub == null) return;
         try {
             JsonNode n = objectMapper.readTree(m.getPayload());
-            if ("PING".equals(n.path("type").asText())) {
-                s.sendMessage(new TextMessage("{\"type\":\"PONG\"}"));
+            String type = n.path("type").asText();
+            if ("PING".equals(type)) {
+                control(sub, Map.of("type", "PONG"));
+            } else if ("RESYNC".equals(type) && sub.delta) {
+                OperatorStream stream = streamFor(sub.operatorId);
+                synchronized (stream) {
+                    sub.outbox.resync(snapshotFor(stream, sub.operatorId, sub.view).in(sub.format));
+                }
+            } else if ("SUBSCRIBE".equals(type) || "UNSUBSCRIBE".equals(type)) {
+                changeSubscription(sub, "SUBSCRIBE".equals(type), n);
             }
+        } catch (IllegalArgumentException e) {
+            control(sub, Map.of("type", "ERROR", "message", String.valueOf(e.getMessage())));
         } catch (Exception ignore) {}
     }
 
-    public void sendMessageToOperator(UUID operatorId, TextMessage msg) {
-        var sessions = operatorSessions.get(operatorId);
-        if (sessions == null) return;
-        sessions.forEach(ws -> {
-            try { if (ws.isOpen()) ws.sendMessage(msg); }
-            catch (IOException ignored) {}
+    /**
+     * Merge a telemetry or prediction update ({operatorId, telemetry}) received
+     * as {@code payload} in {@code format} and deliver what changed to the
+     * sessions subscribed to the satellites it touched: the update itself
+     * (filtered to their subscription) to snapshot sessions, the DELTA to delta
+     * sessions. Nothing builds the merged state unless a session fell behind.
+     */
+    public void publishUpdate(UUID operatorId, byte[] payload, WireFormat format) throws IOException {
+        OperatorStream stream = streamFor(operatorId);
+        synchronized (stream) {
+            if (registry.all(operatorId).isEmpty()) {
+                Long idle = idleSince.get(operatorId);
+                if (idle == null || System.currentTimeMillis() - idle > stateGraceMs) {
+                    // not served here: drop the state, the next session asks for it again
+                    stream.clear();
+                    seededAt.remove(operatorId);
+                    idleSince.remove(operatorId);
+                    return;
+                }
+                // keep the state current for a session coming back within the grace period
+            }
+
+            Frames record = new Frames(payload, format);
+            OperatorStream.Delta delta = stream.apply(telemetryOf(record.message()));
+            if (delta == null) return;
+
+            // one message per distinct view; null when the view wants none of it
+            Map<Subscription.View, Frames> updates   = new HashMap<>();
+            Map<Subscription.View, Frames> states    = new HashMap<>();
+            Map<Subscription.View, Frames> deltas    = new HashMap<>();
+            Map<Subscription.View, Frames> snapshots = new HashMap<>();
+            for (Subscription sub : registry.interested(operatorId, delta.changed().keySet())) {
+                Subscription.View view = sub.view;
+                if (!sub.delta) {
+                    if (!updates.containsKey(view)) updates.put(view, updateFor(operatorId, record, view));
+                    Frames frames = updates.get(view);
+                    if (frames != null && offer(sub, Outbox.Kind.DELTA, frames) == Outbox.Offer.FULL) {
+                        // too far behind: the merged state instead of the queued updates
+                        Frames base = states.computeIfAbsent(view, v -> stateFor(operatorId, stream, v));
+                        conflated.increment(sub.outbox.resync(base.in(sub.format)));
+                        resyncs.increment();
+                    }
+                } else {
+                    if (!deltas.containsKey(view)) deltas.put(view, deltaFor(stream, operatorId, delta, view));
+                    Frames frames = deltas.get(view);
+                    if (frames != null && offer(sub, Outbox.Kind.DELTA, frames) == Outbox.Offer.FULL) {
+                        // too far behind: one SNAPSHOT (as of this delta) instead of the queued deltas
+                        Frames base = snapshots.computeIfAbsent(view, v -> snapshotFor(stream, operatorId, v));
+                        conflated.increment(sub.outbox.resync(base.in(sub.format)));
+                        resyncs.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /** Deliver a message (e.g. an alert) received as {@code payload} in {@code format} to every session. */
+    public void sendToOperator(UUID operatorId, byte[] payload, WireFormat format) {
+        Frames frames = new Frames(payload, format);
+        for (Subscription sub : registry.all(operatorId)) offer(sub, Outbox.Kind.ALERT, frames);
+    }
+
+    private void changeSubscription(Subscription sub, boolean add, JsonNode n) throws IOException {
+        List<String> ids = null;
+        if (n.hasNonNull("externalIds")) {
+            ids = new ArrayList<>();
+            for (JsonNode id : n.get("externalIds")) ids.add(id.asText());
+        }
+        Set<Subscription.DataClass> classes = Subscription.ALL;
+        if (n.hasNonNull("data")) {
+            classes = EnumSet.noneOf(Subscription.DataClass.class);
+            for (JsonNode c : n.get("data")) classes.add(Subscription.DataClass.of(c.asText()));
+        }
+
+        OperatorStream stream = streamFor(sub.operatorId);
+        synchronized (stream) {
+            Subscription.View previous = sub.view;
+            Subscription.View next = add ? previous.plus(ids, classes) : previous.minus(ids, classes);
+            registry.update(sub, next);
+            forgetIfUnused(stream, sub.operatorId, previous);
+
+            Map<String, Object> satellites = new TreeMap<>();
+            next.satellites().forEach((id, own) -> satellites.put(id, keys(own)));
+            Map<String,Object> ack = new LinkedHashMap<>();
+            ack.put("type",       "SUBSCRIPTION");
+            ack.put("fleet",      keys(next.fleet()));
+            ack.put("satellites", satellites);
+            control(sub, ack);
+            if (sub.delta) sub.outbox.resync(snapshotFor(stream, sub.operatorId, next).in(sub.format));
+        }
+    }
+
+    private static List<String> keys(Set<Subscription.DataClass> classes) {
+        return classes.stream().sorted().map(c -> c.key).toList();
+    }
+
+    private Frames snapshotFor(OperatorStream stream, UUID operatorId, Subscription.View view) {
+        Map<String,Object> msg = new LinkedHashMap<>();
+        msg.put("type",       "SNAPSHOT");
+        msg.put("operatorId", operatorId.toString());
+        msg.put("seq",        stream.seq(view));
+        msg.put(OperatorStream.TELEMETRY, view.filter(stream.state()));
+        return new Frames(msg);
+    }
+
+    private static Frames deltaFor(OperatorStream stream, UUID operatorId,
+                                   OperatorStream.Delta delta, Subscription.View view) {
+        Map<String,Object> changed = view.filter(delta.changed());
+        if (changed.isEmpty()) return null;
+
+        Map<String,Object> msg = new LinkedHashMap<>();
+        msg.put("type",       "DELTA");
+        msg.put("operatorId", operatorId.toString());
+        msg.put("seq",        stream.nextSeq(view));
+        msg.put(OperatorStream.TELEMETRY, changed);
+        return new Frames(msg);
+    }
+
+    /** {@code record} as received when {@code view} wants everything, else the part of it the view wants. */
+    private static Frames updateFor(UUID operatorId, Frames record, Subscription.View view) throws IOException {
+        if (view.everything()) return record;
+        Map<String,Object> wanted = view.filter(telemetryOf(record.message()));
+        if (wanted.isEmpty()) return null;
+        Map<String,Object> msg = new LinkedHashMap<>();
+        msg.put("operatorId",             operatorId.toString());
+        msg.put(OperatorStream.TELEMETRY, wanted);
+        return new Frames(msg);
+    }
+
+    /** The state in the producer's original message layout, for snapshot sessions. */
+    private static Frames stateFor(UUID operatorId, OperatorStream stream, Subscription.View view) {
+        Map<String,Object> wanted = view.filter(stream.state());
+        if (wanted.isEmpty()) return null;
+        Map<String,Object> msg = new LinkedHashMap<>();
+        msg.put("operatorId",             operatorId.toString());
+        msg.put(OperatorStream.TELEMETRY, wanted);
+        return new Frames(msg);
+    }
+
+    /**
+     * Ask the producer to publish the operator's full state, unless a request
+     * sent less than SEED_INTERVAL_MS ago may still be answered. Dropping the
+     * state forgets the request, so a session arriving after that always asks.
+     */
+    private void requestState(UUID operatorId) {
+        long now = System.currentTimeMillis();
+        Long last = seededAt.get(operatorId);
+        if (last != null && now - last < SEED_INTERVAL_MS) return;
+        seededAt.put(operatorId, now);
+        sender.execute(() -> {
+            try {
+                producer.publishOperatorState(operatorId);
+            } catch (Exception e) {
+                log.warn("Could not request state of operator {}: {}", operatorId, e.getMessage());
+            }
+        });
+    }
+
+    /** Reset the seq of {@code view} once no session of the operator uses it. */
+    private void forgetIfUnused(OperatorStream stream, UUID operatorId, Subscription.View view) {
+        for (Subscription other : registry.all(operatorId)) {
+            if (other.view.equals(view)) return;
+        }
+        stream.forget(view);
+    }
+
+    /** Queue {@code frames} for {@code sub}, closing the session if its sends are stuck. */
+    private Outbox.Offer offer(Subscription sub, Outbox.Kind kind, Frames frames) {
+        if (sub.outbox.stalled(sendTimeLimitMs)) {
+            closeSlow(sub);
+            return Outbox.Offer.DROPPED;
+        }
+        Outbox.Offer result;
+        try {
+            result = sub.outbox.offer(kind, frames.in(sub.format));
+        } catch (IOException e) {
+            log.debug("WS {} encode failed: {}", sub.session.getId(), e.getMessage());
+            return Outbox.Offer.DROPPED;
+        }
+        if (result == Outbox.Offer.CONFLATED) conflated.increment();
+        if (result == Outbox.Offer.DROPPED)   dropped.increment();
+        return result;
+    }
+
+    private void control(Subscription sub, Map<String,Object> message) {
+        try {
+            sub.outbox.offer(Outbox.Kind.CONTROL, new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (IOException e) {
+            log.debug("WS {} encode failed: {}", sub.session.getId(), e.getMessage());
+        }
+    }
+
+    private void closeSlow(Subscription sub) {
+        if (!sub.outbox.close()) return;
+        slowSessions.increment();
+        log.warn("WS {} closed: a send has been blocked for over {} ms", sub.session.getId(), sendTimeLimitMs);
+        sender.execute(() -> {
+            try {
+                sub.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException ignored) {}
         });
     }
 
     // helpers
+    private OperatorStream streamFor(UUID operatorId) {
+        return streams.computeIfAbsent(operatorId, OperatorStream::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String,Object>> telemetryOf(Map<String,Object> payload) {
+        Object t = payload.get(OperatorStream.TELEMETRY);
+        return t instanceof Map ? (Map<String, Map<String,Object>>) t : Map.of();
+    }
+
+    private static String queryParam(WebSocketSession s, String name) {
+        String q = s.getUri() != null ? s.getUri().getQuery() : null;
+        if (q == null) return null;
+        for (String p : q.split("&")) {
+            String[] kv = p.split("=",2);
+            if (kv.length==2 && kv[0].equals(name)) {
+                return URLDecoder.decode(kv[1], StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
     private UUID extractOperatorId(WebSocketSession s) {
         String q = s.getUri() != null ? s.getUri().getQuery() : null;
         if (q == null) return null;
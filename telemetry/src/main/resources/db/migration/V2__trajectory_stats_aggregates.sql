@@ -0,0 +1,62 @@
+-- Hourly and daily roll-ups of trajectory_data for the statistics endpoint.
+-- Every bucket keeps min/max/sum/count so buckets can be merged exactly
+-- (avg = sum of sums / sum of counts).
+
+CREATE MATERIALIZED VIEW trajectory_stats_hourly
+WITH (timescaledb.continuous) AS
+SELECT external_id,
+       time_bucket(INTERVAL '1 hour', timestamp) AS bucket,
+       count(*)            AS points,
+       min(timestamp)      AS first_ts,
+       max(timestamp)      AS last_ts,
+       min(velocity)       AS velocity_min,
+       max(velocity)       AS velocity_max,
+       sum(velocity)       AS velocity_sum,
+       min(acceleration)   AS acceleration_min,
+       max(acceleration)   AS acceleration_max,
+       sum(acceleration)   AS acceleration_sum,
+       count(sat_altitude) AS altitude_points,
+       min(sat_altitude)   AS altitude_min,
+       max(sat_altitude)   AS altitude_max,
+       sum(sat_altitude)   AS altitude_sum
+  FROM trajectory_data
+ GROUP BY external_id, bucket
+WITH NO DATA;
+
+-- daily buckets are rolled up from the hourly ones (hierarchical continuous aggregate)
+CREATE MATERIALIZED VIEW trajectory_stats_daily
+WITH (timescaledb.continuous) AS
+SELECT external_id,
+       time_bucket(INTERVAL '1 day', bucket) AS bucket,
+       sum(points)            AS points,
+       min(first_ts)          AS first_ts,
+       max(last_ts)           AS last_ts,
+       min(velocity_min)      AS velocity_min,
+       max(velocity_max)      AS velocity_max,
+       sum(velocity_sum)      AS velocity_sum,
+       min(acceleration_min)  AS acceleration_min,
+       max(acceleration_max)  AS acceleration_max,
+       sum(acceleration_sum)  AS acceleration_sum,
+       sum(altitude_points)   AS altitude_points,
+       min(altitude_min)      AS altitude_min,
+       max(altitude_max)      AS altitude_max,
+       sum(altitude_sum)      AS altitude_sum
+  FROM trajectory_stats_hourly
+ GROUP BY external_id, time_bucket(INTERVAL '1 day', bucket)
+WITH NO DATA;
+
+-- keep real-time aggregation on, so buckets past the refresh watermark are still complete
+ALTER MATERIALIZED VIEW trajectory_stats_hourly SET (timescaledb.materialized_only = false);
+ALTER MATERIALIZED VIEW trajectory_stats_daily  SET (timescaledb.materialized_only = false);
+
+-- start_offset NULL: the first run materializes existing history, later runs only
+-- recompute invalidated buckets
+SELECT add_continuous_aggregate_policy('trajectory_stats_hourly',
+        start_offset      => NULL,
+        end_offset        => INTERVAL '1 hour',
+        schedule_interval => INTERVAL '30 minutes');
+
+SELECT add_continuous_aggregate_policy('trajectory_stats_daily',
+        start_offset      => NULL,
+        end_offset        => INTERVAL '1 day',
+        schedule_interval => INTERVAL '1 hour');
@@ -0,0 +1,10 @@
+-- latest two-line element set per satellite, refreshed from N2YO for SGP4 propagation
+CREATE TABLE satellite_tle
+(
+    external_id BIGINT                      NOT NULL,
+    line1       VARCHAR(80)                 NOT NULL,
+    line2       VARCHAR(80)                 NOT NULL,
+    epoch       TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    fetched_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_satellite_tle PRIMARY KEY (external_id)
+);
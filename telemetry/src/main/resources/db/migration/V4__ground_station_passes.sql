@@ -0,0 +1,32 @@
+-- ground stations and their predicted visibility passes (AOS/LOS/max elevation)
+CREATE TABLE ground_station
+(
+    id                BIGSERIAL        NOT NULL,
+    name              VARCHAR(100)     NOT NULL,
+    latitude          DOUBLE PRECISION NOT NULL,
+    longitude         DOUBLE PRECISION NOT NULL,
+    altitude_km       DOUBLE PRECISION NOT NULL DEFAULT 0,
+    min_elevation_deg DOUBLE PRECISION NOT NULL DEFAULT 10,
+    CONSTRAINT pk_ground_station PRIMARY KEY (id),
+    CONSTRAINT uc_ground_station_name UNIQUE (name)
+);
+
+CREATE TABLE satellite_pass
+(
+    station_id        BIGINT                      NOT NULL,
+    external_id       BIGINT                      NOT NULL,
+    aos               TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    los               TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    max_elevation_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    max_elevation_deg DOUBLE PRECISION            NOT NULL,
+    CONSTRAINT pk_satellite_pass PRIMARY KEY (station_id, aos, external_id),
+    CONSTRAINT fk_satellite_pass_station FOREIGN KEY (station_id)
+        REFERENCES ground_station (id) ON DELETE CASCADE
+);
+
+-- "passes still to come" for the warm-up and the replace-on-recompute delete
+CREATE INDEX idx_satellite_pass_los ON satellite_pass (los);
+
+-- the observer previously hardcoded in the poller
+INSERT INTO ground_station (name, latitude, longitude, altitude_km, min_elevation_deg)
+VALUES ('default', 41.702, -76.014, 0, 10);
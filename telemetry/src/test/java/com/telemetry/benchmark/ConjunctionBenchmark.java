@@ -0,0 +1,129 @@
+package com.telemetry.benchmark;
+
+import com.telemetry.propagation.ConjunctionScreener;
+import com.telemetry.propagation.KeplerPropagator;
+import com.telemetry.propagation.OrbitPropagator;
+import com.telemetry.propagation.SpatialHash;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conjunction screening of 10k synthetic LEO objects (random circular-ish
+ * orbits between 400 and 1200 km).
+ *
+ * {@code hashStep} and {@code bruteForceStep} find every pair within the
+ * screening radius at one time step, with the SpatialHash and with the O(n²)
+ * all-pairs loop it replaces. {@code screenHour} is a full ConjunctionScreener
+ * run over one hour at 10 s steps on the common pool.
+ *
+ * Run from the telemetry module after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.telemetry.benchmark.ConjunctionBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConjunctionBenchmark {
+
+    private static final double EARTH_MU     = 398600.4418;
+    private static final double EARTH_RADIUS = 6371.0;
+    private static final double THRESHOLD_KM = 5;
+    private static final double MAX_SPEED    = 16;
+    private static final long   STEP_MS      = 10_000;
+
+    @Param("10000")
+    public int objects;
+
+    private OrbitPropagator[] models;
+    private double[] x, y, z;
+    private SpatialHash hash;
+    private double radius;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        models = new OrbitPropagator[objects];
+        for (int i = 0; i < objects; i++) {
+            double a    = EARTH_RADIUS + 400 + rnd.nextDouble() * 800;
+            double inc  = Math.toRadians(rnd.nextDouble() * 100);
+            double raan = rnd.nextDouble() * 2 * Math.PI;
+            double u    = rnd.nextDouble() * 2 * Math.PI;
+            double v    = Math.sqrt(EARTH_MU / a) * (1 + rnd.nextDouble() * 0.01);
+            // position and velocity at argument of latitude u in the orbital plane
+            double[] r  = planeToInertial(a * Math.cos(u), a * Math.sin(u), inc, raan);
+            double[] vv = planeToInertial(-v * Math.sin(u), v * Math.cos(u), inc, raan);
+            models[i] = new KeplerPropagator(r, vv, 0);
+        }
+
+        x = new double[objects];
+        y = new double[objects];
+        z = new double[objects];
+        double[] p = new double[3];
+        for (int i = 0; i < objects; i++) {
+            models[i].ecefAt(STEP_MS / 2, p, 0);
+            x[i] = p[0];
+            y[i] = p[1];
+            z[i] = p[2];
+        }
+        hash   = new SpatialHash(objects);
+        radius = THRESHOLD_KM + MAX_SPEED * STEP_MS / 2000.0;
+    }
+
+    @Benchmark
+    public int hashStep() {
+        int[] pairs = new int[1];
+        hash.build(x, y, z, objects, radius);
+        hash.forEachPair(radius, (i, j, d2) -> pairs[0]++);
+        return pairs[0];
+    }
+
+    @Benchmark
+    public int bruteForceStep() {
+        double r2 = radius * radius;
+        int pairs = 0;
+        for (int i = 0; i < objects; i++) {
+            for (int j = i + 1; j < objects; j++) {
+                double dx = x[j] - x[i], dy = y[j] - y[i], dz = z[j] - z[i];
+                if (dx * dx + dy * dy + dz * dz <= r2) pairs++;
+            }
+        }
+        return pairs;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 1, time = 1)
+    @Measurement(iterations = 2, time = 1)
+    public List<ConjunctionScreener.Approach> screenHour() {
+        return ConjunctionScreener.screen(models, 0, STEP_MS, 360, THRESHOLD_KM, MAX_SPEED,
+                ForkJoinPool.commonPool());
+    }
+
+    private static double[] planeToInertial(double px, double py, double inc, double raan) {
+        double cosO = Math.cos(raan), sinO = Math.sin(raan);
+        double cosI = Math.cos(inc),  sinI = Math.sin(inc);
+        return new double[]{
+                cosO * px - sinO * cosI * py,
+                sinO * px + cosO * cosI * py,
+                sinI * py
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ConjunctionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,236 @@
+package com.telemetry.benchmark;
+
+import com.telemetry.config.KafkaConfig;
+import com.telemetry.config.NodeIdentity;
+import com.telemetry.kafka.TelemetryKafkaProducer;
+import com.telemetry.kafka.WireFormat;
+import com.telemetry.kafka.WireFormatSerializer;
+import com.telemetry.websocket.TelemetryWebSocketHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Consumer throughput of the telemetry and prediction topics against their
+ * partition count, on an in-process KRaft broker.
+ *
+ * The topics hold {@code records} records keyed by {@code operators} operator
+ * ids, so they spread over the partitions, in the shapes TelemetryKafkaProducer
+ * sends: per round every operator gets one publishIngested record (the newest
+ * row of its 10 satellites) and, the next round, one publishPredictions record
+ * (61 short-term and 121 full-orbit points per satellite). Each invocation
+ * drains both topics from the beginning with a listener container of one
+ * thread per partition number, each assigned that partition of both topics
+ * directly (so group rebalancing does not count), into a fresh
+ * TelemetryWebSocketHandler, as TelemetryKafkaConsumer does. Every operator has {@code sessions} connected
+ * sessions, alternately snapshot and delta protocol, whose sends return at
+ * once, so a record costs what publishUpdate costs: merging it into the
+ * operator's stream and encoding the frames handed to the outboxes. That work
+ * is CPU-bound, so it scales with partitions only as far as there are free
+ * cores.
+ *
+ * Run from the telemetry module after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.telemetry.benchmark.KafkaPartitionBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KafkaPartitionBenchmark {
+
+    private static final int SATELLITES = 10;
+
+    @Param({"1", "3", "6"})
+    public int partitions;
+
+    @Param("2000")
+    public int records;
+
+    @Param("64")
+    public int operators;
+
+    @Param("2")
+    public int sessions;
+
+    private EmbeddedKafkaBroker broker;
+    private final AtomicInteger groups = new AtomicInteger();
+    private final List<UUID> ops = new ArrayList<>();
+
+    private TelemetryWebSocketHandler handler;
+    private ConcurrentMessageListenerContainer<String, byte[]> container;
+    private CountDownLatch remaining;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        broker = new EmbeddedKafkaKraftBroker(1, partitions, KafkaConfig.TOPIC_TELEMETRY, KafkaConfig.TOPIC_PREDICTIONS);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,   StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, WireFormatSerializer.class);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG,       "lz4");
+        props.put(ProducerConfig.LINGER_MS_CONFIG,              20);
+        for (int i = 0; i < operators; i++) ops.add(UUID.randomUUID());
+        try (KafkaProducer<String, Object> producer = new KafkaProducer<>(props)) {
+            for (int i = 0; i < records; i++) {
+                UUID op = ops.get(i % operators);
+                int round = i / operators;
+                // an ingest flush and a prediction run every 5 s, as configured by default
+                long ts = 1_700_000_000_000L + round / 2 * 5000L;
+                if (round % 2 == 0) {
+                    producer.send(new ProducerRecord<>(KafkaConfig.TOPIC_TELEMETRY, op.toString(), ingested(op, ts)));
+                } else {
+                    producer.send(new ProducerRecord<>(KafkaConfig.TOPIC_PREDICTIONS, op.toString(), predictions(op, ts)));
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        broker.destroy();
+    }
+
+    @Setup(Level.Invocation)
+    public void newContainer() {
+        handler = new TelemetryWebSocketHandler(mock(TelemetryKafkaProducer.class), new SimpleMeterRegistry(),
+                new NodeIdentity("bench"), 16, 10_000, 60_000);
+        int id = 0;
+        for (UUID op : ops) {
+            for (int k = 0; k < sessions; k++) {
+                handler.afterConnectionEstablished(session("s" + id++, op, k % 2 == 0 ? "snapshot" : "delta"));
+            }
+        }
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,  broker.getBrokersAsString());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG,           "bench-" + groups.incrementAndGet());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        DefaultKafkaConsumerFactory<String, byte[]> factory =
+                new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+
+        remaining = new CountDownLatch(records);
+        // the container hands out contiguous slices, so each thread gets partition p of both topics
+        TopicPartitionOffset[] assignment = new TopicPartitionOffset[2 * partitions];
+        for (int p = 0; p < partitions; p++) {
+            assignment[2 * p]     = new TopicPartitionOffset(KafkaConfig.TOPIC_TELEMETRY, p,
+                    TopicPartitionOffset.SeekPosition.BEGINNING);
+            assignment[2 * p + 1] = new TopicPartitionOffset(KafkaConfig.TOPIC_PREDICTIONS, p,
+                    TopicPartitionOffset.SeekPosition.BEGINNING);
+        }
+        ContainerProperties cp = new ContainerProperties(assignment);
+        cp.setAckMode(ContainerProperties.AckMode.MANUAL);
+        cp.setMessageListener((MessageListener<String, byte[]>) r -> {
+            try {
+                handler.publishUpdate(UUID.fromString(r.key()), r.value(), WireFormat.JSON);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            remaining.countDown();
+        });
+        container = new ConcurrentMessageListenerContainer<>(factory, cp);
+        container.setConcurrency(partitions);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopContainer() {
+        container.stop();
+        handler.shutdown();
+    }
+
+    @Benchmark
+    public long drain() throws InterruptedException {
+        container.start();
+        if (!remaining.await(5, TimeUnit.MINUTES)) throw new IllegalStateException("records left: " + remaining.getCount());
+        return remaining.getCount();
+    }
+
+    /** An open session whose sends complete at once; not recorded, so it stays cheap. */
+    private static WebSocketSession session(String id, UUID operatorId, String protocol) {
+        WebSocketSession s = mock(WebSocketSession.class, withSettings().stubOnly());
+        when(s.getId()).thenReturn(id);
+        when(s.isOpen()).thenReturn(true);
+        when(s.getUri()).thenReturn(URI.create("ws://bench/ws/telemetry?operatorId=" + operatorId + "&protocol=" + protocol));
+        return s;
+    }
+
+    /** What publishIngested sends for one flush: the newest row of each satellite. */
+    private static Map<String, Object> ingested(UUID operatorId, long ts) {
+        Map<String, Object> telemetry = new HashMap<>();
+        for (int i = 0; i < SATELLITES; i++) {
+            Map<String, Object> latest = new HashMap<>();
+            latest.put("timestamp",    new Timestamp(ts));
+            latest.put("position",     Map.of("x", 6_778.1f + i, "y", 12.5f, "z", -3.25f));
+            latest.put("velocity",     Map.of("x", 0.5f, "y", 7.66f, "z", 0.25f, "magnitude", 7.68f));
+            latest.put("acceleration", 0.0087f);
+            latest.put("orbitRadius",  6_778.1f + i);
+            latest.put("geo",          Map.of("latitude", 1.5f + i, "longitude", 2.5f, "altitude", 420.0f));
+            telemetry.put(Long.toString(25544 + i), Map.of("telemetry", latest));
+        }
+        return Map.of("operatorId", operatorId.toString(), "telemetry", telemetry);
+    }
+
+    /** What publishPredictions sends after that flush: both prediction lists of each satellite. */
+    private static Map<String, Object> predictions(UUID operatorId, long ts) {
+        Map<String, Object> telemetry = new HashMap<>();
+        for (int i = 0; i < SATELLITES; i++) {
+            telemetry.put(Long.toString(25544 + i), Map.of(
+                    "shortPredictions",     points(ts, 60, 60_000L, 1.25 + i, false),
+                    "fullOrbitPredictions", points(ts, 120, 46_000L, 1.75 + i, true)));
+        }
+        return Map.of("operatorId", operatorId.toString(), "telemetry", telemetry);
+    }
+
+    private static List<Map<String, Object>> points(long ts, int steps, long stepMs, double latitude, boolean fullOrbit) {
+        List<Map<String, Object>> points = new ArrayList<>(steps + 1);
+        for (int j = 0; j <= steps; j++) {
+            Map<String, Object> point = new HashMap<>();
+            point.put("timestamp",   new Timestamp(ts + j * stepMs));
+            point.put("latitude",    latitude + j / 2.0);
+            point.put("longitude",   3.5 + j);
+            point.put("altitude",    420.5);
+            point.put("isFullOrbit", fullOrbit);
+            points.add(point);
+        }
+        return points;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(KafkaPartitionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
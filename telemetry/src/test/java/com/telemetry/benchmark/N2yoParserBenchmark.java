@@ -0,0 +1,89 @@
+package com.telemetry.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.client.N2yoPositionsParser;
+import com.telemetry.dto.TelemetryInfo;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TelemetryResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming N2YO decoder vs. the previous readTree + treeToValue path.
+ *
+ * Run from the telemetry module after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.telemetry.benchmark.N2yoParserBenchmark
+ * </pre>
+ * The GC profiler reports gc.alloc.rate.norm (bytes allocated per parse).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class N2yoParserBenchmark {
+
+    /** Response fixtures for a 2 s and a 300 s position window. */
+    @Param({"positions-25544-2s.json", "positions-25544-300s.json"})
+    public String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] bytes;
+    private String text;
+
+    @Setup
+    public void load() throws IOException {
+        try (InputStream in = N2yoParserBenchmark.class.getResourceAsStream("/n2yo/" + payload)) {
+            bytes = in.readAllBytes();
+        }
+        text = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public TelemetryResponse streaming() throws IOException {
+        return N2yoPositionsParser.parse(bytes);
+    }
+
+    /** The tree-based decoder TelemetryService used before the streaming parser. */
+    @Benchmark
+    public TelemetryResponse tree() throws Exception {
+        JsonNode root = objectMapper.readTree(text);
+        if (root.has("error")) {
+            throw new Exception("API Error: " + root.get("error").asText());
+        }
+
+        TelemetryInfo info = objectMapper.treeToValue(root.get("info"), TelemetryInfo.class);
+
+        JsonNode positionsNode = root.get("positions");
+        List<TelemetryPosition> positions = new ArrayList<>();
+        for (JsonNode n : positionsNode) {
+            TelemetryPosition pos = objectMapper.treeToValue(n, TelemetryPosition.class);
+            long unixSec = n.get("timestamp").asLong();
+            pos.setTimestamp(new Timestamp(unixSec * 1000L));
+            positions.add(pos);
+        }
+
+        return new TelemetryResponse(positions, info);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(N2yoParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.telemetry.benchmark;
+
+import com.telemetry.propagation.KeplerPropagator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 120-point full orbit, as the dashboard requests it for every satellite.
+ * Scores and gc.alloc.rate.norm are per predicted point
+ * ({@code @OperationsPerInvocation}).
+ *
+ * {@code legacy} is the per-point path PredictionService had before OrbitalMath:
+ * a fresh double[3] from rotateToECEF and from cartesianToLatLongAlt plus the
+ * rotation trig for every point. The other two run KeplerPropagator point by point
+ * into one buffer and as a batch.
+ *
+ * Run from the telemetry module after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.telemetry.benchmark.OrbitalMathBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(OrbitalMathBenchmark.POINTS)
+public class OrbitalMathBenchmark {
+
+    static final int POINTS = 120;
+
+    private static final double EARTH_MU     = 398600.4418;
+    private static final double EARTH_RADIUS = 6371.0;
+
+    // ISS-like orbit
+    private final double a = 6790, e = 0.0007, inc = Math.toRadians(51.6),
+            raan = Math.toRadians(247.5), argp = Math.toRadians(130.5), m0 = 1.2;
+
+    private KeplerPropagator kepler;
+    private long[]   times;
+    private double[] lat, lon, alt, buf;
+
+    @Setup
+    public void setUp() {
+        // state vector at perigee of the orbit above, for the propagator
+        double rp = a * (1 - e);
+        double vp = Math.sqrt(EARTH_MU * (1 + e) / rp);
+        double[] r = new double[3], v = new double[3];
+        rotate(rp, 0, r);
+        rotate(0, vp, v);
+        kepler = new KeplerPropagator(r, v, 0);
+
+        times = new long[POINTS];
+        for (int j = 0; j < POINTS; j++) {
+            times[j] = (long) (j * kepler.periodSeconds() * 1000 / POINTS);
+        }
+        lat = new double[POINTS];
+        lon = new double[POINTS];
+        alt = new double[POINTS];
+        buf = new double[3];
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        double period = 2 * Math.PI * Math.sqrt(Math.pow(a, 3) / EARTH_MU);
+        for (int j = 0; j < POINTS; j++) {
+            double frac = (double) j / POINTS;
+            double M    = normalizeAngle(m0 + 2 * Math.PI * frac);
+            double E    = solveKepler(M, e);
+            double nu   = 2 * Math.atan2(
+                    Math.sqrt(1 + e) * Math.sin(E / 2),
+                    Math.sqrt(1 - e) * Math.cos(E / 2));
+            double rMag = a * (1 - e * Math.cos(E));
+            double[] pos = rotateToECEF(rMag * Math.cos(nu), rMag * Math.sin(nu), 0, inc, raan, argp);
+            double[] lla = cartesianToLatLongAlt(pos[0], pos[1], pos[2]);
+            bh.consume(lla);
+            bh.consume((long) (frac * period * 1000));
+        }
+    }
+
+    @Benchmark
+    public void pointBuffer(Blackhole bh) {
+        for (int j = 0; j < POINTS; j++) {
+            kepler.geodeticAt(times[j], buf, 0);
+            bh.consume(buf[0]);
+        }
+    }
+
+    @Benchmark
+    public int batch() {
+        return kepler.geodeticAt(times, 0, POINTS, lat, lon, alt);
+    }
+
+    // ── legacy helpers, as they were in PredictionService ─────────────────────────
+
+    private void rotate(double x, double y, double[] out) {
+        double[] p = rotateToECEF(x, y, 0, inc, raan, argp);
+        System.arraycopy(p, 0, out, 0, 3);
+    }
+
+    private static double[] cartesianToLatLongAlt(double x, double y, double z) {
+        double r = Math.hypot(x, Math.hypot(y, z));
+        double φ = Math.asin(z / r), λ = Math.atan2(y, x);
+        return new double[]{Math.toDegrees(φ), Math.toDegrees(λ), r - EARTH_RADIUS};
+    }
+
+    private static double solveKepler(double M, double e) {
+        double E = M;
+        for (int i = 0; i < 10; i++) {
+            double f  = E - e*Math.sin(E) - M;
+            double fp = 1 - e*Math.cos(E);
+            E -= f/fp;
+            if (Math.abs(f/fp) < 1e-8) break;
+        }
+        return E;
+    }
+
+    private static double normalizeAngle(double θ) {
+        θ %= 2*Math.PI;
+        return θ < 0 ? θ + 2*Math.PI : θ;
+    }
+
+    private static double[] rotateToECEF(double x, double y, double z,
+                                         double inc, double Omega, double ω) {
+        double cosO = Math.cos(Omega), sinO = Math.sin(Omega);
+        double cosw = Math.cos(ω),    sinw = Math.sin(ω);
+        double cosI = Math.cos(inc),  sinI = Math.sin(inc);
+        return new double[]{
+                (cosO*cosw - sinO*sinw*cosI)*x + (-cosO*sinw - sinO*cosw*cosI)*y + sinO*sinI*z,
+                (sinO*cosw + cosO*sinw*cosI)*x + (-sinO*sinw + cosO*cosw*cosI)*y - cosO*sinI*z,
+                sinw*sinI*x + cosw*sinI*y + cosI*z
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(OrbitalMathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
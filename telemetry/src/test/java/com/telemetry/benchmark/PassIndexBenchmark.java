@@ -0,0 +1,79 @@
+package com.telemetry.benchmark;
+
+import com.telemetry.propagation.IntervalTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Which satellites are visible from this station in the next hour" over one
+ * station's 48 h of passes: about 15 passes per satellite per day for a 2000
+ * satellite LEO fleet, each 2 to 12 minutes long.
+ *
+ * {@code tree} answers it from PassService's IntervalTree, {@code scan} checks
+ * every pass.
+ *
+ * Run from the telemetry module after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.telemetry.benchmark.PassIndexBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PassIndexBenchmark {
+
+    private static final long HORIZON_MS = 48 * 3_600_000L;
+    private static final long QUERY_MS   = 3_600_000L;
+
+    @Param("60000")
+    public int passes;
+
+    private long[] aos, los;
+    private IntervalTree tree;
+    private Random rnd;
+
+    @Setup
+    public void setUp() {
+        Random r = new Random(42);
+        aos = new long[passes];
+        los = new long[passes];
+        int[] idx = new int[passes];
+        for (int i = 0; i < passes; i++) {
+            aos[i] = (long) (r.nextDouble() * HORIZON_MS);
+            los[i] = aos[i] + 120_000 + r.nextInt(600_000);
+            idx[i] = i;
+        }
+        tree = new IntervalTree(aos, los, idx, passes);
+        rnd  = new Random(7);
+    }
+
+    @Benchmark
+    public void tree(Blackhole bh) {
+        long from = (long) (rnd.nextDouble() * (HORIZON_MS - QUERY_MS));
+        tree.query(from, from + QUERY_MS, bh::consume);
+    }
+
+    @Benchmark
+    public void scan(Blackhole bh) {
+        long from = (long) (rnd.nextDouble() * (HORIZON_MS - QUERY_MS));
+        long to   = from + QUERY_MS;
+        for (int i = 0; i < passes; i++) {
+            if (aos[i] <= to && los[i] >= from) bh.consume(i);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PassIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.telemetry.benchmark;
+
+import com.telemetry.propagation.BatchPropagation;
+import com.telemetry.propagation.KeplerPropagator;
+import com.telemetry.propagation.OrbitPropagator;
+import com.telemetry.propagation.Sgp4Propagator;
+import com.telemetry.propagation.Tle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propagating a fleet over a shared time grid: SGP4 in batch mode, SGP4 point by
+ * point, and the Kepler (solveKepler) path PredictionService used before.
+ *
+ * Run from the telemetry module after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.telemetry.benchmark.PropagationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropagationBenchmark {
+
+    @Param({"100", "1000"})
+    public int satellites;
+
+    /** Grid points: 6 hours at one-minute steps */
+    @Param({"360"})
+    public int steps;
+
+    private OrbitPropagator[] sgp4;
+    private OrbitPropagator[] kepler;
+    private BatchPropagation.Grid grid;
+    private double[] lat, lon, alt;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        sgp4   = new OrbitPropagator[satellites];
+        kepler = new OrbitPropagator[satellites];
+        double[] state = new double[6];
+
+        for (int i = 0; i < satellites; i++) {
+            Tle tle = Tle.parse(
+                    String.format("1 %05dU 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927", 10000 + i),
+                    String.format("2 %05d %8.4f %8.4f %07d %8.4f %8.4f %11.8f%5d%1d",
+                            10000 + i,
+                            20 + rnd.nextDouble() * 78,       // inclination
+                            rnd.nextDouble() * 360,           // RAAN
+                            rnd.nextInt(20000),               // eccentricity (implied 0.)
+                            rnd.nextDouble() * 360,           // arg. perigee
+                            rnd.nextDouble() * 360,           // mean anomaly
+                            13.5 + rnd.nextDouble() * 2.3,    // revs/day
+                            1, 0));
+            Sgp4Propagator s = new Sgp4Propagator(tle);
+            s.propagate(0, state, 0, true);
+            sgp4[i]   = s;
+            kepler[i] = new KeplerPropagator(
+                    new double[]{state[0], state[1], state[2]},
+                    new double[]{state[3], state[4], state[5]},
+                    s.epochMs());
+        }
+
+        grid = BatchPropagation.Grid.uniform(sgp4[0].epochMs(), 60_000, steps);
+        lat  = new double[satellites * steps];
+        lon  = new double[satellites * steps];
+        alt  = new double[satellites * steps];
+    }
+
+    @Benchmark
+    public int sgp4Batch() {
+        return BatchPropagation.propagate(sgp4, grid, lat, lon, alt);
+    }
+
+    /** SGP4 one point at a time, recomputing Earth rotation per call. */
+    @Benchmark
+    public double sgp4PerPoint() {
+        return perPoint(sgp4);
+    }
+
+    @Benchmark
+    public double keplerPerPoint() {
+        return perPoint(kepler);
+    }
+
+    private double perPoint(OrbitPropagator[] models) {
+        double[] out = new double[3];
+        double sum = 0;
+        for (OrbitPropagator m : models) {
+            for (int j = 0; j < steps; j++) {
+                if (m.geodeticAt(grid.timeMs(j), out, 0)) sum += out[0];
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PropagationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
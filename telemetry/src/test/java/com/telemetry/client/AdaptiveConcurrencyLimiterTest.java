@@ -0,0 +1,106 @@
+package com.telemetry.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAR = Long.MAX_VALUE;
+
+    @Test
+    void runsAtMostLimitTasksAndQueuesTheRestInOrder() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 4);
+        List<CompletableFuture<Integer>> work = new ArrayList<>();
+        List<Integer> started = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int n = i;
+            CompletableFuture<Integer> w = new CompletableFuture<>();
+            work.add(w);
+            results.add(limiter.submit(() -> {
+                started.add(n);
+                return w;
+            }, FAR));
+        }
+        assertEquals(List.of(0, 1), started);
+        assertEquals(2, limiter.queued());
+
+        work.get(1).complete(1);
+        assertEquals(List.of(0, 1, 2), started);
+        assertEquals(1, results.get(1).join());
+
+        work.get(0).complete(0);
+        work.get(2).complete(2);
+        work.get(3).complete(3);
+        assertEquals(List.of(0, 1, 2, 3), started);
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    void increasesAdditivelyAndDecreasesMultiplicatively() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 6);
+        for (int i = 0; i < 5; i++) limiter.onSuccess();
+        assertEquals(6, limiter.currentLimit());
+
+        limiter.onThrottled(0);
+        assertEquals(3, limiter.currentLimit());
+        limiter.onThrottled(0);
+        limiter.onThrottled(0);
+        assertEquals(1, limiter.currentLimit());
+
+        limiter.onSuccess();
+        limiter.shrinkTo(1);
+        assertEquals(1, limiter.currentLimit());
+        // shrinkTo never raises the limit
+        limiter.shrinkTo(5);
+        assertEquals(1, limiter.currentLimit());
+    }
+
+    @Test
+    void throttleHoldsQueuedTasksUntilThePauseEnds() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2);
+        long until = System.currentTimeMillis() + 200;
+        limiter.onThrottled(until);
+
+        CompletableFuture<Long> result = limiter.submit(
+                () -> CompletableFuture.completedFuture(System.currentTimeMillis()), FAR);
+        assertFalse(result.isDone());
+        assertTrue(result.get(5, TimeUnit.SECONDS) >= until);
+    }
+
+    @Test
+    void queuedTaskFailsOnceItsDeadlinePasses() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        limiter.onThrottled(System.currentTimeMillis() + 60_000);
+
+        boolean[] ran = {false};
+        CompletableFuture<Object> result = limiter.submit(() -> {
+            ran[0] = true;
+            return CompletableFuture.completedFuture(null);
+        }, System.currentTimeMillis() + 100);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertFalse(ran[0]);
+    }
+
+    @Test
+    void failedTaskReleasesItsSlot() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        CompletableFuture<Object> failed = limiter.submit(() -> {
+            throw new IllegalStateException("boom");
+        }, FAR);
+        assertTrue(failed.isCompletedExceptionally());
+
+        CompletableFuture<String> next = limiter.submit(() -> CompletableFuture.completedFuture("ok"), FAR);
+        assertEquals("ok", next.join());
+    }
+}
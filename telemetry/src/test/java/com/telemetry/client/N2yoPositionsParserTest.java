@@ -0,0 +1,120 @@
+package com.telemetry.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.dto.TelemetryInfo;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TelemetryResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class N2yoPositionsParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"positions-25544-2s.json", "positions-25544-300s.json"})
+    void fixturesDecodeAsTheTreeParseDid(String fixture) throws Exception {
+        byte[] body;
+        try (InputStream in = getClass().getResourceAsStream("/n2yo/" + fixture)) {
+            body = in.readAllBytes();
+        }
+        assertSameResponse(tree(body), N2yoPositionsParser.parse(body));
+    }
+
+    @Test
+    void nullAndStringNumbersDoNotFailThePoll() throws Exception {
+        byte[] body = bytes("""
+                {"info":{"satname":"SPACE STATION","satid":"25544","transactionscount":"5"},
+                 "positions":[
+                  {"satlatitude":null,"satlongitude":"158.2","sataltitude":417.8,"azimuth":null,
+                   "elevation":"-69.0","timestamp":"1521354418","eclipsed":true},
+                  {"satlatitude":-39.85,"satlongitude":158.26,"sataltitude":417.81,"azimuth":254.3,
+                   "elevation":-69.05,"timestamp":1521354419}]}
+                """);
+
+        TelemetryResponse parsed = N2yoPositionsParser.parse(body);
+        assertSameResponse(tree(body), parsed);
+        assertEquals(0f, parsed.getPositions().get(0).getSatlatitude());
+        assertEquals(158.2f, parsed.getPositions().get(0).getSatlongitude());
+        assertEquals(new Timestamp(1_521_354_418_000L), parsed.getPositions().get(0).getTimestamp());
+    }
+
+    @Test
+    void errorBodyFailsLikeTheTreeParse() {
+        byte[] body = bytes("{\"error\":\"Invalid API Key!\"}");
+
+        Exception tree = assertThrows(Exception.class, () -> tree(body));
+        IOException streaming = assertThrows(IOException.class, () -> N2yoPositionsParser.parse(body));
+        assertEquals(tree.getMessage(), streaming.getMessage());
+    }
+
+    @Test
+    void fewerThanTwoPositionsFailLikeTheTreeParse() {
+        for (String positions : List.of("", "{\"satlatitude\":1.0,\"timestamp\":1521354418}")) {
+            byte[] body = bytes("{\"info\":{\"satid\":25544},\"positions\":[" + positions + "]}");
+
+            Exception tree = assertThrows(Exception.class, () -> tree(body));
+            IOException streaming = assertThrows(IOException.class, () -> N2yoPositionsParser.parse(body));
+            assertEquals(tree.getMessage(), streaming.getMessage());
+        }
+    }
+
+    /** The readTree + treeToValue decoder TelemetryService used before the streaming parser. */
+    private TelemetryResponse tree(byte[] body) throws Exception {
+        JsonNode root = objectMapper.readTree(body);
+        if (root.has("error")) {
+            throw new Exception("API Error: " + root.get("error").asText());
+        }
+
+        TelemetryInfo info = objectMapper.treeToValue(root.get("info"), TelemetryInfo.class);
+
+        JsonNode positionsNode = root.get("positions");
+        if (positionsNode == null || !positionsNode.isArray() || positionsNode.size() < 2) {
+            throw new Exception("Not enough positions in response");
+        }
+
+        List<TelemetryPosition> positions = new ArrayList<>();
+        for (JsonNode n : positionsNode) {
+            TelemetryPosition pos = objectMapper.treeToValue(n, TelemetryPosition.class);
+            long unixSec = n.get("timestamp").asLong();
+            pos.setTimestamp(new Timestamp(unixSec * 1000L));
+            positions.add(pos);
+        }
+
+        return new TelemetryResponse(positions, info);
+    }
+
+    /** Everything both decoders fill; ra/dec are left out, the databind path never bound them. */
+    private static void assertSameResponse(TelemetryResponse expected, TelemetryResponse actual) {
+        TelemetryInfo ei = expected.getTelemetryInfo(), ai = actual.getTelemetryInfo();
+        assertEquals(ei.getSatName(), ai.getSatName());
+        assertEquals(ei.getSatId(), ai.getSatId());
+        assertEquals(ei.getTransactionsCount(), ai.getTransactionsCount());
+
+        assertEquals(expected.getPositions().size(), actual.getPositions().size());
+        for (int i = 0; i < expected.getPositions().size(); i++) {
+            TelemetryPosition e = expected.getPositions().get(i), a = actual.getPositions().get(i);
+            assertEquals(e.getSatlatitude(), a.getSatlatitude(), "satlatitude " + i);
+            assertEquals(e.getSatlongitude(), a.getSatlongitude(), "satlongitude " + i);
+            assertEquals(e.getSataltitude(), a.getSataltitude(), "sataltitude " + i);
+            assertEquals(e.getAzimuth(), a.getAzimuth(), "azimuth " + i);
+            assertEquals(e.getElevation(), a.getElevation(), "elevation " + i);
+            assertEquals(e.getTimestamp(), a.getTimestamp(), "timestamp " + i);
+        }
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.telemetry.kafka;
+
+import com.telemetry.config.KafkaConfig;
+import com.telemetry.dto.PredictiveOrbitPoint;
+import com.telemetry.dto.TrajectoryDataKey;
+import com.telemetry.model.SatelliteReference;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import com.telemetry.service.FleetPredictionService;
+import com.telemetry.service.FleetPredictionService.SatellitePrediction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TelemetryKafkaProducerTest {
+
+    private static final long SATELLITE = 25544;
+
+    private final UUID operatorId = UUID.randomUUID();
+    private final TrajectoryData latest = row(1_000);
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SatelliteReferenceRepository referenceRepo = mock(SatelliteReferenceRepository.class);
+    private final FleetPredictionService fleetPredictionService = mock(FleetPredictionService.class);
+    private final TelemetryKafkaProducer producer = new TelemetryKafkaProducer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(producer, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(producer, "referenceRepo", referenceRepo);
+        ReflectionTestUtils.setField(producer, "fleetPredictionService", fleetPredictionService);
+
+        SatelliteReference ref = new SatelliteReference(UUID.randomUUID(), SATELLITE, operatorId, "ISS");
+        when(referenceRepo.findByExternalIdIn(anyCollection())).thenReturn(List.of(ref));
+        PredictiveOrbitPoint point = new PredictiveOrbitPoint(51.6, 10.0, 420.0, new Timestamp(1_000));
+        when(fleetPredictionService.predictAll(anyCollection(), anyInt(), anyInt(), anyInt())).thenReturn(
+                Map.of(operatorId, List.of(new SatellitePrediction(SATELLITE, latest, List.of(point), List.of(point)))));
+    }
+
+    @Test
+    void failedPredictionsAreSentAgainOnTheNextRun() {
+        when(kafkaTemplate.send(eq(KafkaConfig.TOPIC_TELEMETRY), anyString(), any())).thenReturn(sent());
+        when(kafkaTemplate.send(eq(KafkaConfig.TOPIC_PREDICTIONS), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(sent());
+
+        producer.publishIngested(List.of(latest));
+        producer.publishPredictions();
+        producer.publishPredictions();
+
+        verify(kafkaTemplate, times(2)).send(eq(KafkaConfig.TOPIC_PREDICTIONS), eq(operatorId.toString()), any());
+    }
+
+    @Test
+    void acknowledgedPredictionsAreNotSentAgainForTheSamePoint() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(sent());
+
+        producer.publishIngested(List.of(latest));
+        producer.publishPredictions();
+        producer.publishIngested(List.of(latest));
+        producer.publishPredictions();
+
+        verify(kafkaTemplate, times(1)).send(eq(KafkaConfig.TOPIC_PREDICTIONS), eq(operatorId.toString()), any());
+        verify(kafkaTemplate, times(2)).send(eq(KafkaConfig.TOPIC_TELEMETRY), eq(operatorId.toString()), any());
+    }
+
+    @Test
+    void looksUpOnlyTheIngestedSatellites() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(sent());
+
+        producer.publishIngested(List.of(latest, row(500)));
+
+        verify(referenceRepo).findByExternalIdIn(argThat(ids -> ids.size() == 1 && ids.contains(SATELLITE)));
+        verify(referenceRepo, never()).findAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<SendResult<String, Object>> sent() {
+        // deep stubs, so the success log can read the record metadata
+        SendResult<String, Object> result = mock(SendResult.class, RETURNS_DEEP_STUBS);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    private static TrajectoryData row(long ts) {
+        return new TrajectoryData(new TrajectoryDataKey(SATELLITE, new Timestamp(ts)),
+                6_800, 0, 0, 7.6f, 0, 0, 7.6f, 0, 6_800, 51.6f, 10.0f, 420.0f, null, null, null, null);
+    }
+}
@@ -0,0 +1,95 @@
+package com.telemetry.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetrySchemaTest {
+
+    private static final long TS = 1_700_000_000_123L;
+
+    @Test
+    void cborRecordExpandsToTheJsonRecord() throws Exception {
+        Map<String, Object> message = record(Map.of("shortPredictions", points(new Timestamp(TS), false),
+                                                     "fullOrbitPredictions", points(new Timestamp(TS), true)));
+        Map<String, Object> json = WireFormat.JSON.decode(WireFormat.JSON.encode(message));
+
+        Map<String, Object> cbor = WireFormat.CBOR.decode(WireFormat.CBOR.encode(message));
+        Map<?, ?> columns = (Map<?, ?>) satellite(cbor).get("shortPredictions");
+        assertEquals(List.of("t", "lat", "lon", "alt"), List.copyOf(columns.keySet()));
+
+        // expanded for a JSON session, nothing is lost on the way
+        Map<String, Object> expanded = WireFormat.JSON.decode(WireFormat.JSON.encode(cbor));
+        assertEquals(json, expanded);
+        assertEquals(51.6423, ((Map<?, ?>) ((List<?>) satellite(expanded).get("shortPredictions")).get(0)).get("latitude"));
+    }
+
+    @Test
+    void dateTimestampsBecomeEpochMillis() throws Exception {
+        Map<String, Object> message = record(Map.of("shortPredictions", points(new Date(TS), false)));
+
+        Map<String, Object> cbor = WireFormat.CBOR.decode(WireFormat.CBOR.encode(message));
+        Map<?, ?> columns = (Map<?, ?>) satellite(cbor).get("shortPredictions");
+        assertEquals(List.of(TS, TS + 60_000, TS + 120_000), ((List<?>) columns.get("t")).stream()
+                .map(t -> ((Number) t).longValue()).toList());
+
+        Map<?, ?> point = (Map<?, ?>) ((List<?>) satellite(TelemetrySchema.convert(cbor, WireFormat.JSON))
+                .get("shortPredictions")).get(1);
+        assertEquals(TS + 60_000, point.get("timestamp"));
+        assertEquals(false, point.get("isFullOrbit"));
+    }
+
+    @Test
+    void recordsWithoutPredictionsAreLeftAsTheyAre() throws Exception {
+        Map<String, Object> telemetryOnly = record(Map.of("telemetry", Map.of("timestamp", TS, "altitude", 420.5)));
+        Map<String, Object> alert = Map.of("operatorId", "op", "type", "CONJUNCTION");
+
+        for (WireFormat format : WireFormat.values()) {
+            assertSame(telemetryOnly, TelemetrySchema.convert(telemetryOnly, format));
+            assertSame(alert, TelemetrySchema.convert(alert, format));
+        }
+        Map<String, Object> json = WireFormat.JSON.decode(WireFormat.JSON.encode(telemetryOnly));
+        assertEquals(json, WireFormat.CBOR.decode(WireFormat.CBOR.encode(telemetryOnly)));
+    }
+
+    @Test
+    void headerNamesTheEncoding() {
+        for (WireFormat format : WireFormat.values()) {
+            assertEquals(format, WireFormat.parse(format.headerValue()));
+        }
+        assertEquals(WireFormat.CBOR, WireFormat.parse(" Cbor "));
+        // records from producers that predate the header, and unknown names, are JSON
+        assertEquals(WireFormat.JSON, WireFormat.parse((byte[]) null));
+        assertEquals(WireFormat.JSON, WireFormat.parse("protobuf"));
+    }
+
+    private static Map<String, Object> record(Map<String, Object> satellite) {
+        return Map.of("operatorId", "op", "telemetry", Map.of("25544", satellite));
+    }
+
+    private static Map<?, ?> satellite(Map<String, Object> message) {
+        return (Map<?, ?>) ((Map<?, ?>) message.get("telemetry")).get("25544");
+    }
+
+    private static List<Map<String, Object>> points(Date first, boolean fullOrbit) {
+        List<Map<String, Object>> points = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> p = new HashMap<>();
+            p.put("timestamp",   first instanceof Timestamp ? new Timestamp(first.getTime() + i * 60_000L)
+                                                            : new Date(first.getTime() + i * 60_000L));
+            p.put("latitude",    51.6423 - i * 0.75);
+            p.put("longitude",   -0.1276 + i * 3.5);
+            p.put("altitude",    420.0 + i / 3.0);
+            p.put("isFullOrbit", fullOrbit);
+            points.add(p);
+        }
+        return points;
+    }
+}
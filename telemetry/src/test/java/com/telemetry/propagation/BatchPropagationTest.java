@@ -0,0 +1,44 @@
+package com.telemetry.propagation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchPropagationTest {
+
+    private static final Tle SAT_00005 = Tle.parse(
+            "1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753",
+            "2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667");
+
+    private static final Tle ISS = Tle.parse(
+            "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927",
+            "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537");
+
+    @Test
+    void sharedGridMatchesSingleModelEvaluation() {
+        OrbitPropagator[] models = {new Sgp4Propagator(SAT_00005), null, new Sgp4Propagator(ISS)};
+        BatchPropagation.Grid grid = BatchPropagation.Grid.uniform(models[0].epochMs(), 60_000, 30);
+        int n = grid.size();
+        double[] lat = new double[3 * n], lon = new double[3 * n], alt = new double[3 * n];
+
+        assertEquals(n, BatchPropagation.propagate(models, grid, lat, lon, alt));
+
+        double[] x = new double[3], y = new double[3], z = new double[3];
+        double[] lla = new double[3], p = new double[3];
+        for (int j = 0; j < n; j++) {
+            assertEquals(1, BatchPropagation.ecefAt(models, grid, j, x, y, z));
+            assertTrue(Double.isNaN(x[1]));
+            assertTrue(Double.isNaN(lat[n + j]));
+
+            for (int i : new int[]{0, 2}) {
+                assertTrue(models[i].geodeticAt(grid.timeMs(j), lla, 0));
+                assertEquals(lla[0], lat[i * n + j], 1e-9);
+                assertEquals(lla[1], lon[i * n + j], 1e-9);
+                assertEquals(lla[2], alt[i * n + j], 1e-9);
+
+                assertTrue(models[i].ecefAt(grid.timeMs(j), p, 0));
+                assertArrayEquals(p, new double[]{x[i], y[i], z[i]}, 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.telemetry.propagation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void matchesALinearScan() {
+        Random rnd = new Random(7);
+        int n = 1_000;
+        long[] starts = new long[n], ends = new long[n];
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = rnd.nextInt(100_000);
+            // mostly short intervals, a few long ones that overlap many queries
+            ends[i]   = starts[i] + (i % 50 == 0 ? rnd.nextInt(50_000) : rnd.nextInt(500));
+            values[i] = i;
+        }
+        IntervalTree tree = new IntervalTree(starts, ends, values, n);
+        assertEquals(n, tree.size());
+
+        for (int q = 0; q < 500; q++) {
+            long from = rnd.nextInt(110_000) - 5_000;
+            long to   = from + (q % 5 == 0 ? 0 : rnd.nextInt(2_000));
+            List<Integer> found = new ArrayList<>();
+            tree.query(from, to, found::add);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (starts[i] <= to && ends[i] >= from) expected.add(i);
+            }
+            assertEquals(expected.stream().sorted().toList(), found.stream().sorted().toList(),
+                    "query [" + from + ", " + to + "]");
+            for (int k = 1; k < found.size(); k++) {
+                assertTrue(starts[found.get(k - 1)] <= starts[found.get(k)], "not in order of start");
+            }
+        }
+    }
+
+    @Test
+    void endpointsAreInclusive() {
+        IntervalTree tree = new IntervalTree(new long[]{10, 20}, new long[]{20, 30}, new int[]{1, 2}, 2);
+        List<Integer> found = new ArrayList<>();
+        tree.query(20, 20, found::add);
+        assertEquals(List.of(1, 2), found);
+
+        found.clear();
+        tree.query(31, 40, found::add);
+        tree.query(0, 9, found::add);
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        IntervalTree tree = new IntervalTree(new long[0], new long[0], new int[0], 0);
+        tree.query(Long.MIN_VALUE, Long.MAX_VALUE, v -> fail("unexpected " + v));
+        assertEquals(0, tree.size());
+    }
+}
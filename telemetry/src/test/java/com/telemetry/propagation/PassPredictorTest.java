@@ -0,0 +1,106 @@
+package com.telemetry.propagation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PassPredictorTest {
+
+    private static final double RADIUS_KM = 6878;
+    private static final long   PERIOD_MS = 5_400_000;
+    private static final long   STEP_MS   = 30_000;
+
+    /** Circular equatorial orbit in the Earth-fixed frame, over longitude 0 at t = 0. */
+    private static final OrbitPropagator EQUATORIAL = new OrbitPropagator() {
+        @Override public String name()           { return "test"; }
+        @Override public long   epochMs()        { return 0; }
+        @Override public double periodSeconds()  { return PERIOD_MS / 1000.0; }
+
+        @Override
+        public boolean geodeticAt(long tMs, double[] out, int off) {
+            double[] p = new double[3];
+            ecefAt(tMs, p, 0);
+            EarthFrames.ecefToGeodetic(p[0], p[1], p[2], out, off);
+            return true;
+        }
+
+        @Override
+        public boolean ecefAt(long tMs, double[] out, int off) {
+            double theta = 2 * Math.PI * tMs / PERIOD_MS;
+            out[off]     = RADIUS_KM * Math.cos(theta);
+            out[off + 1] = RADIUS_KM * Math.sin(theta);
+            out[off + 2] = 0;
+            return true;
+        }
+    };
+
+    /** Half the time the satellite spends above a zero-elevation horizon at the equator. */
+    private static long halfPassMs() {
+        double[] site = new double[3];
+        EarthFrames.geodeticToEcef(0, 0, 0, site, 0);
+        return Math.round(Math.acos(site[0] / RADIUS_KM) / (2 * Math.PI) * PERIOD_MS);
+    }
+
+    @Test
+    void findsOverheadPassesWithCrossingsToTheSecond() {
+        PassPredictor predictor = new PassPredictor(List.of(new PassPredictor.Site(0, 0, 0, 0)));
+        long half = halfPassMs();
+        List<PassPredictor.Pass> passes = predictor.passes(EQUATORIAL, PERIOD_MS / 2, PERIOD_MS / 2 + 3 * PERIOD_MS, STEP_MS);
+
+        assertEquals(3, passes.size());
+        for (int k = 0; k < 3; k++) {
+            PassPredictor.Pass pass = passes.get(k);
+            long culmination = (k + 1) * PERIOD_MS;
+            assertEquals(0, pass.site());
+            assertEquals(culmination - half, pass.aosMs(), 1_500);
+            assertEquals(culmination + half, pass.losMs(), 1_500);
+            assertEquals(culmination, pass.maxElevationMs(), 1_500);
+            assertEquals(90, pass.maxElevationDeg(), 2);
+        }
+    }
+
+    @Test
+    void ordersBySiteThenAosAndHonoursMinimumElevation() {
+        PassPredictor predictor = new PassPredictor(List.of(
+                new PassPredictor.Site(0, 180, 0, 0),
+                new PassPredictor.Site(0, 0, 0, 10)));
+        List<PassPredictor.Pass> passes = predictor.passes(EQUATORIAL, PERIOD_MS / 4, PERIOD_MS / 4 + 2 * PERIOD_MS, STEP_MS);
+
+        assertEquals(4, passes.size());
+        assertEquals(List.of(0, 0, 1, 1), passes.stream().map(PassPredictor.Pass::site).toList());
+        assertTrue(passes.get(0).aosMs() < passes.get(1).aosMs());
+        assertTrue(passes.get(2).aosMs() < passes.get(3).aosMs());
+        // longitude 180 culminates half an orbit after longitude 0
+        assertEquals(PERIOD_MS / 2, passes.get(0).maxElevationMs(), 1_500);
+        // a 10° mask shortens the pass
+        PassPredictor.Pass masked = passes.get(2);
+        assertTrue(masked.losMs() - masked.aosMs() < 2 * halfPassMs() - 2 * STEP_MS);
+    }
+
+    @Test
+    void clipsPassesInProgressAtTheWindowEdges() {
+        PassPredictor predictor = new PassPredictor(List.of(new PassPredictor.Site(0, 0, 0, 0)));
+        long start = -60_000, end = 90_000;
+        List<PassPredictor.Pass> passes = predictor.passes(EQUATORIAL, start, end, STEP_MS);
+
+        assertEquals(1, passes.size());
+        assertEquals(start, passes.get(0).aosMs());
+        assertEquals(end, passes.get(0).losMs());
+        assertEquals(0, passes.get(0).maxElevationMs(), 1_500);
+    }
+
+    @Test
+    void unreachableModelHasNoPasses() {
+        OrbitPropagator decayed = new OrbitPropagator() {
+            @Override public String name()          { return "decayed"; }
+            @Override public long   epochMs()       { return 0; }
+            @Override public double periodSeconds() { return 0; }
+            @Override public boolean geodeticAt(long tMs, double[] out, int off) { return false; }
+            @Override public boolean ecefAt(long tMs, double[] out, int off)     { return false; }
+        };
+        PassPredictor predictor = new PassPredictor(List.of(new PassPredictor.Site(0, 0, 0, 0)));
+        assertTrue(predictor.passes(decayed, 0, PERIOD_MS, STEP_MS).isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package com.telemetry.propagation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reference vectors from Vallado et al. 2006, "Revisiting Spacetrack Report #3"
+ * (tcppver.out, WGS-72).
+ */
+class Sgp4PropagatorTest {
+
+    private static final Tle SAT_00005 = Tle.parse(
+            "1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753",
+            "2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667");
+
+    private static final double POS_TOL = 1e-3;   // km
+    private static final double VEL_TOL = 1e-6;   // km/s
+
+    @Test
+    void matchesReferenceAtEpoch() {
+        assertState(0,
+                7022.46529266, -1400.08296755, 0.03995155,
+                1.893841015, 6.405893759, 4.534807250);
+    }
+
+    @Test
+    void matchesReferenceSixHoursAfterEpoch() {
+        assertState(360,
+                -7154.03120202, -3783.17682504, -3536.19412294,
+                4.741887409, -4.151817765, -2.093935425);
+    }
+
+    @Test
+    void periodComesFromTheMeanMotion() {
+        // SGP4 uses the un-Kozai'd mean motion, a few seconds off the TLE's
+        assertEquals(1440 * 60 / 10.82419157, new Sgp4Propagator(SAT_00005).periodSeconds(), 10.0);
+    }
+
+    @Test
+    void earthFixedPositionIsTemeRotatedByGmst() {
+        Sgp4Propagator sgp4 = new Sgp4Propagator(SAT_00005);
+        long t = sgp4.epochMs() + 90 * 60_000L;
+        double[] teme = new double[3], ecef = new double[3], lla = new double[3];
+        assertTrue(sgp4.teme(t, teme, 0));
+        assertTrue(sgp4.ecefAt(t, ecef, 0));
+        assertTrue(sgp4.geodeticAt(t, lla, 0));
+
+        // rotation about z: radius and z unchanged, longitude shifted by -GMST
+        assertEquals(norm(teme), norm(ecef), 1e-9);
+        assertEquals(teme[2], ecef[2], 1e-9);
+        double shift = Math.atan2(teme[1], teme[0]) - Math.atan2(ecef[1], ecef[0]);
+        assertEquals(0, Math.IEEEremainder(shift - EarthFrames.gmst(t), 2 * Math.PI), 1e-9);
+
+        double[] back = new double[3];
+        EarthFrames.geodeticToEcef(lla[0], lla[1], lla[2], back, 0);
+        for (int c = 0; c < 3; c++) assertEquals(ecef[c], back[c], 1e-6);
+    }
+
+    @Test
+    void rejectsDeepSpaceOrbits() {
+        Tle geo = Tle.parse(
+                "1 28626U 05004A   06176.16604873 -.00000278  00000-0  10000-3 0  1883",
+                "2 28626   0.0395  82.7936 0002493 302.4069 221.6128  1.00272005  5166");
+        assertFalse(Sgp4Propagator.isNearEarth(geo));
+        assertThrows(IllegalArgumentException.class, () -> new Sgp4Propagator(geo));
+    }
+
+    private static void assertState(double tsince, double x, double y, double z,
+                                    double vx, double vy, double vz) {
+        double[] out = new double[6];
+        assertTrue(new Sgp4Propagator(SAT_00005).propagate(tsince, out, 0, true));
+        assertArrayEquals(new double[]{x, y, z}, new double[]{out[0], out[1], out[2]}, POS_TOL);
+        assertArrayEquals(new double[]{vx, vy, vz}, new double[]{out[3], out[4], out[5]}, VEL_TOL);
+    }
+
+    private static double norm(double[] v) {
+        return Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+    }
+}
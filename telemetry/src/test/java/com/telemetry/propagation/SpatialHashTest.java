@@ -0,0 +1,86 @@
+package com.telemetry.propagation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialHashTest {
+
+    @Test
+    void findsTheSamePairsAsBruteForce() {
+        Random rnd = new Random(42);
+        int n = 2_000;
+        double radius = 150;
+        double[] x = new double[n], y = new double[n], z = new double[n];
+        for (int i = 0; i < n; i++) {
+            // LEO-like shell with negative coordinates, so cells on both sides of zero are hit
+            x[i] = (rnd.nextDouble() - 0.5) * 14_000;
+            y[i] = (rnd.nextDouble() - 0.5) * 14_000;
+            z[i] = (rnd.nextDouble() - 0.5) * 2_000;
+        }
+        // a few unreachable satellites
+        for (int i = 0; i < n; i += 97) x[i] = Double.NaN;
+
+        SpatialHash hash = new SpatialHash(n);
+        hash.build(x, y, z, n, radius);
+        Set<Long> found = new HashSet<>();
+        hash.forEachPair(radius, (i, j, d2) -> {
+            assertTrue(i < j);
+            assertEquals(distanceSq(x, y, z, i, j), d2, 1e-6);
+            assertTrue(found.add((long) i * n + j), "pair reported twice: " + i + ", " + j);
+        });
+
+        assertFalse(found.isEmpty());
+        assertEquals(bruteForce(x, y, z, n, radius), found);
+    }
+
+    @Test
+    void queryRadiusMayBeSmallerThanTheCell() {
+        double[] x = {0, 3, 9, -4};
+        double[] y = {0, 0, 0, 0};
+        double[] z = {0, 4, 0, 0};
+        SpatialHash hash = new SpatialHash(4);
+        hash.build(x, y, z, 4, 10);
+        Set<Long> found = new HashSet<>();
+        hash.forEachPair(5, (i, j, d2) -> found.add((long) i * 4 + j));
+        assertEquals(bruteForce(x, y, z, 4, 5), found);
+        assertEquals(Set.of(1L, 3L), found);
+    }
+
+    @Test
+    void reusedAcrossBuilds() {
+        SpatialHash hash = new SpatialHash(3);
+        double[] x = {0, 1, 100}, y = new double[3], z = new double[3];
+        hash.build(x, y, z, 3, 5);
+        int[] count = {0};
+        hash.forEachPair(5, (i, j, d2) -> count[0]++);
+        assertEquals(1, count[0]);
+
+        x[1] = 50;
+        x[2] = 51;
+        hash.build(x, y, z, 3, 5);
+        Set<Long> found = new HashSet<>();
+        hash.forEachPair(5, (i, j, d2) -> found.add((long) i * 3 + j));
+        assertEquals(Set.of(5L), found);
+    }
+
+    private static Set<Long> bruteForce(double[] x, double[] y, double[] z, int n, double radius) {
+        Set<Long> pairs = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                // NaN distances compare false, so unreachable points drop out
+                if (distanceSq(x, y, z, i, j) <= radius * radius) pairs.add((long) i * n + j);
+            }
+        }
+        return pairs;
+    }
+
+    private static double distanceSq(double[] x, double[] y, double[] z, int i, int j) {
+        double dx = x[j] - x[i], dy = y[j] - y[i], dz = z[j] - z[i];
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,65 @@
+package com.telemetry.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownsamplerTest {
+
+    @Test
+    void keepsEverythingWhenThresholdIsNotBelowSize() {
+        long[] x = {0, 1, 2, 3};
+        double[] y = {1, 2, 3, 4};
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Downsampler.lttb(x, y, 4));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Downsampler.lttb(x, y, 10));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Downsampler.lttb(x, y, 2));
+    }
+
+    @Test
+    void keepsEndpointsAndReturnsAscendingIndices() {
+        int n = 1_000;
+        long[] x = new long[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i * 1000L;
+            y[i] = Math.sin(i / 25.0);
+        }
+        int[] keep = Downsampler.lttb(x, y, 50);
+        assertEquals(50, keep.length);
+        assertEquals(0, keep[0]);
+        assertEquals(n - 1, keep[49]);
+        for (int i = 1; i < keep.length; i++) assertTrue(keep[i] > keep[i - 1]);
+    }
+
+    @Test
+    void keepsIsolatedSpikes() {
+        int n = 500;
+        long[] x = new long[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) x[i] = i;
+        y[123] = 100;
+        y[377] = -80;
+        int[] keep = Downsampler.lttb(x, y, 20);
+        assertTrue(IntStream.of(keep).anyMatch(i -> i == 123));
+        assertTrue(IntStream.of(keep).anyMatch(i -> i == 377));
+    }
+
+    @Test
+    void picksOnePointPerBucket() {
+        int n = 1_002, threshold = 12;
+        long[] x = new long[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = (i * 7919) % 13;
+        }
+        int[] keep = Downsampler.lttb(x, y, threshold);
+        // 1000 inner points in 10 buckets of 100
+        for (int b = 0; b < threshold - 2; b++) {
+            int pick = keep[b + 1];
+            assertTrue(pick >= 1 + b * 100 && pick < 1 + (b + 1) * 100, "bucket " + b + " picked " + pick);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.telemetry.service;
+
+import com.telemetry.dto.TrajectoryDataKey;
+import com.telemetry.model.TrajectoryData;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KinematicStateStoreTest {
+
+    @Test
+    void firstSampleHasNoAcceleration() {
+        KinematicStateStore store = new KinematicStateStore();
+        assertEquals(0f, store.update(25544, 1_000, 7000, 0, 0));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void accelerationIsVelocityChangeOverTime() {
+        KinematicStateStore store = new KinematicStateStore();
+        store.update(25544, 1_000, 7000, 0, 0);
+        // (3, 4, 0) m/s in 2 s
+        assertEquals(2.5f, store.update(25544, 3_000, 7003, 4, 0), 1e-4f);
+        // the second sample is now the reference
+        assertEquals(0f, store.update(25544, 4_000, 7003, 4, 0), 1e-4f);
+    }
+
+    @Test
+    void olderOrEqualSamplesAreIgnored() {
+        KinematicStateStore store = new KinematicStateStore();
+        store.update(25544, 5_000, 7000, 0, 0);
+        assertEquals(0f, store.update(25544, 5_000, 9000, 0, 0));
+        assertEquals(0f, store.update(25544, 4_000, 9000, 0, 0));
+        assertEquals(1f, store.update(25544, 6_000, 7001, 0, 0), 1e-4f);
+    }
+
+    @Test
+    void seedKeepsNewerLiveState() {
+        KinematicStateStore store = new KinematicStateStore();
+        store.update(1, 10_000, 100, 0, 0);
+        store.seed(List.of(row(1, 5_000, 0), row(2, 5_000, 50)));
+        assertEquals(2, store.size());
+        assertEquals(1f, store.update(1, 11_000, 101, 0, 0), 1e-4f);
+        assertEquals(1f, store.update(2, 6_000, 51, 0, 0), 1e-4f);
+    }
+
+    @Test
+    void growsAndRetainsOnlyReferencedSatellites() {
+        KinematicStateStore store = new KinematicStateStore();
+        for (long id = 1; id <= 5_000; id++) store.update(id, 1_000, id, 0, 0);
+        assertEquals(5_000, store.size());
+
+        store.retainOnly(LongStream.rangeClosed(1, 5_000).filter(id -> id % 2 == 0).toArray());
+        assertEquals(2_500, store.size());
+        for (long id = 1; id <= 5_000; id++) {
+            float a = store.update(id, 2_000, id + 1, 0, 0);
+            // retained satellites still know their previous velocity, dropped ones start over
+            assertEquals(id % 2 == 0 ? 1f : 0f, a, 1e-4f);
+        }
+    }
+
+    private static TrajectoryData row(long externalId, long ts, float vx) {
+        return new TrajectoryData(new TrajectoryDataKey(externalId, new Timestamp(ts)),
+                0, 0, 0, vx, 0, 0, vx, 0, 0, null, null, null, null, null, null, null);
+    }
+}
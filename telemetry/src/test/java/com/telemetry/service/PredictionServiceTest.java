@@ -0,0 +1,53 @@
+package com.telemetry.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PredictionServiceTest {
+
+    private static final double EPS = 1e-9;
+
+    @Test
+    void rateOfALineIsItsSlope() {
+        double[] t = {-240, -180, -120, -60, 0};
+        double[] y = new double[t.length];
+        for (int k = 0; k < t.length; k++) y[k] = 42 - 0.25 * t[k];
+        assertEquals(-0.25, PredictionService.rateAtLast(t, y, t.length), EPS);
+    }
+
+    @Test
+    void rateOfAQuadraticIsItsDerivativeAtTheNewestSample() {
+        // y = 3 + 2t + 0.5t²: y'(0) = 2, while a straight line through the samples would say otherwise
+        double[] t = {-50, -35, -20, -12, -3, 0};
+        double[] y = new double[t.length];
+        for (int k = 0; k < t.length; k++) y[k] = 3 + 2 * t[k] + 0.5 * t[k] * t[k];
+        assertEquals(2.0, PredictionService.rateAtLast(t, y, t.length), 1e-6);
+    }
+
+    @Test
+    void twoSamplesGiveTheirSlope() {
+        assertEquals(0.5, PredictionService.rateAtLast(new double[]{-10, 0}, new double[]{1, 6}, 2), EPS);
+    }
+
+    @Test
+    void degenerateInputHasNoRate() {
+        assertEquals(0, PredictionService.rateAtLast(new double[]{0}, new double[]{5}, 1), EPS);
+        assertEquals(0, PredictionService.rateAtLast(new double[]{0, 0, 0}, new double[]{1, 2, 3}, 3), EPS);
+    }
+
+    @Test
+    void readsStridedComponents() {
+        // x, y, z interleaved; z = 7 - 3t
+        double[] t = {-2, -1, 0};
+        double[] xyz = new double[9];
+        for (int k = 0; k < 3; k++) {
+            xyz[k * 3]     = 100;
+            xyz[k * 3 + 1] = t[k] * t[k];
+            xyz[k * 3 + 2] = 7 - 3 * t[k];
+        }
+        assertEquals(0, PredictionService.rateAtLast(t, xyz, 0, 3, 3), EPS);
+        assertEquals(0, PredictionService.rateAtLast(t, xyz, 1, 3, 3), EPS);
+        assertEquals(-3, PredictionService.rateAtLast(t, xyz, 2, 3, 3), EPS);
+    }
+}
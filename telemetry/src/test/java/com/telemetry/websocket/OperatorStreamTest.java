@@ -0,0 +1,98 @@
+package com.telemetry.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperatorStreamTest {
+
+    private final OperatorStream stream = new OperatorStream(UUID.randomUUID());
+
+    @Test
+    void newSatelliteIsSentWhole() {
+        Map<String, Object> telemetry = Map.of("altitude", 420.0, "speed", 7.66);
+        OperatorStream.Delta delta = stream.apply(Map.of("25544", Map.of(OperatorStream.TELEMETRY, telemetry)));
+
+        assertNotNull(delta);
+        assertEquals(Map.of("25544", Map.of(OperatorStream.TELEMETRY, telemetry)), delta.changed());
+        assertEquals(Map.of(OperatorStream.TELEMETRY, telemetry), stream.state().get("25544"));
+        assertFalse(stream.isEmpty());
+    }
+
+    @Test
+    void changedSatelliteSendsOnlyChangedFields() {
+        stream.apply(Map.of("25544", Map.of(
+                OperatorStream.TELEMETRY, Map.of("altitude", 420.0, "speed", 7.66, "mode", "nominal"),
+                OperatorStream.SHORT_TERM, List.of(1, 2, 3))));
+
+        OperatorStream.Delta delta = stream.apply(Map.of("25544", Map.of(
+                OperatorStream.TELEMETRY, Map.of("altitude", 421.0, "speed", 7.66))));
+
+        Map<String, Object> telemetryDiff = new HashMap<>();
+        telemetryDiff.put("altitude", 421.0);
+        telemetryDiff.put("mode", null);            // field that disappeared
+        assertEquals(Map.of("25544", Map.of(OperatorStream.TELEMETRY, telemetryDiff)), delta.changed());
+        // parts missing from an update are kept
+        assertEquals(List.of(1, 2, 3), stream.state().get("25544").get(OperatorStream.SHORT_TERM));
+    }
+
+    @Test
+    void predictionListsAreSentWhenTheyChange() {
+        stream.apply(Map.of("1", Map.of(OperatorStream.SHORT_TERM, List.of(1), OperatorStream.FULL_ORBIT, List.of(9))));
+
+        OperatorStream.Delta delta = stream.apply(Map.of("1", Map.of(OperatorStream.SHORT_TERM, List.of(1, 2))));
+        assertEquals(Map.of("1", Map.of(OperatorStream.SHORT_TERM, List.of(1, 2))), delta.changed());
+    }
+
+    @Test
+    void unchangedUpdateHasNoDelta() {
+        Map<String, Map<String, Object>> update = Map.of(
+                "1", Map.of(OperatorStream.TELEMETRY, Map.of("altitude", 500.0)),
+                "2", Map.of(OperatorStream.SHORT_TERM, List.of(4, 5)));
+        assertNotNull(stream.apply(update));
+        assertNull(stream.apply(update));
+
+        // only the satellite that changed is in the delta
+        OperatorStream.Delta delta = stream.apply(Map.of(
+                "1", Map.of(OperatorStream.TELEMETRY, Map.of("altitude", 500.0)),
+                "2", Map.of(OperatorStream.SHORT_TERM, List.of(4, 6))));
+        assertEquals(Set.of("2"), delta.changed().keySet());
+    }
+
+    @Test
+    void seqIsCountedPerView() {
+        Subscription.View one = Subscription.View.NOTHING.plus(List.of("1"), Subscription.ALL);
+        Subscription.View same = Subscription.View.NOTHING.plus(List.of("1"), Subscription.ALL);
+
+        assertEquals(0, stream.seq(Subscription.View.EVERYTHING));
+        assertEquals(1, stream.nextSeq(Subscription.View.EVERYTHING));
+        assertEquals(2, stream.nextSeq(Subscription.View.EVERYTHING));
+        assertEquals(1, stream.nextSeq(one));
+        // views are compared by value
+        assertEquals(1, stream.seq(same));
+        assertEquals(2, stream.seq(Subscription.View.EVERYTHING));
+
+        stream.forget(Subscription.View.EVERYTHING);
+        assertEquals(0, stream.seq(Subscription.View.EVERYTHING));
+        assertEquals(1, stream.seq(one));
+    }
+
+    @Test
+    void clearEmptiesStateButKeepsSeqs() {
+        stream.apply(Map.of("1", Map.of(OperatorStream.TELEMETRY, Map.of("altitude", 500.0))));
+        stream.nextSeq(Subscription.View.EVERYTHING);
+
+        stream.clear();
+        assertTrue(stream.isEmpty());
+        assertEquals(1, stream.seq(Subscription.View.EVERYTHING));
+        // after a clear every satellite is new again
+        OperatorStream.Delta delta = stream.apply(Map.of("1", Map.of(OperatorStream.TELEMETRY, Map.of("altitude", 500.0))));
+        assertNotNull(delta);
+    }
+}
@@ -0,0 +1,136 @@
+package com.telemetry.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxTest {
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private WebSocketSession session;
+    private Outbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getId()).thenReturn("s1");
+        outbox = new Outbox(session, tasks::add, 2);
+    }
+
+    @Test
+    void sendsInOrderFromOneTask() throws Exception {
+        outbox.offer(Outbox.Kind.CONTROL, text("a"));
+        outbox.offer(Outbox.Kind.DELTA, text("b"));
+        outbox.offer(Outbox.Kind.ALERT, text("c"));
+        assertEquals(1, tasks.size());
+
+        drain();
+        assertEquals(List.of("a", "b", "c"), sent());
+        // the next offer starts a new drain
+        outbox.offer(Outbox.Kind.CONTROL, text("d"));
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void latestTelemetryIsConflatedInPlace() throws Exception {
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.LATEST, text("state 1")));
+        outbox.offer(Outbox.Kind.ALERT, text("alert"));
+        assertEquals(Outbox.Offer.CONFLATED, outbox.offer(Outbox.Kind.LATEST, text("state 2")));
+        assertEquals(Outbox.Offer.CONFLATED, outbox.offer(Outbox.Kind.LATEST, text("state 3")));
+
+        drain();
+        // the newest state keeps the place of the first one
+        assertEquals(List.of("state 3", "alert"), sent());
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.LATEST, text("state 4")));
+    }
+
+    @Test
+    void deltasBeyondTheLimitAreRefused() throws Exception {
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.DELTA, text("d1")));
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.DELTA, text("d2")));
+        assertEquals(Outbox.Offer.FULL, outbox.offer(Outbox.Kind.DELTA, text("d3")));
+        // control replies are never refused
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.CONTROL, text("pong")));
+
+        drain();
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.DELTA, text("d3")));
+    }
+
+    @Test
+    void alertsBeyondTheLimitAreDropped() throws Exception {
+        outbox.offer(Outbox.Kind.ALERT, text("a1"));
+        outbox.offer(Outbox.Kind.ALERT, text("a2"));
+        assertEquals(Outbox.Offer.DROPPED, outbox.offer(Outbox.Kind.ALERT, text("a3")));
+
+        drain();
+        assertEquals(List.of("a1", "a2"), sent());
+    }
+
+    @Test
+    void resyncReplacesQueuedDeltasAndTelemetry() throws Exception {
+        outbox.offer(Outbox.Kind.CONTROL, text("ack"));
+        outbox.offer(Outbox.Kind.DELTA, text("d1"));
+        outbox.offer(Outbox.Kind.ALERT, text("alert"));
+        outbox.offer(Outbox.Kind.DELTA, text("d2"));
+        outbox.offer(Outbox.Kind.LATEST, text("state"));
+
+        assertEquals(3, outbox.resync(text("snapshot")));
+        // the snapshot counts as the one queued delta
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.DELTA, text("d3")));
+        assertEquals(Outbox.Offer.FULL, outbox.offer(Outbox.Kind.DELTA, text("d4")));
+        assertEquals(Outbox.Offer.QUEUED, outbox.offer(Outbox.Kind.LATEST, text("state 2")));
+
+        drain();
+        assertEquals(List.of("ack", "alert", "snapshot", "d3", "state 2"), sent());
+    }
+
+    @Test
+    void closeDiscardsTheQueueAndRefusesMore() throws Exception {
+        outbox.offer(Outbox.Kind.DELTA, text("d1"));
+        assertTrue(outbox.close());
+        assertFalse(outbox.close());
+        assertEquals(Outbox.Offer.DROPPED, outbox.offer(Outbox.Kind.CONTROL, text("late")));
+        assertEquals(0, outbox.resync(text("snapshot")));
+
+        drain();
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    void failedSendDoesNotStopTheQueue() throws Exception {
+        doThrow(new IOException("broken pipe")).doNothing().when(session).sendMessage(any());
+        outbox.offer(Outbox.Kind.CONTROL, text("a"));
+        outbox.offer(Outbox.Kind.CONTROL, text("b"));
+
+        drain();
+        assertEquals(List.of("a", "b"), sent());
+        assertFalse(outbox.stalled(0));
+    }
+
+    private void drain() {
+        while (!tasks.isEmpty()) tasks.poll().run();
+    }
+
+    private List<String> sent() throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, atLeast(0)).sendMessage(captor.capture());
+        return captor.getAllValues().stream().map(m -> (String) m.getPayload()).toList();
+    }
+
+    private static TextMessage text(String payload) {
+        return new TextMessage(payload);
+    }
+}
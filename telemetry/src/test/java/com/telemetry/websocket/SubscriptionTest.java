@@ -0,0 +1,53 @@
+package com.telemetry.websocket;
+
+import com.telemetry.websocket.Subscription.DataClass;
+import com.telemetry.websocket.Subscription.View;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionTest {
+
+    @Test
+    void singleSatellitesAddToTheFleet() {
+        View view = View.NOTHING.plus(null, Set.of(DataClass.TELEMETRY))
+                                .plus(List.of("7"), Set.of(DataClass.FULL_ORBIT));
+        assertEquals(Set.of(DataClass.TELEMETRY), view.classesOf("1"));
+        assertEquals(Set.of(DataClass.TELEMETRY, DataClass.FULL_ORBIT), view.classesOf("7"));
+    }
+
+    @Test
+    void unsubscribingTheFleetAlsoDropsSingleSatellites() {
+        View view = View.EVERYTHING.plus(List.of("7"), Set.of(DataClass.SHORT_TERM))
+                                   .minus(null, Set.of(DataClass.SHORT_TERM));
+        assertEquals(Set.of(DataClass.TELEMETRY, DataClass.FULL_ORBIT), view.fleet());
+        assertEquals(Map.of(), view.satellites());
+    }
+
+    @Test
+    void singleSatellitesCannotDropFleetWideClasses() {
+        View fleetTelemetry = View.NOTHING.plus(null, Set.of(DataClass.TELEMETRY));
+        assertThrows(IllegalArgumentException.class, () -> View.EVERYTHING.minus(List.of("7"), Subscription.ALL));
+        assertThrows(IllegalArgumentException.class,
+                () -> fleetTelemetry.minus(List.of("7"), Set.of(DataClass.TELEMETRY, DataClass.SHORT_TERM)));
+
+        // classes the fleet does not cover can still be dropped per satellite
+        View view = fleetTelemetry.plus(List.of("7"), Set.of(DataClass.SHORT_TERM))
+                                  .minus(List.of("7"), Set.of(DataClass.SHORT_TERM));
+        assertEquals(fleetTelemetry, view);
+    }
+
+    @Test
+    void filterKeepsOnlyWantedSatellitesAndClasses() {
+        View view = View.NOTHING.plus(List.of("1"), Set.of(DataClass.TELEMETRY));
+        Map<String, Object> telemetry = Map.of(
+                "1", Map.of(OperatorStream.TELEMETRY, "t1", OperatorStream.SHORT_TERM, "s1"),
+                "2", Map.of(OperatorStream.TELEMETRY, "t2"));
+        assertEquals(Map.of("1", Map.of(OperatorStream.TELEMETRY, "t1")), view.filter(telemetry));
+        assertEquals(telemetry, View.EVERYTHING.filter(telemetry));
+    }
+}
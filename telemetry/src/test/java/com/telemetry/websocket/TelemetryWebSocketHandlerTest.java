@@ -0,0 +1,100 @@
+package com.telemetry.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.config.NodeIdentity;
+import com.telemetry.kafka.TelemetryKafkaProducer;
+import com.telemetry.kafka.WireFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TelemetryWebSocketHandlerTest {
+
+    private final UUID operatorId = UUID.randomUUID();
+    private final TelemetryKafkaProducer producer = mock(TelemetryKafkaProducer.class);
+    private TelemetryWebSocketHandler handler;
+
+    @AfterEach
+    void tearDown() {
+        handler.shutdown();
+    }
+
+    @Test
+    void reloadWithinTheGracePeriodFindsTheWholeState() throws Exception {
+        handler = handler(60_000);
+        WebSocketSession first = session("s1");
+        handler.afterConnectionEstablished(first);
+        verify(producer, timeout(1_000)).publishOperatorState(operatorId);
+        handler.publishUpdate(operatorId, record("1", "2"), WireFormat.JSON);
+
+        // page reload: the old session is gone and an update lands before the new one connects
+        handler.afterConnectionClosed(first, CloseStatus.GOING_AWAY);
+        handler.publishUpdate(operatorId, record("2"), WireFormat.JSON);
+        WebSocketSession second = session("s2");
+        handler.afterConnectionEstablished(second);
+
+        Map<?, ?> state = lastTelemetry(second);
+        assertEquals(List.of("1", "2"), state.keySet().stream().map(String::valueOf).sorted().toList());
+        verify(producer, after(200).times(1)).publishOperatorState(operatorId);
+    }
+
+    @Test
+    void droppedStateIsRequestedAgainRightAway() throws Exception {
+        handler = handler(0);
+        WebSocketSession first = session("s1");
+        handler.afterConnectionEstablished(first);
+        verify(producer, timeout(1_000)).publishOperatorState(operatorId);
+
+        handler.afterConnectionClosed(first, CloseStatus.GOING_AWAY);
+        Thread.sleep(5);
+        // nobody here past the grace period: the state is dropped
+        handler.publishUpdate(operatorId, record("1"), WireFormat.JSON);
+        handler.afterConnectionEstablished(session("s2"));
+
+        verify(producer, timeout(1_000).times(2)).publishOperatorState(operatorId);
+    }
+
+    private TelemetryWebSocketHandler handler(long graceMs) {
+        return new TelemetryWebSocketHandler(producer, new SimpleMeterRegistry(), new NodeIdentity("test"),
+                16, 10_000, graceMs);
+    }
+
+    private WebSocketSession session(String id) {
+        WebSocketSession s = mock(WebSocketSession.class);
+        when(s.getId()).thenReturn(id);
+        when(s.isOpen()).thenReturn(true);
+        when(s.getUri()).thenReturn(URI.create("ws://test/ws/telemetry?operatorId=" + operatorId));
+        return s;
+    }
+
+    private byte[] record(String... satellites) throws Exception {
+        Map<String, Object> telemetry = new HashMap<>();
+        for (String id : satellites) {
+            telemetry.put(id, Map.of(OperatorStream.TELEMETRY, Map.of("altitude", 400.0 + System.nanoTime() % 1000)));
+        }
+        return WireFormat.JSON.encode(Map.of("operatorId", operatorId.toString(), OperatorStream.TELEMETRY, telemetry));
+    }
+
+    /** The telemetry of the last data message {@code session} was sent. */
+    private static Map<?, ?> lastTelemetry(WebSocketSession session) throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, timeout(1_000).atLeast(2)).sendMessage(captor.capture());
+        List<WebSocketMessage<?>> sent = captor.getAllValues();
+        Map<?, ?> last = new ObjectMapper().readValue((String) sent.get(sent.size() - 1).getPayload(), Map.class);
+        return (Map<?, ?>) last.get(OperatorStream.TELEMETRY);
+    }
+}